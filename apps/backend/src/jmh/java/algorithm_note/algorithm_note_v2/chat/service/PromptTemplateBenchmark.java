@@ -0,0 +1,66 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 contains/replace 반복 치환과 컴파일된 PromptTemplate 렌더링 비교
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptTemplateBenchmark {
+
+    private String source;
+    private PromptTemplate template;
+    private Map<String, String> variables;
+
+    @Setup
+    public void setUp() {
+        StringBuilder prompt = new StringBuilder("당신은 {{USER_NAME}} 님의 알고리즘 학습을 돕는 튜터입니다.\n");
+        for (int i = 0; i < 60; i++) {
+            prompt.append("- 규칙 ").append(i).append(": 학습자의 답변을 평가하고 다음 질문으로 자연스럽게 이어가세요.\n");
+        }
+        prompt.append("[복습 질문]\n{{REVIEW_QUESTIONS}}\n");
+        for (int i = 0; i < 20; i++) {
+            prompt.append("- 출력 형식 ").append(i).append(": 한 번에 하나의 질문만 제시합니다.\n");
+        }
+        source = prompt.toString();
+        template = PromptTemplate.compile("benchmark", source);
+
+        variables = new HashMap<>();
+        variables.put("USER_NAME", "홍 길동");
+        variables.put("REVIEW_QUESTIONS",
+            "[\"이진 탐색의 시간 복잡도는?\",\"DFS 와 BFS 의 차이는?\",\"다익스트라의 한계는?\",\"DP 의 최적 부분 구조란?\"]");
+    }
+
+    @Benchmark
+    public String legacyReplace() {
+        String result = source;
+        for (Map.Entry<String, String> entry : variables.entrySet()) {
+            String placeholder = "{{" + entry.getKey() + "}}";
+            if (result.contains(placeholder)) {
+                result = result.replace(placeholder, entry.getValue());
+            }
+        }
+        if (result.contains("{{") && result.contains("}}")) {
+            return null;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(variables);
+    }
+}
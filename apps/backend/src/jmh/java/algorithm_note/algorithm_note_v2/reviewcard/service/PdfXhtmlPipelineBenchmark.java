@@ -0,0 +1,112 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.reviewcard.dto.ThymeleafTemplateDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.w3c.dom.Document;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 정규식 XHTML 정규화 + 문자열 파싱과 jsoup W3C DOM 직접 전달 비교 (10/100/500 문항 시험지)
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfXhtmlPipelineBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int questionCount;
+
+    private String html;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        TemplateEngine templateEngine = new TemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        List<ThymeleafTemplateDto.ProblemDto> problems = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            problems.add(ThymeleafTemplateDto.ProblemDto.builder()
+                .question("다익스트라 알고리즘이 음수 가중치 간선에서 올바르게 동작하지 않는 이유를 예시와 함께 설명하시오. (" + i + ")")
+                .build());
+        }
+
+        Context context = new Context();
+        context.setVariable("courseTitle", "Synapse AI");
+        context.setVariable("examTitle", "알고리즘 복습 시험");
+        context.setVariable("instruction", "각 질문에 대한 답변을 작성하시오.");
+        context.setVariable("problems", problems);
+        html = templateEngine.process("exam/exam", context);
+    }
+
+    @Benchmark
+    public String legacyRegexNormalize() {
+        return legacyNormalize(html);
+    }
+
+    @Benchmark
+    public Document jsoupW3cDom() {
+        return PdfGenerationService.toXhtmlDocument(html);
+    }
+
+    @Benchmark
+    public byte[] legacyRegexPdf() throws Exception {
+        ITextRenderer renderer = new ITextRenderer();
+        renderer.setDocumentFromString(legacyNormalize(html));
+        return layout(renderer);
+    }
+
+    @Benchmark
+    public byte[] jsoupW3cDomPdf() throws Exception {
+        ITextRenderer renderer = new ITextRenderer();
+        renderer.setDocument(PdfGenerationService.toXhtmlDocument(html), null);
+        return layout(renderer);
+    }
+
+    private byte[] layout(ITextRenderer renderer) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.layout();
+        renderer.createPDF(out);
+        return out.toByteArray();
+    }
+
+    // PdfGenerationService 에서 제거된 기존 정규화 (비교용)
+    private static String legacyNormalize(String html) {
+        String xhtml = html;
+        xhtml = xhtml.replaceAll("<meta([^>]*?)>", "<meta$1 />");
+        xhtml = xhtml.replaceAll("<link([^>]*?)>", "<link$1 />");
+        xhtml = xhtml.replaceAll("<br>", "<br />");
+        xhtml = xhtml.replaceAll("<hr>", "<hr />");
+        xhtml = xhtml.replaceAll("<img([^>]*?)>", "<img$1 />");
+        xhtml = xhtml.replaceAll("<input([^>]*?)>", "<input$1 />");
+        xhtml = xhtml.replaceAll("\\s*/\\s*/>", " />");
+        if (!xhtml.contains("<!DOCTYPE")) {
+            xhtml = "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" " +
+                   "\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">\n" +
+                   "<html xmlns=\"http://www.w3.org/1999/xhtml\">\n" +
+                   xhtml +
+                   "</html>";
+        }
+        return xhtml;
+    }
+}
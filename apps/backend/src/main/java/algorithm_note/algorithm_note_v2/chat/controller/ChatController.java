@@ -3,18 +3,25 @@ package algorithm_note.algorithm_note_v2.chat.controller;
 import algorithm_note.algorithm_note_v2.chat.dto.ChatDoneEventDto;
 import algorithm_note.algorithm_note_v2.chat.dto.ChatMessageRequestDto;
 import algorithm_note.algorithm_note_v2.chat.dto.ChatSessionResponseDto;
-import algorithm_note.algorithm_note_v2.chat.dto.ChatStreamChunkDto;
 import algorithm_note.algorithm_note_v2.chat.entity.ChatSession;
-import algorithm_note.algorithm_note_v2.chat.exception.EmitterNotFoundException;
+import algorithm_note.algorithm_note_v2.chat.exception.ChatStreamRejectedException;
+import algorithm_note.algorithm_note_v2.chat.exception.GenerationCancelledException;
 import algorithm_note.algorithm_note_v2.chat.repository.EmitterRepository;
+import algorithm_note.algorithm_note_v2.chat.service.ChatEventChannel;
+import algorithm_note.algorithm_note_v2.chat.service.ChatEventRouter;
+import algorithm_note.algorithm_note_v2.chat.service.ChatGenerationRegistry;
 import algorithm_note.algorithm_note_v2.chat.service.ChatSessionManager;
+import algorithm_note.algorithm_note_v2.chat.service.ChatStreamExecutor;
+import algorithm_note.algorithm_note_v2.chat.service.ChatStreamWriterFactory;
+import algorithm_note.algorithm_note_v2.chat.service.CoalescingSseWriter;
 import algorithm_note.algorithm_note_v2.chat.service.GeminiStreamingService;
-import algorithm_note.algorithm_note_v2.chat.service.PromptService;
+import algorithm_note.algorithm_note_v2.global.exception.RateLimitExceededException;
+import algorithm_note.algorithm_note_v2.global.service.GeminiModelRouter;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
 import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
 import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
 import algorithm_note.algorithm_note_v2.reviewQuestion.domain.ReviewQuestion;
 import algorithm_note.algorithm_note_v2.user.domain.User;
-import com.google.genai.Client;
 import com.google.genai.ResponseStream;
 import com.google.genai.types.GenerateContentResponse;
 import jakarta.validation.Valid;
@@ -22,7 +29,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -31,7 +37,6 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,8 +48,12 @@ public class ChatController {
     private final EmitterRepository emitterRepository;
     private final ChatSessionManager chatSessionManager;
     private final GeminiStreamingService geminiStreamingService;
-    private final PromptService promptService;
     private final ReviewCardRepository reviewCardRepository;
+    private final ChatStreamExecutor chatStreamExecutor;
+    private final ChatStreamWriterFactory chatStreamWriterFactory;
+    private final ChatEventRouter chatEventRouter;
+    private final ChatGenerationRegistry chatGenerationRegistry;
+    private final GeminiRateLimiter geminiRateLimiter;
 
     private static final long SSE_TIMEOUT = 60 * 60 * 1000L;
 
@@ -52,6 +61,8 @@ public class ChatController {
     public SseEmitter subscribe(
         @RequestParam String taskType,
         @RequestParam String taskField,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+        @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
         @AuthenticationPrincipal User user
     ) {
         Long userId = user.getId();
@@ -60,6 +71,11 @@ public class ChatController {
         log.info("SSE subscribe requested - userId: {}, taskType: {}, taskField: {}",
             userId, taskType, taskField);
 
+        Long lastEventId = parseLastEventId(lastEventIdHeader, lastEventIdParam);
+        if (lastEventId != null && chatSessionManager.hasSessionByUserId(userId)) {
+            return resumeSubscription(userId, lastEventId);
+        }
+
         emitterRepository.deleteById(userId);
         try {
             chatSessionManager.deleteSessionByUserId(userId);
@@ -68,8 +84,8 @@ public class ChatController {
         }
 
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
-        emitterRepository.save(userId, emitter);
-        emitterRepository.configureCallbacks(userId, emitter);
+        chatEventRouter.register(userId, emitter, SSE_TIMEOUT);
+        ChatEventChannel channel = chatEventRouter.channelFor(userId);
 
         chatSessionManager.createSession(userId, taskType, taskField, userName);
 
@@ -86,48 +102,31 @@ public class ChatController {
 
             // Automatically send initial guidance message after connection
             ChatSession session = chatSessionManager.getSessionByUserId(userId);
-            CompletableFuture.runAsync(() -> {
+            long submittedAt = System.nanoTime();
+            chatStreamExecutor.submit(userId, geminiRateLimiter.acquire(userId), () -> {
                 try {
-                    String sessionId = "user-" + userId;
-                    Client client = chatSessionManager.getClient(sessionId);
-
-                    String systemPrompt = promptService.formatPrompt(
-                        taskType,
-                        userName,
-                        taskField
-                    );
+                    String systemPrompt = chatSessionManager.getSystemPrompt(session);
 
                     String initMessage = "질문 생성을 시작합니다.";
-                    session.addUserMessage(initMessage);
-                    chatSessionManager.updateSession(session);
-
-                    ResponseStream<GenerateContentResponse> stream =
-                        geminiStreamingService.streamResponse(client, session, systemPrompt, initMessage);
-
-                    StringBuilder fullResponse = new StringBuilder();
-                    for (GenerateContentResponse response : stream) {
-                        String chunk = geminiStreamingService.extractText(response);
-                        if (chunk != null && !chunk.isEmpty()) {
-                            fullResponse.append(chunk);
-                            emitter.send(SseEmitter.event()
-                                .name("message")
-                                .data(new ChatStreamChunkDto(chunk)));
-                        }
-                    }
+                    chatSessionManager.addUserMessage(session, initMessage);
 
-                    session.addAssistantMessage(fullResponse.toString());
-                    chatSessionManager.updateSession(session);
+                    GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> stream =
+                        geminiStreamingService.streamResponse(session, systemPrompt, initMessage);
 
-                    emitter.send(SseEmitter.event()
-                        .name("done")
-                        .data(new ChatDoneEventDto(true)));
+                    String fullResponse = streamToChannel(userId, channel, stream, submittedAt);
+
+                    chatSessionManager.addAssistantMessage(session, fullResponse);
+
+                    channel.send("done", new ChatDoneEventDto(true));
 
                     log.info("Initial guidance message automatically sent for userId: {}", userId);
 
+                } catch (GenerationCancelledException e) {
+                    log.info("Generation cancelled for userId: {} after client disconnect", userId);
                 } catch (Exception e) {
                     log.error("Failed to send initial guidance message for userId: {}", userId, e);
                     try {
-                        emitter.completeWithError(e);
+                        channel.completeWithError(e);
                     } catch (Exception ex) {
                         log.error("Failed to complete emitter with error", ex);
                     }
@@ -137,6 +136,9 @@ public class ChatController {
         } catch (IOException e) {
             log.error("Failed to send connected event", e);
             emitter.completeWithError(e);
+        } catch (ChatStreamRejectedException | RateLimitExceededException e) {
+            log.warn("Initial stream rejected for userId: {}: {}", userId, e.getMessage());
+            emitter.completeWithError(e);
         }
 
         return emitter;
@@ -152,55 +154,40 @@ public class ChatController {
 
         log.info("Message received from userId: {}", userId);
 
-        SseEmitter emitter = emitterRepository.get(userId)
-            .orElseThrow(() -> new EmitterNotFoundException());
+        ChatEventChannel channel = chatEventRouter.route(userId);
 
         ChatSession session = chatSessionManager.getSessionByUserId(userId);
 
-        session.addUserMessage(userMessage);
-        chatSessionManager.updateSession(session);
-
-        CompletableFuture.runAsync(() -> {
-            StringBuilder fullResponse = new StringBuilder();
+        GeminiRateLimiter.Permit permit = geminiRateLimiter.acquire(userId);
+        try {
+            chatSessionManager.addUserMessage(session, userMessage);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
 
+        long submittedAt = System.nanoTime();
+        chatStreamExecutor.submit(userId, permit, () -> {
             try {
-                String sessionId = "user-" + userId;
-                Client client = chatSessionManager.getClient(sessionId);
-
-                String systemPrompt = promptService.formatPrompt(
-                    session.getTaskType(),
-                    session.getUserName(),
-                    session.getTaskField()
-                );
-
-                ResponseStream<GenerateContentResponse> stream =
-                    geminiStreamingService.streamResponse(client, session, systemPrompt, userMessage);
+                String systemPrompt = chatSessionManager.getSystemPrompt(session);
 
-                for (GenerateContentResponse response : stream) {
-                    String chunk = geminiStreamingService.extractText(response);
+                GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> stream =
+                    geminiStreamingService.streamResponse(session, systemPrompt, userMessage);
 
-                    if (chunk != null && !chunk.isEmpty()) {
-                        fullResponse.append(chunk);
-
-                        emitter.send(SseEmitter.event()
-                            .name("message")
-                            .data(new ChatStreamChunkDto(chunk)));
-                    }
-                }
+                String fullResponse = streamToChannel(userId, channel, stream, submittedAt);
 
-                session.addAssistantMessage(fullResponse.toString());
-                chatSessionManager.updateSession(session);
+                chatSessionManager.addAssistantMessage(session, fullResponse);
 
-                emitter.send(SseEmitter.event()
-                    .name("done")
-                    .data(new ChatDoneEventDto(true)));
+                channel.send("done", new ChatDoneEventDto(true));
 
                 log.info("Streaming completed for userId: {}", userId);
 
+            } catch (GenerationCancelledException e) {
+                log.info("Generation cancelled for userId: {} after client disconnect", userId);
             } catch (Exception e) {
                 log.error("Streaming error for userId: {}", userId, e);
                 try {
-                    emitter.completeWithError(e);
+                    channel.completeWithError(e);
                 } catch (Exception ex) {
                     log.error("Failed to complete emitter with error", ex);
                 }
@@ -212,6 +199,8 @@ public class ChatController {
     public SseEmitter subscribeTest(
         @RequestParam Long reviewCardId,
         @RequestParam String tutorLevel,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+        @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
         @AuthenticationPrincipal User user
     ) {
         Long userId = user.getId();
@@ -220,6 +209,11 @@ public class ChatController {
         log.info("SSE test subscribe requested - userId: {}, reviewCardId: {}, tutorLevel: {}",
             userId, reviewCardId, tutorLevel);
 
+        Long lastEventId = parseLastEventId(lastEventIdHeader, lastEventIdParam);
+        if (lastEventId != null && chatSessionManager.hasSessionByUserId(userId)) {
+            return resumeSubscription(userId, lastEventId);
+        }
+
         ReviewCard reviewCard = reviewCardRepository
             .findByIdAndUserWithQuestions(reviewCardId, user)
             .orElseThrow(() -> new IllegalArgumentException("ReviewCard not found: " + reviewCardId));
@@ -241,8 +235,8 @@ public class ChatController {
         }
 
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
-        emitterRepository.save(userId, emitter);
-        emitterRepository.configureCallbacks(userId, emitter);
+        chatEventRouter.register(userId, emitter, SSE_TIMEOUT);
+        ChatEventChannel channel = chatEventRouter.channelFor(userId);
 
         chatSessionManager.createTestSession(userId, tutorLevel, userName, reviewCardId, questionInfos);
 
@@ -261,52 +255,31 @@ public class ChatController {
 
             // Automatically send first question after connection
             ChatSession session = chatSessionManager.getSessionByUserId(userId);
-            CompletableFuture.runAsync(() -> {
+            long submittedAt = System.nanoTime();
+            chatStreamExecutor.submit(userId, geminiRateLimiter.acquire(userId), () -> {
                 try {
-                    String sessionId = "user-" + userId;
-                    Client client = chatSessionManager.getClient(sessionId);
+                    String systemPrompt = chatSessionManager.getSystemPrompt(session);
 
-                    List<String> questionTexts = questionInfos.stream()
-                        .map(ChatSession.ReviewQuestionInfo::getQuestionText)
-                        .collect(Collectors.toList());
+                    String initMessage = "테스트를 시작합니다.";
+                    chatSessionManager.addUserMessage(session, initMessage);
 
-                    String systemPrompt = promptService.formatTestPrompt(
-                        tutorLevel,
-                        userName,
-                        questionTexts
-                    );
+                    GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> stream =
+                        geminiStreamingService.streamResponse(session, systemPrompt, initMessage);
 
-                    String initMessage = "테스트를 시작합니다.";
-                    session.addUserMessage(initMessage);
-                    chatSessionManager.updateSession(session);
-
-                    ResponseStream<GenerateContentResponse> stream =
-                        geminiStreamingService.streamResponse(client, session, systemPrompt, initMessage);
-
-                    StringBuilder fullResponse = new StringBuilder();
-                    for (GenerateContentResponse response : stream) {
-                        String chunk = geminiStreamingService.extractText(response);
-                        if (chunk != null && !chunk.isEmpty()) {
-                            fullResponse.append(chunk);
-                            emitter.send(SseEmitter.event()
-                                .name("message")
-                                .data(new ChatStreamChunkDto(chunk)));
-                        }
-                    }
+                    String fullResponse = streamToChannel(userId, channel, stream, submittedAt);
 
-                    session.addAssistantMessage(fullResponse.toString());
-                    chatSessionManager.updateSession(session);
+                    chatSessionManager.addAssistantMessage(session, fullResponse);
 
-                    emitter.send(SseEmitter.event()
-                        .name("done")
-                        .data(new ChatDoneEventDto(true)));
+                    channel.send("done", new ChatDoneEventDto(true));
 
                     log.info("First question automatically sent for userId: {}", userId);
 
+                } catch (GenerationCancelledException e) {
+                    log.info("Generation cancelled for userId: {} after client disconnect", userId);
                 } catch (Exception e) {
                     log.error("Failed to send initial question for userId: {}", userId, e);
                     try {
-                        emitter.completeWithError(e);
+                        channel.completeWithError(e);
                     } catch (Exception ex) {
                         log.error("Failed to complete emitter with error", ex);
                     }
@@ -316,6 +289,9 @@ public class ChatController {
         } catch (IOException e) {
             log.error("Failed to send connected event", e);
             emitter.completeWithError(e);
+        } catch (ChatStreamRejectedException | RateLimitExceededException e) {
+            log.warn("Initial stream rejected for userId: {}: {}", userId, e.getMessage());
+            emitter.completeWithError(e);
         }
 
         return emitter;
@@ -331,59 +307,40 @@ public class ChatController {
 
         log.info("Test message received from userId: {}", userId);
 
-        SseEmitter emitter = emitterRepository.get(userId)
-            .orElseThrow(() -> new EmitterNotFoundException());
+        ChatEventChannel channel = chatEventRouter.route(userId);
 
         ChatSession session = chatSessionManager.getSessionByUserId(userId);
 
-        session.addUserMessage(userMessage);
-        chatSessionManager.updateSession(session);
-
-        CompletableFuture.runAsync(() -> {
-            StringBuilder fullResponse = new StringBuilder();
+        GeminiRateLimiter.Permit permit = geminiRateLimiter.acquire(userId);
+        try {
+            chatSessionManager.addUserMessage(session, userMessage);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
 
+        long submittedAt = System.nanoTime();
+        chatStreamExecutor.submit(userId, permit, () -> {
             try {
-                String sessionId = "user-" + userId;
-                Client client = chatSessionManager.getClient(sessionId);
-
-                List<String> questionTexts = session.getReviewQuestions().stream()
-                    .map(ChatSession.ReviewQuestionInfo::getQuestionText)
-                    .collect(Collectors.toList());
-
-                String systemPrompt = promptService.formatTestPrompt(
-                    session.getTutorLevel(),
-                    session.getUserName(),
-                    questionTexts
-                );
-
-                ResponseStream<GenerateContentResponse> stream =
-                    geminiStreamingService.streamResponse(client, session, systemPrompt, userMessage);
+                String systemPrompt = chatSessionManager.getSystemPrompt(session);
 
-                for (GenerateContentResponse response : stream) {
-                    String chunk = geminiStreamingService.extractText(response);
+                GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> stream =
+                    geminiStreamingService.streamResponse(session, systemPrompt, userMessage);
 
-                    if (chunk != null && !chunk.isEmpty()) {
-                        fullResponse.append(chunk);
-
-                        emitter.send(SseEmitter.event()
-                            .name("message")
-                            .data(new ChatStreamChunkDto(chunk)));
-                    }
-                }
+                String fullResponse = streamToChannel(userId, channel, stream, submittedAt);
 
-                session.addAssistantMessage(fullResponse.toString());
-                chatSessionManager.updateSession(session);
+                chatSessionManager.addAssistantMessage(session, fullResponse);
 
-                emitter.send(SseEmitter.event()
-                    .name("done")
-                    .data(new ChatDoneEventDto(true)));
+                channel.send("done", new ChatDoneEventDto(true));
 
                 log.info("Test streaming completed for userId: {}", userId);
 
+            } catch (GenerationCancelledException e) {
+                log.info("Generation cancelled for userId: {} after client disconnect", userId);
             } catch (Exception e) {
                 log.error("Test streaming error for userId: {}", userId, e);
                 try {
-                    emitter.completeWithError(e);
+                    channel.completeWithError(e);
                 } catch (Exception ex) {
                     log.error("Failed to complete emitter with error", ex);
                 }
@@ -406,20 +363,97 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
 
-    @Scheduled(fixedRate = 15000)
-    public void sendHeartbeat() {
-        Map<Long, SseEmitter> emitters = emitterRepository.getAllEmitters();
+    /**
+     * Last-Event-ID 로 재연결한 경우 세션과 진행 중인 생성을 유지한 채 놓친 이벤트만 다시 보냅니다.
+     */
+    private SseEmitter resumeSubscription(Long userId, long lastEventId) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
 
-        emitters.forEach((userId, emitter) -> {
-            try {
-                emitter.send(SseEmitter.event()
-                    .name("heartbeat")
-                    .data(""));
-                log.debug("Heartbeat sent to userId: {}", userId);
-            } catch (IOException e) {
-                log.warn("Failed to send heartbeat to userId: {}, removing emitter", userId);
-                emitterRepository.deleteById(userId);
+        try {
+            int replayed = chatEventRouter.resume(userId, emitter, SSE_TIMEOUT, lastEventId);
+            log.info("SSE connection resumed for userId: {} after event {} ({} event(s) replayed)",
+                userId, lastEventId, replayed);
+        } catch (IOException e) {
+            log.error("Failed to replay events for userId: {}", userId, e);
+            emitter.completeWithError(e);
+        }
+
+        return emitter;
+    }
+
+    private Long parseLastEventId(String header, String param) {
+        String value = header != null ? header : param;
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed Last-Event-ID: {}", value);
+            return null;
+        }
+    }
+
+    /**
+     * 스트림을 채널로 전달하고, 끝난 방식(완료/실패/취소)을 스트림을 연 모델의 결과로 기록합니다.
+     * 클라이언트가 유예 시간 안에 재연결하지 않아 생성이 취소되면 GenerationCancelledException 을 던지며,
+     * 이 경우 부분 응답은 대화 기록에 남기지 않습니다.
+     */
+    private String streamToChannel(Long userId,
+                                   ChatEventChannel channel,
+                                   GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> routed,
+                                   long submittedAt) throws IOException {
+        try {
+            String fullResponse = readStream(userId, channel, routed.result(), submittedAt);
+            routed.succeeded();
+            return fullResponse;
+        } catch (GenerationCancelledException | IOException e) {
+            // 취소나 클라이언트로의 전송 실패는 모델의 실패가 아닙니다
+            routed.cancelled();
+            throw e;
+        } catch (RuntimeException e) {
+            routed.failed(e);
+            throw e;
+        }
+    }
+
+    private String readStream(Long userId,
+                              ChatEventChannel channel,
+                              ResponseStream<GenerateContentResponse> stream,
+                              long submittedAt) throws IOException {
+        StringBuilder fullResponse = new StringBuilder();
+        boolean firstChunk = true;
+        chatGenerationRegistry.attachStream(userId, stream);
+
+        try (CoalescingSseWriter writer = chatStreamWriterFactory.create(channel)) {
+            for (GenerateContentResponse response : stream) {
+                if (chatGenerationRegistry.isCancelled(userId)) {
+                    throw new GenerationCancelledException();
+                }
+
+                String chunk = geminiStreamingService.extractText(response);
+
+                if (chunk != null && !chunk.isEmpty()) {
+                    fullResponse.append(chunk);
+                    writer.write(chunk);
+
+                    if (firstChunk) {
+                        chatStreamExecutor.recordTimeToFirstChunk(submittedAt);
+                        firstChunk = false;
+                    }
+                }
             }
-        });
+        } catch (RuntimeException e) {
+            // 취소로 스트림이 닫히면 SDK 가 읽기 실패를 던지므로 취소 여부를 먼저 확인합니다
+            if (chatGenerationRegistry.isCancelled(userId)) {
+                throw new GenerationCancelledException();
+            }
+            throw e;
+        }
+
+        if (chatGenerationRegistry.isCancelled(userId)) {
+            throw new GenerationCancelledException();
+        }
+        return fullResponse.toString();
     }
 }
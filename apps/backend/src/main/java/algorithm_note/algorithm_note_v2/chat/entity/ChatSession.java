@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.redis.core.RedisHash;
 import org.springframework.data.redis.core.TimeToLive;
 
@@ -28,6 +29,8 @@ public class ChatSession implements Serializable {
 
     private String userName;
 
+    // 대화 기록은 세션 해시가 아닌 별도의 Redis List 에 저장됩니다 (ChatMessageRepository)
+    @Transient
     @Builder.Default
     private List<ChatMessage> conversationHistory = new ArrayList<>();
 
@@ -45,6 +48,9 @@ public class ChatSession implements Serializable {
     @Builder.Default
     private List<ReviewQuestionInfo> reviewQuestions = new ArrayList<>();
 
+    // 세션 속성으로 한 번 렌더링한 시스템 프롬프트 (PromptService)
+    private String systemPrompt;
+
     @Getter
     @Builder
     @NoArgsConstructor
@@ -82,11 +88,23 @@ public class ChatSession implements Serializable {
         }
     }
 
-    public void addUserMessage(String content) {
-        this.conversationHistory.add(ChatMessage.user(content));
+    public ChatMessage addUserMessage(String content) {
+        ChatMessage message = ChatMessage.user(content);
+        this.conversationHistory.add(message);
+        return message;
+    }
+
+    public ChatMessage addAssistantMessage(String content) {
+        ChatMessage message = ChatMessage.assistant(content);
+        this.conversationHistory.add(message);
+        return message;
+    }
+
+    public void loadConversationHistory(List<ChatMessage> messages) {
+        this.conversationHistory = new ArrayList<>(messages);
     }
 
-    public void addAssistantMessage(String content) {
-        this.conversationHistory.add(ChatMessage.assistant(content));
+    public void cacheSystemPrompt(String systemPrompt) {
+        this.systemPrompt = systemPrompt;
     }
 }
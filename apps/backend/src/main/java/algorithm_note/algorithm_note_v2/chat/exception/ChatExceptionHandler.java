@@ -26,5 +26,13 @@ public class ChatExceptionHandler {
                 .body(new ErrorResponse(404, ex.getMessage()));
     }
 
+    @ExceptionHandler(ChatStreamRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleChatStreamRejected(ChatStreamRejectedException ex) {
+        log.warn("Chat stream rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(503, ex.getMessage()));
+    }
+
     public record ErrorResponse(int status, String message) {}
 }
@@ -0,0 +1,16 @@
+package algorithm_note.algorithm_note_v2.chat.exception;
+
+public class ChatStreamRejectedException extends RuntimeException {
+
+    public ChatStreamRejectedException() {
+        super("Too many concurrent chat streams. Please try again shortly.");
+    }
+
+    public ChatStreamRejectedException(String message) {
+        super(message);
+    }
+
+    public ChatStreamRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package algorithm_note.algorithm_note_v2.chat.exception;
+
+public class GenerationCancelledException extends RuntimeException {
+
+    public GenerationCancelledException() {
+        super("Generation was cancelled because the client disconnected.");
+    }
+
+    public GenerationCancelledException(String message) {
+        super(message);
+    }
+
+    public GenerationCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
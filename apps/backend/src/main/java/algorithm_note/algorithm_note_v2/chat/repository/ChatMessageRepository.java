@@ -0,0 +1,101 @@
+package algorithm_note.algorithm_note_v2.chat.repository;
+
+import algorithm_note.algorithm_note_v2.chat.entity.ChatSession;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세션별 대화 기록을 Redis List 에 append-only 로 저장합니다.
+ * 세션 메타데이터(chatSession 해시)와 분리되어 있어 한 턴마다 메시지 하나만 RPUSH 하며,
+ * 같은 파이프라인에서 리스트와 세션 해시의 TTL 을 함께 연장합니다.
+ */
+@Slf4j
+@Repository
+public class ChatMessageRepository {
+
+    private static final String SESSION_KEY_PREFIX = "chatSession:";
+    private static final String MESSAGES_KEY_SUFFIX = ":messages";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Timer appendTimer;
+    private final DistributionSummary appendBytes;
+
+    public ChatMessageRepository(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.appendTimer = Timer.builder("chat.history.append")
+            .description("Latency of appending one chat message to Redis")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.appendBytes = DistributionSummary.builder("chat.history.append.bytes")
+            .description("Bytes written to Redis per appended chat message")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public void append(String sessionId, ChatSession.ChatMessage message, long ttlSeconds) {
+        String payload = serialize(message);
+        String messagesKey = messagesKey(sessionId);
+        String sessionKey = SESSION_KEY_PREFIX + sessionId;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+
+        appendTimer.record(() -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForList().rightPush(messagesKey, payload);
+                operations.expire(messagesKey, ttl);
+                operations.expire(sessionKey, ttl);
+                return null;
+            }
+        }));
+        appendBytes.record(payload.length());
+    }
+
+    public List<ChatSession.ChatMessage> findAll(String sessionId) {
+        List<String> payloads = redisTemplate.opsForList().range(messagesKey(sessionId), 0, -1);
+        List<ChatSession.ChatMessage> messages = new ArrayList<>();
+        if (payloads == null) {
+            return messages;
+        }
+
+        for (String payload : payloads) {
+            try {
+                messages.add(objectMapper.readValue(payload, ChatSession.ChatMessage.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable chat message in session: {}", sessionId);
+            }
+        }
+        return messages;
+    }
+
+    public void deleteAll(String sessionId) {
+        redisTemplate.delete(messagesKey(sessionId));
+    }
+
+    private String serialize(ChatSession.ChatMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize chat message", e);
+        }
+    }
+
+    private String messagesKey(String sessionId) {
+        return SESSION_KEY_PREFIX + sessionId + MESSAGES_KEY_SUFFIX;
+    }
+}
@@ -0,0 +1,76 @@
+package algorithm_note.algorithm_note_v2.chat.repository;
+
+import algorithm_note.algorithm_note_v2.global.config.ChatStreamProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자별로 최근 스트리밍 이벤트를 보관하는 링 버퍼
+ * 이벤트 id 발급(INCR)과 저장(RPUSH/LTRIM/EXPIRE)을 Lua 스크립트 한 번의 왕복으로 처리하며,
+ * 재연결 시 Last-Event-ID 이후의 이벤트만 다시 전송하는 데 사용됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatReplayRepository {
+
+    private static final String BUFFER_KEY_PREFIX = "chat:replay:";
+    private static final String SEQUENCE_KEY_SUFFIX = ":seq";
+    private static final long SEQUENCE_TTL_SECONDS = 3600L;
+
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+        "local id = redis.call('INCR', KEYS[2]) " +
+        "redis.call('EXPIRE', KEYS[2], ARGV[4]) " +
+        "redis.call('RPUSH', KEYS[1], id .. '|' .. ARGV[1] .. '|' .. ARGV[2]) " +
+        "redis.call('LTRIM', KEYS[1], -tonumber(ARGV[3]), -1) " +
+        "redis.call('EXPIRE', KEYS[1], ARGV[5]) " +
+        "return id",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatStreamProperties properties;
+
+    public long append(Long userId, String eventName, String json) {
+        Long id = redisTemplate.execute(APPEND_SCRIPT,
+            List.of(bufferKey(userId), bufferKey(userId) + SEQUENCE_KEY_SUFFIX),
+            eventName,
+            json,
+            String.valueOf(properties.getReplayMaxEvents()),
+            String.valueOf(SEQUENCE_TTL_SECONDS),
+            String.valueOf(properties.getReplayTtlSeconds()));
+        return id != null ? id : 0L;
+    }
+
+    public long currentSequence(Long userId) {
+        String value = redisTemplate.opsForValue().get(bufferKey(userId) + SEQUENCE_KEY_SUFFIX);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    public List<ReplayEvent> findAfter(Long userId, long lastEventId) {
+        List<String> entries = redisTemplate.opsForList().range(bufferKey(userId), 0, -1);
+        List<ReplayEvent> events = new ArrayList<>();
+        if (entries == null) {
+            return events;
+        }
+
+        for (String entry : entries) {
+            String[] parts = entry.split("\\|", 3);
+            long id = Long.parseLong(parts[0]);
+            if (id > lastEventId) {
+                events.add(new ReplayEvent(id, parts[1], parts[2]));
+            }
+        }
+        return events;
+    }
+
+    private String bufferKey(Long userId) {
+        return BUFFER_KEY_PREFIX + userId;
+    }
+
+    public record ReplayEvent(long id, String eventName, String json) {}
+}
@@ -0,0 +1,58 @@
+package algorithm_note.algorithm_note_v2.chat.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 세션별 누적 대화 요약을 저장합니다.
+ * coveredCount 는 요약에 포함된 대화 기록의 앞쪽 메시지 개수이며,
+ * generation 은 같은 sessionId 로 새 세션이 만들어졌을 때 이전 요약을 무시하기 위한 값입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatSummaryRepository {
+
+    private static final String SUMMARY_KEY_FORMAT = "chatSession:%s:summary";
+    private static final String TEXT_FIELD = "text";
+    private static final String COVERED_FIELD = "covered";
+    private static final String GENERATION_FIELD = "generation";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Optional<ConversationSummary> find(String sessionId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(summaryKey(sessionId));
+        if (entries.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ConversationSummary(
+            (String) entries.get(TEXT_FIELD),
+            Integer.parseInt((String) entries.get(COVERED_FIELD)),
+            (String) entries.get(GENERATION_FIELD)
+        ));
+    }
+
+    public void save(String sessionId, ConversationSummary summary, long ttlSeconds) {
+        String key = summaryKey(sessionId);
+        redisTemplate.opsForHash().putAll(key, Map.of(
+            TEXT_FIELD, summary.text(),
+            COVERED_FIELD, String.valueOf(summary.coveredCount()),
+            GENERATION_FIELD, summary.generation()
+        ));
+        redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public void delete(String sessionId) {
+        redisTemplate.delete(summaryKey(sessionId));
+    }
+
+    private String summaryKey(String sessionId) {
+        return String.format(SUMMARY_KEY_FORMAT, sessionId);
+    }
+
+    public record ConversationSummary(String text, int coveredCount, String generation) {}
+}
@@ -1,44 +1,93 @@
 package algorithm_note.algorithm_note_v2.chat.repository;
 
-import lombok.RequiredArgsConstructor;
+import algorithm_note.algorithm_note_v2.global.config.ChatHeartbeatProperties;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * emitter 는 userId 기준 heartbeat 버킷별 맵에 보관하여, 한 버킷을 순회할 때 다른 버킷의 emitter 를 건드리지 않습니다.
+ */
 @Repository
-@RequiredArgsConstructor
 public class EmitterRepository {
 
-  private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+  private final List<Map<Long, SseEmitter>> buckets;
+
+  private final Map<Long, Long> lastActivity = new ConcurrentHashMap<>();
+
+  public EmitterRepository(ChatHeartbeatProperties properties) {
+    int bucketCount = Math.max(1, properties.getBuckets());
+    List<Map<Long, SseEmitter>> maps = new ArrayList<>(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      maps.add(new ConcurrentHashMap<>());
+    }
+    this.buckets = List.copyOf(maps);
+  }
 
   public void save(Long id, SseEmitter emitter) {
-    emitters.put(id, emitter);
+    bucketOf(id).put(id, emitter);
+    touch(id);
   }
 
   public void deleteById(Long userId) {
-    emitters.remove(userId);
+    bucketOf(userId).remove(userId);
+    lastActivity.remove(userId);
+  }
+
+  public boolean remove(Long userId, SseEmitter emitter) {
+    if (bucketOf(userId).remove(userId, emitter)) {
+      lastActivity.remove(userId);
+      return true;
+    }
+    return false;
+  }
+
+  public void touch(Long userId) {
+    lastActivity.put(userId, System.currentTimeMillis());
+  }
+
+  public long getLastActivity(Long userId) {
+    return lastActivity.getOrDefault(userId, 0L);
   }
 
   public Optional<SseEmitter> get(Long userId) {
-    return Optional.ofNullable(emitters.get(userId));
+    return Optional.ofNullable(bucketOf(userId).get(userId));
+  }
+
+  public int getBucketCount() {
+    return buckets.size();
   }
 
-  public Map<Long, SseEmitter> getAllEmitters() {
-    return emitters;
+  public Map<Long, SseEmitter> getBucket(int bucket) {
+    return Collections.unmodifiableMap(buckets.get(bucket));
   }
 
-  public void configureCallbacks(Long userId, SseEmitter emitter) {
+  public void configureCallbacks(Long userId, SseEmitter emitter, Runnable onRemoved) {
     emitter.onTimeout(() -> {
-      deleteById(userId);
+      remove(userId, emitter, onRemoved);
     });
     emitter.onError(e -> {
-      deleteById(userId);
+      remove(userId, emitter, onRemoved);
     });
     emitter.onCompletion(() -> {
-      deleteById(userId);
+      remove(userId, emitter, onRemoved);
     });
   }
-}
\ No newline at end of file
+
+  // 같은 사용자가 재구독한 경우 새 emitter 를 지우지 않도록 자신이 등록한 emitter 일 때만 제거합니다.
+  private void remove(Long userId, SseEmitter emitter, Runnable onRemoved) {
+    if (remove(userId, emitter)) {
+      onRemoved.run();
+    }
+  }
+
+  private Map<Long, SseEmitter> bucketOf(Long userId) {
+    return buckets.get(Math.floorMod(userId, buckets.size()));
+  }
+}
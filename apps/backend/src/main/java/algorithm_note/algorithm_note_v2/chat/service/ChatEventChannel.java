@@ -0,0 +1,19 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import java.io.IOException;
+
+/**
+ * 사용자의 SSE 연결로 채팅 이벤트를 전달하는 통로
+ * 연결이 현재 노드에 있으면 SseEmitter 로 직접, 다른 노드에 있으면 Redis pub/sub 을 통해 전달됩니다.
+ */
+public interface ChatEventChannel {
+
+    void send(String eventName, Object data) throws IOException;
+
+    /**
+     * 이미 JSON 으로 직렬화된 데이터를 그대로 전달합니다.
+     */
+    void sendJson(String eventName, String json) throws IOException;
+
+    void completeWithError(Throwable error);
+}
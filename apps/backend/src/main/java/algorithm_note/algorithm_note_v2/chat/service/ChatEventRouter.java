@@ -0,0 +1,463 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.exception.EmitterNotFoundException;
+import algorithm_note.algorithm_note_v2.chat.repository.ChatReplayRepository;
+import algorithm_note.algorithm_note_v2.chat.repository.EmitterRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 SSE 연결이 어느 노드에 있는지 Redis 에 기록하고, 채팅 이벤트를 해당 노드로 라우팅합니다.
+ * 메시지 요청이 SSE 연결과 다른 노드로 들어와도 그 노드에서 생성을 수행하고,
+ * 청크는 연결을 가진 노드의 채널(chat:node:{nodeId})로 publish 되어 그 노드가 클라이언트에 전달합니다.
+ *
+ * 스트리밍 이벤트는 전송 전에 사용자별 증가 id 를 받아 ChatReplayRepository 에 기록되며,
+ * 채널은 이벤트마다 현재 연결을 다시 찾으므로 재연결된 emitter 가 진행 중인 생성에 그대로 이어 붙습니다.
+ *
+ * 전달은 연결마다 하나의 대기열을 거칩니다. 사용자별 잠금 안에서는 중복 확인과 대기열 추가만 하고,
+ * 실제 전송(블로킹 emitter.send)은 잠금 밖에서 그 대기열을 비우는 스레드 하나가 순서대로 수행합니다.
+ * 느린 연결은 자기 이벤트를 보내는 스레드만 붙잡고, 같은 잠금을 쓰는 다른 사용자나 Redis 리스너의 잠금 대기로 번지지 않습니다.
+ *
+ * 연결/해제는 chat:connection 채널로 모든 노드에 알려, 생성을 수행 중인 노드가 유예 시간 뒤 생성을 취소할 수 있게 합니다.
+ * presence 가 가리키는 노드의 채널에 구독자가 없으면(노드 종료 등) 오래된 presence 를 지우고 전송을 실패시켜 생성을 바로 멈춥니다.
+ */
+@Slf4j
+@Service
+public class ChatEventRouter implements MessageListener {
+
+    private static final String PRESENCE_KEY_PREFIX = "chat:emitter:";
+    private static final String NODE_CHANNEL_PREFIX = "chat:node:";
+    private static final String CONNECTION_CHANNEL = "chat:connection";
+
+    private final EmitterRepository emitterRepository;
+    private final ChatReplayRepository chatReplayRepository;
+    private final ChatGenerationRegistry chatGenerationRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+
+    // 사용자별로 이 노드에서 마지막으로 전송 대기열에 넣은 이벤트 id. 재전송과 실시간 전송이 겹쳐도 중복/역순 전달을 막습니다.
+    // 로컬 연결이 사라지면 함께 제거합니다.
+    private final Map<Long, Long> deliveredUpTo = new ConcurrentHashMap<>();
+    private final Map<Long, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final Object[] deliveryLocks = new Object[64];
+
+    public ChatEventRouter(EmitterRepository emitterRepository,
+                           ChatReplayRepository chatReplayRepository,
+                           ChatGenerationRegistry chatGenerationRegistry,
+                           StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           ObjectMapper objectMapper,
+                           @Value("${chat.cluster.node-id:}") String nodeId) {
+        this.emitterRepository = emitterRepository;
+        this.chatReplayRepository = chatReplayRepository;
+        this.chatGenerationRegistry = chatGenerationRegistry;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.nodeId = (nodeId == null || nodeId.isBlank()) ? UUID.randomUUID().toString() : nodeId;
+        for (int i = 0; i < deliveryLocks.length; i++) {
+            deliveryLocks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void subscribeNodeChannel() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(NODE_CHANNEL_PREFIX + nodeId));
+        listenerContainer.addMessageListener(this::onConnectionMessage, new ChannelTopic(CONNECTION_CHANNEL));
+        log.info("Chat event router listening on node channel: {}", NODE_CHANNEL_PREFIX + nodeId);
+    }
+
+    public void register(Long userId, SseEmitter emitter, long timeoutMillis) {
+        attach(userId, emitter, timeoutMillis);
+        deliveredUpTo.put(userId, 0L);
+    }
+
+    /**
+     * 재연결한 emitter 를 등록하고 lastEventId 이후의 이벤트를 다시 보냅니다.
+     * 재전송할 이벤트를 잠금 안에서 새 연결의 대기열에 먼저 넣으므로, 그 뒤에 도착한 실시간 이벤트는 재전송 다음 순서로 전달됩니다.
+     * lastEventId 가 현재 시퀀스보다 크면(시퀀스 만료 후 재시작 등) 버퍼 전체를 보냅니다.
+     */
+    public int resume(Long userId, SseEmitter emitter, long timeoutMillis, long lastEventId) throws IOException {
+        Outbox outbox;
+        boolean drain = false;
+        List<ChatReplayRepository.ReplayEvent> events;
+        synchronized (lockFor(userId)) {
+            deliveredUpTo.put(userId, Long.MAX_VALUE);
+            attach(userId, emitter, timeoutMillis);
+
+            long from = lastEventId <= chatReplayRepository.currentSequence(userId) ? lastEventId : 0L;
+            events = chatReplayRepository.findAfter(userId, from);
+            outbox = new Outbox(userId, emitter);
+            outboxes.put(userId, outbox);
+            for (ChatReplayRepository.ReplayEvent event : events) {
+                drain |= outbox.offer(new PendingEvent(event.id(), event.eventName(), event.json()));
+            }
+            deliveredUpTo.put(userId, events.isEmpty() ? from : events.get(events.size() - 1).id());
+        }
+        if (drain) {
+            outbox.drain();
+        }
+        return events.size();
+    }
+
+    private void attach(Long userId, SseEmitter emitter, long timeoutMillis) {
+        emitterRepository.save(userId, emitter);
+        emitterRepository.configureCallbacks(userId, emitter, () -> releasePresence(userId));
+        redisTemplate.opsForValue().set(presenceKey(userId), nodeId, Duration.ofMillis(timeoutMillis));
+        connectionChanged(userId, true);
+    }
+
+    /**
+     * 이 노드 또는 다른 노드에 사용자 연결이 살아 있는지 확인합니다.
+     */
+    public boolean isConnected(Long userId) {
+        return emitterRepository.get(userId).isPresent()
+            || redisTemplate.opsForValue().get(presenceKey(userId)) != null;
+    }
+
+    public ChatEventChannel channelFor(Long userId) {
+        return new UserChannel(userId);
+    }
+
+    /**
+     * 메시지 요청용 채널. 어느 노드에도 연결이 없으면 EmitterNotFoundException 을 던집니다.
+     */
+    public ChatEventChannel route(Long userId) {
+        if (emitterRepository.get(userId).isEmpty() && redisTemplate.opsForValue().get(presenceKey(userId)) == null) {
+            throw new EmitterNotFoundException();
+        }
+        return new UserChannel(userId);
+    }
+
+    /**
+     * 응답하지 않는 emitter 들을 한 번에 제거하고, 이 노드가 소유한 presence 키를 일괄 삭제합니다.
+     */
+    public int evict(Map<Long, SseEmitter> deadEmitters) {
+        List<Long> removedUserIds = new ArrayList<>();
+        List<String> ownedKeys = new ArrayList<>();
+        for (Map.Entry<Long, SseEmitter> entry : deadEmitters.entrySet()) {
+            if (emitterRepository.remove(entry.getKey(), entry.getValue())) {
+                removedUserIds.add(entry.getKey());
+                ownedKeys.add(presenceKey(entry.getKey()));
+            }
+            try {
+                entry.getValue().complete();
+            } catch (Exception e) {
+                log.debug("Emitter for userId: {} was already completed", entry.getKey());
+            }
+        }
+
+        if (!ownedKeys.isEmpty()) {
+            List<String> owners = redisTemplate.opsForValue().multiGet(ownedKeys);
+            List<String> toDelete = new ArrayList<>();
+            for (int i = 0; i < ownedKeys.size(); i++) {
+                if (owners != null && nodeId.equals(owners.get(i))) {
+                    toDelete.add(ownedKeys.get(i));
+                }
+            }
+            if (!toDelete.isEmpty()) {
+                redisTemplate.delete(toDelete);
+            }
+        }
+        for (Long userId : removedUserIds) {
+            forgetDelivery(userId);
+            connectionChanged(userId, false);
+        }
+        return ownedKeys.size();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        RelayMessage relay;
+        try {
+            relay = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), RelayMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable relay message: {}", e.getMessage());
+            return;
+        }
+
+        if (relay.error() != null) {
+            emitterRepository.get(relay.userId())
+                .ifPresent(emitter -> emitter.completeWithError(new IOException(relay.error())));
+            return;
+        }
+
+        if (!deliverLocally(relay.userId(), relay.id(), relay.event(), relay.json())) {
+            log.debug("Relay message for userId: {} arrived but the emitter is gone", relay.userId());
+        }
+    }
+
+    private void onConnectionMessage(Message message, byte[] pattern) {
+        ConnectionMessage connection;
+        try {
+            connection = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), ConnectionMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable connection message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(connection.nodeId())) {
+            return;
+        }
+
+        if (connection.connected()) {
+            chatGenerationRegistry.onConnected(connection.userId());
+        } else {
+            chatGenerationRegistry.onDisconnected(connection.userId(), () -> !isConnected(connection.userId()));
+        }
+    }
+
+    /**
+     * 이 노드의 emitter 로 이벤트를 보냅니다. 로컬 연결이 없으면 false 를 반환합니다.
+     * 전송에 실패한 emitter 는 제거하며, 생성은 계속되어 재연결 시 버퍼에서 재전송됩니다.
+     */
+    private boolean deliverLocally(Long userId, long id, String eventName, String json) {
+        Optional<SseEmitter> emitter = emitterRepository.get(userId);
+        if (emitter.isEmpty()) {
+            return false;
+        }
+
+        Outbox outbox;
+        synchronized (lockFor(userId)) {
+            if (id > 0 && id <= deliveredUpTo.getOrDefault(userId, 0L)) {
+                return true;
+            }
+            outbox = outboxes.get(userId);
+            if (outbox == null || outbox.emitter != emitter.get()) {
+                outbox = new Outbox(userId, emitter.get());
+                outboxes.put(userId, outbox);
+            }
+            if (id > 0) {
+                deliveredUpTo.put(userId, id);
+            }
+            if (!outbox.offer(new PendingEvent(id, eventName, json))) {
+                return true;
+            }
+        }
+
+        try {
+            outbox.drain();
+        } catch (IOException e) {
+            log.debug("Delivery to userId: {} failed: {}", userId, e.getMessage());
+        }
+        return true;
+    }
+
+    private void sendToEmitter(SseEmitter emitter, long id, String eventName, String json) throws IOException {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON);
+        if (id > 0) {
+            event.id(String.valueOf(id));
+        }
+        emitter.send(event);
+    }
+
+    private Object lockFor(Long userId) {
+        return deliveryLocks[Math.floorMod(userId, deliveryLocks.length)];
+    }
+
+    /**
+     * 로컬 emitter 가 없어진 사용자의 전달 위치를 지웁니다. 그사이 재연결한 emitter 가 있으면 그대로 둡니다.
+     */
+    private void forgetDelivery(Long userId) {
+        synchronized (lockFor(userId)) {
+            if (emitterRepository.get(userId).isEmpty()) {
+                deliveredUpTo.remove(userId);
+                outboxes.remove(userId);
+            }
+        }
+    }
+
+    private void releasePresence(Long userId) {
+        forgetDelivery(userId);
+        String key = presenceKey(userId);
+        if (Objects.equals(redisTemplate.opsForValue().get(key), nodeId)) {
+            redisTemplate.delete(key);
+        }
+        connectionChanged(userId, false);
+    }
+
+    private void connectionChanged(Long userId, boolean connected) {
+        if (connected) {
+            chatGenerationRegistry.onConnected(userId);
+        } else {
+            chatGenerationRegistry.onDisconnected(userId, () -> !isConnected(userId));
+        }
+        publishConnection(userId, connected);
+    }
+
+    private void publishConnection(Long userId, boolean connected) {
+        try {
+            redisTemplate.convertAndSend(CONNECTION_CHANNEL,
+                objectMapper.writeValueAsString(new ConnectionMessage(userId, nodeId, connected)));
+        } catch (Exception e) {
+            log.debug("Failed to publish connection change for userId: {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private String presenceKey(Long userId) {
+        return PRESENCE_KEY_PREFIX + userId;
+    }
+
+    /**
+     * 사용자 단위 채널. 이벤트마다 id 를 발급해 재전송 버퍼에 기록한 뒤,
+     * 그 시점의 연결(로컬 emitter 또는 다른 노드)로 전달합니다. 연결이 없으면 버퍼에만 남습니다.
+     */
+    private class UserChannel implements ChatEventChannel {
+
+        private final Long userId;
+
+        private UserChannel(Long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void send(String eventName, Object data) throws IOException {
+            try {
+                sendJson(eventName, objectMapper.writeValueAsString(data));
+            } catch (JsonProcessingException e) {
+                throw new IOException("Failed to serialize chat event", e);
+            }
+        }
+
+        @Override
+        public void sendJson(String eventName, String json) throws IOException {
+            long id = chatReplayRepository.append(userId, eventName, json);
+
+            if (deliverLocally(userId, id, eventName, json)) {
+                return;
+            }
+
+            String ownerNode = redisTemplate.opsForValue().get(presenceKey(userId));
+            if (ownerNode != null && !ownerNode.equals(nodeId)) {
+                publish(ownerNode, new RelayMessage(userId, id, eventName, json, null));
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            Optional<SseEmitter> emitter = emitterRepository.get(userId);
+            if (emitter.isPresent()) {
+                emitter.get().completeWithError(error);
+                return;
+            }
+
+            String ownerNode = redisTemplate.opsForValue().get(presenceKey(userId));
+            if (ownerNode != null && !ownerNode.equals(nodeId)) {
+                try {
+                    publish(ownerNode, new RelayMessage(userId, 0L, null, null, String.valueOf(error.getMessage())));
+                } catch (IOException e) {
+                    log.warn("Failed to relay error to userId: {}", userId);
+                }
+            }
+        }
+
+        /**
+         * 노드 채널은 노드가 살아 있는 동안 항상 구독되므로, 받은 노드가 없으면 presence 가 가리키는 노드가 사라진 것입니다.
+         * 오래된 presence 를 지우고 IOException 으로 스트림을 바로 실패시킵니다 (이미 보낸 이벤트는 재전송 버퍼에 남습니다).
+         */
+        private void publish(String ownerNode, RelayMessage relay) throws IOException {
+            Long receivers = redisTemplate.convertAndSend(NODE_CHANNEL_PREFIX + ownerNode,
+                objectMapper.writeValueAsString(relay));
+            if (receivers == null || receivers == 0) {
+                String key = presenceKey(userId);
+                if (Objects.equals(redisTemplate.opsForValue().get(key), ownerNode)) {
+                    redisTemplate.delete(key);
+                }
+                log.warn("Node {} holding userId: {} is not listening, failing the stream", ownerNode, userId);
+                throw new IOException("Node holding the SSE connection is unreachable: " + ownerNode);
+            }
+        }
+    }
+
+    private record PendingEvent(long id, String eventName, String json) {}
+
+    /**
+     * 연결 하나의 전송 대기열. offer 가 true 를 반환한 스레드 하나만 drain 을 호출해 대기열이 빌 때까지 순서대로 보냅니다.
+     * 전송에 실패하면 남은 이벤트를 버리고(재전송 버퍼에 남아 있음) emitter 를 제거합니다.
+     */
+    private final class Outbox {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Deque<PendingEvent> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Outbox(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return 호출한 스레드가 drain 해야 하면 true
+         */
+        private synchronized boolean offer(PendingEvent event) {
+            if (closed) {
+                return false;
+            }
+            pending.add(event);
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        private void drain() throws IOException {
+            while (true) {
+                PendingEvent event;
+                synchronized (this) {
+                    event = pending.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    sendToEmitter(emitter, event.id(), event.eventName(), event.json());
+                    emitterRepository.touch(userId);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        closed = true;
+                        draining = false;
+                        pending.clear();
+                    }
+                    log.info("SSE connection for userId: {} dropped mid-stream, buffering for replay", userId);
+                    if (emitterRepository.remove(userId, emitter)) {
+                        releasePresence(userId);
+                    }
+                    throw e instanceof IOException io ? io : new IOException(e);
+                }
+            }
+        }
+    }
+
+    public record RelayMessage(Long userId, long id, String event, String json, String error) {}
+
+    public record ConnectionMessage(Long userId, String nodeId, boolean connected) {}
+}
@@ -0,0 +1,165 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ChatStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 이 노드에서 진행 중인 Gemini 생성을 사용자별로 추적합니다.
+ * SSE 연결이 끊기면 cancelGraceMillis 동안 재연결(Last-Event-ID)을 기다린 뒤,
+ * 돌아오지 않으면 ResponseStream 을 닫고 작업 스레드를 인터럽트하여 불필요한 토큰 소비를 멈춥니다.
+ */
+@Slf4j
+@Service
+public class ChatGenerationRegistry {
+
+    private final ChatStreamProperties properties;
+    private final Map<Long, Generation> generations = new ConcurrentHashMap<>();
+    private final Map<Long, ScheduledFuture<?>> pendingCancels = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cancelScheduler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("chat-cancel-"));
+    private final Counter cancelledCounter;
+
+    public ChatGenerationRegistry(ChatStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cancelledCounter = Counter.builder("chat.stream.cancelled")
+            .description("Generations cancelled because the client disconnected")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 현재 스레드에서 시작하는 생성을 등록합니다. 같은 사용자의 이전 생성은 더 이상 전달될 곳이 없으므로 취소합니다.
+     */
+    public Generation begin(Long userId) {
+        Generation generation = new Generation(userId, Thread.currentThread());
+        Generation previous = generations.put(userId, generation);
+        if (previous != null && previous.cancel()) {
+            cancelledCounter.increment();
+            log.info("Cancelled superseded generation for userId: {}", userId);
+        }
+        return generation;
+    }
+
+    public void end(Generation generation) {
+        generations.remove(generation.userId, generation);
+        if (generation.finish()) {
+            // 취소 시 걸린 인터럽트 플래그가 풀 스레드의 다음 작업으로 새지 않도록 지웁니다
+            Thread.interrupted();
+        }
+    }
+
+    public void attachStream(Long userId, AutoCloseable stream) {
+        Generation generation = generations.get(userId);
+        if (generation != null && generation.worker == Thread.currentThread()) {
+            generation.attach(stream);
+        }
+    }
+
+    public boolean isCancelled(Long userId) {
+        Generation generation = generations.get(userId);
+        return generation != null && generation.worker == Thread.currentThread() && generation.cancelled;
+    }
+
+    /**
+     * 연결이 끊겼음을 알립니다. 유예 시간이 지난 뒤 stillDisconnected 가 true 이면(다른 노드로 재연결하지 않았으면) 취소합니다.
+     */
+    public void onDisconnected(Long userId, BooleanSupplier stillDisconnected) {
+        if (!generations.containsKey(userId)) {
+            return;
+        }
+        pendingCancels.computeIfAbsent(userId, id -> cancelScheduler.schedule(
+            () -> cancelIfStillDisconnected(id, stillDisconnected),
+            properties.getCancelGraceMillis(),
+            TimeUnit.MILLISECONDS));
+    }
+
+    public void onConnected(Long userId) {
+        ScheduledFuture<?> pending = pendingCancels.remove(userId);
+        if (pending != null) {
+            pending.cancel(false);
+            log.debug("Client for userId: {} reconnected, keeping generation alive", userId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelScheduler.shutdownNow();
+    }
+
+    private void cancelIfStillDisconnected(Long userId, BooleanSupplier stillDisconnected) {
+        if (pendingCancels.remove(userId) == null) {
+            return;
+        }
+        try {
+            if (!stillDisconnected.getAsBoolean()) {
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("Could not verify connection for userId: {}, cancelling generation: {}", userId, e.getMessage());
+        }
+        Generation generation = generations.get(userId);
+        if (generation != null && generation.cancel()) {
+            cancelledCounter.increment();
+            log.info("Cancelled generation for userId: {} after client disconnect", userId);
+        }
+    }
+
+    public static class Generation {
+
+        private final Long userId;
+        private final Thread worker;
+        private volatile AutoCloseable stream;
+        private volatile boolean cancelled;
+        private boolean finished;
+
+        private Generation(Long userId, Thread worker) {
+            this.userId = userId;
+            this.worker = worker;
+        }
+
+        private void attach(AutoCloseable stream) {
+            this.stream = stream;
+            if (cancelled) {
+                closeQuietly(stream);
+            }
+        }
+
+        private synchronized boolean cancel() {
+            if (cancelled || finished) {
+                return false;
+            }
+            cancelled = true;
+            closeQuietly(stream);
+            worker.interrupt();
+            return true;
+        }
+
+        private synchronized boolean finish() {
+            finished = true;
+            return cancelled;
+        }
+
+        private static void closeQuietly(AutoCloseable stream) {
+            if (stream == null) {
+                return;
+            }
+            try {
+                stream.close();
+            } catch (Exception e) {
+                log.debug("Failed to close upstream stream: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.exception.ChatStreamRejectedException;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 스트리밍 작업을 전용 풀에 제출하고 실행 현황을 메트릭으로 노출합니다.
+ */
+@Service
+@Slf4j
+public class ChatStreamExecutor {
+
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final ChatGenerationRegistry chatGenerationRegistry;
+    private final Counter rejectedCounter;
+    private final Timer timeToFirstChunkTimer;
+
+    public ChatStreamExecutor(@Qualifier("chatStreamTaskExecutor") ThreadPoolTaskExecutor taskExecutor,
+                              ChatGenerationRegistry chatGenerationRegistry,
+                              MeterRegistry meterRegistry) {
+        this.taskExecutor = taskExecutor;
+        this.chatGenerationRegistry = chatGenerationRegistry;
+
+        Gauge.builder("chat.stream.active", taskExecutor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Number of chat streams currently being generated")
+            .register(meterRegistry);
+        Gauge.builder("chat.stream.queued", taskExecutor, executor -> executor.getThreadPoolExecutor().getQueue().size())
+            .description("Number of chat streams waiting for a worker")
+            .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("chat.stream.rejected")
+            .description("Number of chat streams rejected because the pool and queue were full")
+            .register(meterRegistry);
+        this.timeToFirstChunkTimer = Timer.builder("chat.stream.time-to-first-chunk")
+            .description("Time from request submission until the first chunk is sent to the client")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 작업을 제출합니다. permit 은 작업이 끝나거나 제출이 거절되면 반환됩니다.
+     */
+    public CompletableFuture<Void> submit(Long userId, GeminiRateLimiter.Permit permit, Runnable task) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                ChatGenerationRegistry.Generation generation = chatGenerationRegistry.begin(userId);
+                try {
+                    task.run();
+                } finally {
+                    chatGenerationRegistry.end(generation);
+                    permit.close();
+                }
+            }, taskExecutor);
+        } catch (TaskRejectedException e) {
+            permit.close();
+            rejectedCounter.increment();
+            log.warn("Chat stream rejected for userId: {} (active: {}, queued: {})",
+                userId, taskExecutor.getActiveCount(), taskExecutor.getThreadPoolExecutor().getQueue().size());
+            throw new ChatStreamRejectedException();
+        }
+    }
+
+    public void recordTimeToFirstChunk(long submittedAtNanos) {
+        timeToFirstChunkTimer.record(System.nanoTime() - submittedAtNanos, TimeUnit.NANOSECONDS);
+    }
+}
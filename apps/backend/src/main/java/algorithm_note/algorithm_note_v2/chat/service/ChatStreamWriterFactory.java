@@ -0,0 +1,40 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ChatStreamProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스트림마다 CoalescingSseWriter 를 생성하고, 모든 스트림이 함께 쓰는 메트릭을 보유합니다.
+ */
+@Component
+public class ChatStreamWriterFactory {
+
+    private final ChatStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter chunkCounter;
+    private final Counter frameCounter;
+    private final Counter overflowCounter;
+
+    public ChatStreamWriterFactory(ChatStreamProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.chunkCounter = Counter.builder("chat.stream.chunks")
+            .description("Gemini chunks received for SSE delivery")
+            .register(meterRegistry);
+        this.frameCounter = Counter.builder("chat.stream.frames")
+            .description("Coalesced SSE frames written to clients")
+            .register(meterRegistry);
+        this.overflowCounter = Counter.builder("chat.stream.overflow")
+            .description("Streams whose client could not keep up with the buffered output")
+            .tag("policy", properties.getOverflowPolicy().name().toLowerCase())
+            .register(meterRegistry);
+    }
+
+    public CoalescingSseWriter create(ChatEventChannel channel) {
+        return new CoalescingSseWriter(channel, properties, objectMapper,
+            chunkCounter, frameCounter, overflowCounter);
+    }
+}
@@ -0,0 +1,127 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.dto.ChatStreamChunkDto;
+import algorithm_note.algorithm_note_v2.global.config.ChatStreamProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 청크를 모아 시간(flushIntervalMillis) 또는 크기(maxFrameChars) 단위의 SSE 프레임으로 ChatEventChannel 에 전송합니다.
+ * 전송은 스트림을 읽는 생성 스레드에서 이루어집니다. 느린 클라이언트는 자기 스트림의 읽기만 늦추고(Gemini 응답은 소켓에 남음)
+ * 노드 공용 스레드를 점유하지 않습니다.
+ * 한 번에 모인 텍스트가 maxBufferedChars 를 넘으면 overflowPolicy 에 따라 연결을 끊거나 프레임을 버립니다.
+ * 첫 청크는 지연 없이 바로 전송하며, 한 스트림의 생성 스레드에서만 사용합니다.
+ */
+@Slf4j
+public class CoalescingSseWriter implements AutoCloseable {
+
+    private final ChatEventChannel channel;
+    private final ChatStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter chunkCounter;
+    private final Counter frameCounter;
+    private final Counter overflowCounter;
+
+    private final StringBuilder pending = new StringBuilder();
+    private final StringWriter jsonBuffer = new StringWriter(1024);
+
+    private boolean firstFrameSent;
+    private long lastFlushNanos;
+    private IOException failure;
+
+    CoalescingSseWriter(ChatEventChannel channel,
+                        ChatStreamProperties properties,
+                        ObjectMapper objectMapper,
+                        Counter chunkCounter,
+                        Counter frameCounter,
+                        Counter overflowCounter) {
+        this.channel = channel;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.chunkCounter = chunkCounter;
+        this.frameCounter = frameCounter;
+        this.overflowCounter = overflowCounter;
+    }
+
+    public void write(String chunk) throws IOException {
+        throwIfFailed();
+        chunkCounter.increment();
+        pending.append(chunk);
+
+        if (pending.length() > properties.getMaxBufferedChars()) {
+            handleOverflow();
+            return;
+        }
+
+        long sinceLastFlush = System.nanoTime() - lastFlushNanos;
+        if (!firstFrameSent
+            || pending.length() >= properties.getMaxFrameChars()
+            || sinceLastFlush >= TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis())) {
+            flush();
+        }
+    }
+
+    /**
+     * 남은 텍스트를 전송합니다.
+     */
+    @Override
+    public void close() throws IOException {
+        throwIfFailed();
+        flush();
+    }
+
+    private void flush() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        String frame = pending.toString();
+        pending.setLength(0);
+        firstFrameSent = true;
+
+        try {
+            channel.sendJson("message", toJson(frame));
+            frameCounter.increment();
+        } catch (IOException | IllegalStateException e) {
+            failure = e instanceof IOException io ? io : new IOException(e);
+            throw failure;
+        } finally {
+            lastFlushNanos = System.nanoTime();
+        }
+    }
+
+    private void handleOverflow() throws IOException {
+        overflowCounter.increment();
+
+        if (properties.getOverflowPolicy() == ChatStreamProperties.OverflowPolicy.DROP) {
+            log.warn("SSE client is too slow, dropping {} buffered characters", pending.length());
+            pending.setLength(0);
+            return;
+        }
+
+        log.warn("SSE client is too slow, disconnecting ({} characters buffered)", pending.length());
+        pending.setLength(0);
+        failure = new IOException("SSE client could not keep up with the stream");
+        channel.completeWithError(failure);
+        throw failure;
+    }
+
+    private String toJson(String content) throws IOException {
+        jsonBuffer.getBuffer().setLength(0);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(jsonBuffer)) {
+            objectMapper.writeValue(generator, new ChatStreamChunkDto(content));
+        }
+        return jsonBuffer.toString();
+    }
+
+    private void throwIfFailed() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.entity.ChatSession;
+import algorithm_note.algorithm_note_v2.chat.repository.ChatSummaryRepository;
+import algorithm_note.algorithm_note_v2.chat.repository.ChatSummaryRepository.ConversationSummary;
+import algorithm_note.algorithm_note_v2.global.config.ChatContextProperties;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClientPool;
+import algorithm_note.algorithm_note_v2.global.service.GeminiModelRouter;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.Part;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gemini 에 보낼 대화 컨텍스트를 토큰 예산 안에서 구성합니다.
+ * 최근 메시지는 그대로 보내고, 윈도우 밖으로 밀려난 메시지는 누적 요약 하나로 대체합니다.
+ * 요약은 요청 경로 밖(chatSummaryTaskExecutor)에서 갱신되며 다음 턴부터 사용됩니다.
+ */
+@Service
+@Slf4j
+public class ConversationContextService {
+
+    private static final long SUMMARY_TTL = 3600L;
+
+    private final ChatContextProperties properties;
+    private final ChatSummaryRepository chatSummaryRepository;
+    private final GeminiClientPool geminiClientPool;
+    private final GeminiModelRouter geminiModelRouter;
+    private final ThreadPoolTaskExecutor summaryExecutor;
+    private final String summarizerPrompt;
+    private final Set<String> summariesInFlight = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary sentTokens;
+    private final DistributionSummary fullHistoryTokens;
+
+    public ConversationContextService(ChatContextProperties properties,
+                                      ChatSummaryRepository chatSummaryRepository,
+                                      GeminiClientPool geminiClientPool,
+                                      GeminiModelRouter geminiModelRouter,
+                                      @Qualifier("chatSummaryTaskExecutor") ThreadPoolTaskExecutor summaryExecutor,
+                                      @Value("${ai.prompt.conversation-summarizer}") String summarizerPrompt,
+                                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.chatSummaryRepository = chatSummaryRepository;
+        this.geminiClientPool = geminiClientPool;
+        this.geminiModelRouter = geminiModelRouter;
+        this.summaryExecutor = summaryExecutor;
+        this.summarizerPrompt = summarizerPrompt;
+        this.sentTokens = DistributionSummary.builder("chat.context.tokens")
+            .description("Estimated conversation tokens per Gemini request")
+            .tag("scope", "sent")
+            .register(meterRegistry);
+        this.fullHistoryTokens = DistributionSummary.builder("chat.context.tokens")
+            .description("Estimated conversation tokens per Gemini request")
+            .tag("scope", "full-history")
+            .register(meterRegistry);
+    }
+
+    public ConversationContext buildContext(ChatSession session, String userMessage) {
+        List<ChatSession.ChatMessage> history = session.getConversationHistory();
+        String generation = String.valueOf(session.getCreatedAt());
+
+        // 컨트롤러가 현재 사용자 메시지를 먼저 기록하므로 중복 전송하지 않도록 제외합니다
+        int historyEnd = history.size();
+        if (historyEnd > 0) {
+            ChatSession.ChatMessage last = history.get(historyEnd - 1);
+            if ("user".equals(last.getRole()) && userMessage.equals(last.getContent())) {
+                historyEnd--;
+            }
+        }
+
+        Optional<ConversationSummary> summary = chatSummaryRepository.find(session.getSessionId())
+            .filter(s -> generation.equals(s.generation()))
+            .filter(s -> s.coveredCount() <= history.size());
+        int covered = Math.min(summary.map(ConversationSummary::coveredCount).orElse(0), historyEnd);
+
+        int userTokens = estimateTokens(userMessage);
+        int summaryTokens = summary.map(s -> estimateTokens(s.text())).orElse(0);
+        int usedTokens = userTokens + summaryTokens;
+        int fullTokens = userTokens;
+
+        int start = historyEnd;
+        boolean trimming = false;
+        for (int i = historyEnd - 1; i >= 0; i--) {
+            int tokens = estimateTokens(history.get(i).getContent());
+            fullTokens += tokens;
+            if (trimming || i < covered) {
+                continue;
+            }
+
+            boolean inRecentWindow = historyEnd - i <= properties.getRecentMessages();
+            if (inRecentWindow || usedTokens + tokens <= properties.getTokenBudget()) {
+                usedTokens += tokens;
+                start = i;
+            } else {
+                trimming = true;
+            }
+        }
+
+        List<Content> contents = new ArrayList<>();
+        summary.ifPresent(s -> contents.add(toContent("user", "[이전 대화 요약]\n" + s.text())));
+        for (ChatSession.ChatMessage msg : history.subList(start, historyEnd)) {
+            contents.add(toContent(msg.getRole(), msg.getContent()));
+        }
+        contents.add(toContent("user", userMessage));
+
+        int windowStart = Math.max(0, historyEnd - properties.getRecentMessages());
+        if (windowStart > covered) {
+            scheduleSummary(session.getSessionId(), generation, summary.map(ConversationSummary::text).orElse(null),
+                new ArrayList<>(history.subList(covered, windowStart)), windowStart);
+        }
+
+        sentTokens.record(usedTokens);
+        fullHistoryTokens.record(fullTokens);
+        log.info("Context tokens for session {} - sent: {}, full history: {}, verbatim messages: {}, summarized: {}",
+            session.getSessionId(), usedTokens, fullTokens, historyEnd - start, covered);
+
+        return new ConversationContext(contents, usedTokens, fullTokens);
+    }
+
+    private void scheduleSummary(String sessionId, String generation, String previousSummary,
+                                 List<ChatSession.ChatMessage> messages, int coveredCount) {
+        if (!summariesInFlight.add(sessionId)) {
+            return;
+        }
+
+        try {
+            summaryExecutor.execute(() -> {
+                try {
+                    String text = summarize(previousSummary, messages);
+                    chatSummaryRepository.save(sessionId, new ConversationSummary(text, coveredCount, generation), SUMMARY_TTL);
+                    log.debug("Updated conversation summary for session: {} (covered: {})", sessionId, coveredCount);
+                } catch (Exception e) {
+                    log.warn("Failed to summarize conversation for session: {}: {}", sessionId, e.getMessage());
+                } finally {
+                    summariesInFlight.remove(sessionId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            summariesInFlight.remove(sessionId);
+            log.debug("Summary task rejected for session: {}, will retry on next turn", sessionId);
+        }
+    }
+
+    private String summarize(String previousSummary, List<ChatSession.ChatMessage> messages) {
+        StringBuilder input = new StringBuilder(summarizerPrompt)
+            .append("\n[이전 요약]\n")
+            .append(previousSummary != null ? previousSummary : "없음")
+            .append("\n\n[새 대화]\n");
+        for (ChatSession.ChatMessage msg : messages) {
+            input.append("user".equals(msg.getRole()) ? "사용자" : "AI")
+                .append(": ")
+                .append(msg.getContent())
+                .append('\n');
+        }
+
+        Content content = toContent("user", input.toString());
+        GenerateContentResponse response = geminiModelRouter.execute("summary",
+            model -> geminiClientPool.acquire().models.generateContent(model, content, null));
+        return response.text();
+    }
+
+    private Content toContent(String role, String text) {
+        if ("bot".equals(role)) {
+            role = "model";
+        }
+        return Content.builder()
+            .role(role)
+            .parts(List.of(Part.fromText(text)))
+            .build();
+    }
+
+    /**
+     * 한국어/영어 혼합 텍스트 기준의 대략적인 토큰 수 (문자 3개당 1토큰)
+     */
+    static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 2) / 3;
+    }
+
+    public record ConversationContext(List<Content> contents, int estimatedTokens, int fullHistoryTokens) {}
+}
@@ -0,0 +1,13 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import java.util.Optional;
+
+/**
+ * 세션 동안 변하지 않는 시스템 프롬프트(튜터 프롬프트 + 복습 질문 목록)를 Gemini 캐시 콘텐츠로 보관합니다.
+ * 같은 모델과 프롬프트 해시에 대해서는 한 번 만든 캐시 이름을 재사용하며,
+ * 캐시할 수 없으면 Optional.empty() 를 반환하여 호출자가 systemInstruction 으로 보내도록 합니다.
+ */
+public interface GeminiContextCache {
+
+    Optional<String> resolve(String model, String systemPrompt);
+}
@@ -1,6 +1,9 @@
 package algorithm_note.algorithm_note_v2.chat.service;
 
 import algorithm_note.algorithm_note_v2.chat.entity.ChatSession;
+import algorithm_note.algorithm_note_v2.global.config.GeminiContextCacheProperties;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClientPool;
+import algorithm_note.algorithm_note_v2.global.service.GeminiModelRouter;
 import com.google.genai.Client;
 import com.google.genai.ResponseStream;
 import com.google.genai.types.Content;
@@ -11,51 +14,45 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GeminiStreamingService {
 
-    private static final String MODEL_ID = "gemini-2.5-flash";
+    private final GeminiClientPool geminiClientPool;
+    private final GeminiModelRouter geminiModelRouter;
+    private final ConversationContextService conversationContextService;
+    private final GeminiContextCache geminiContextCache;
+    private final GeminiContextCacheProperties contextCacheProperties;
 
-    public ResponseStream<GenerateContentResponse> streamResponse(
-        Client client,
+    /**
+     * 스트림을 연 모델로 라우팅된 결과를 반환합니다. 호출자는 스트림을 다 읽거나 중단한 뒤 결과를 기록해야 합니다.
+     */
+    public GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> streamResponse(
         ChatSession session,
         String systemPrompt,
         String userMessage) {
 
-        // Client 상태 진단
+        Client client = geminiClientPool.acquireStreaming();
+
         log.info("=== Gemini API Call Diagnostics ===");
         log.info("Session: {}", session.getSessionId());
-        log.info("Model: {}", MODEL_ID);
-        log.info("Client object: {}", client != null ? "NOT NULL" : "NULL");
-
-        if (client != null) {
-            // Client 객체의 내부 상태 확인
-            try {
-                log.info("Client class: {}", client.getClass().getName());
-                log.info("Client toString: {}", client.toString());
-            } catch (Exception e) {
-                log.warn("Could not inspect client: {}", e.getMessage());
-            }
-        }
+        log.info("Model chain: {}", geminiModelRouter.chain());
 
-        GenerateContentConfig config = GenerateContentConfig.builder()
-            .systemInstruction(Content.fromParts(Part.fromText(systemPrompt)))
-            .build();
+        ConversationContextService.ConversationContext context =
+            conversationContextService.buildContext(session, userMessage);
+        List<Content> conversationContents = context.contents();
 
-        List<Content> conversationContents = buildConversationHistory(session, userMessage);
-
-        log.info("Conversation history size: {} messages", conversationContents.size());
+        log.info("Conversation contents: {} messages, ~{} tokens", conversationContents.size(), context.estimatedTokens());
         log.info("System prompt length: {} characters", systemPrompt != null ? systemPrompt.length() : 0);
         log.info("Calling generateContentStream...");
 
         try {
-            ResponseStream<GenerateContentResponse> stream =
-                client.models.generateContentStream(MODEL_ID, conversationContents, config);
+            GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> stream = geminiModelRouter.executeStream("chat-stream",
+                model -> client.models.generateContentStream(model, conversationContents, configFor(model, systemPrompt)));
             log.info("✅ Stream created successfully");
             return stream;
         } catch (Exception e) {
@@ -65,29 +62,21 @@ public class GeminiStreamingService {
         }
     }
 
-    private List<Content> buildConversationHistory(ChatSession session, String userMessage) {
-        List<Content> contents = new ArrayList<>();
-
-        for (ChatSession.ChatMessage msg : session.getConversationHistory()) {
-
-            String role = msg.getRole();
-            if ("bot".equals(role)) {
-                role = "model";
-            }
-            Content content = Content.builder()
-                .role(role) // 수정된 role 변수를 사용합니다.
-                .parts(List.of(Part.fromText(msg.getContent())))
-                .build();
-            contents.add(content);
-        }
-
-        Content userContent = Content.builder()
-            .role("user")
-            .parts(List.of(Part.fromText(userMessage)))
-            .build();
-        contents.add(userContent);
-
-        return contents;
+    /**
+     * 세션 동안 변하지 않는 시스템 프롬프트는 캐시 콘텐츠로 참조하고, 캐시할 수 없으면 그대로 보냅니다.
+     * 캐시 콘텐츠는 모델별이므로 대체 모델로 넘어가면 해당 모델의 캐시를 사용합니다.
+     */
+    private GenerateContentConfig configFor(String model, String systemPrompt) {
+        Optional<String> cachedContent = contextCacheProperties.isEnabled()
+            ? geminiContextCache.resolve(model, systemPrompt)
+            : Optional.empty();
+        cachedContent.ifPresent(name -> log.info("Using cached content {} for model {}", name, model));
+
+        return cachedContent
+            .map(name -> GenerateContentConfig.builder().cachedContent(name).build())
+            .orElseGet(() -> GenerateContentConfig.builder()
+                .systemInstruction(Content.fromParts(Part.fromText(systemPrompt)))
+                .build());
     }
 
     public String extractText(GenerateContentResponse response) {
@@ -1,8 +1,10 @@
 package algorithm_note.algorithm_note_v2.chat.service;
 
+import algorithm_note.algorithm_note_v2.chat.entity.ChatSession;
 import algorithm_note.algorithm_note_v2.chat.exception.InvalidTaskTypeException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -10,11 +12,20 @@ import org.springframework.stereotype.Service;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * application.yml 의 프롬프트를 시작 시 PromptTemplate 으로 컴파일해 두고 요청마다 한 번에 렌더링합니다.
+ * 세션의 taskType, userName, taskField, reviewQuestions 는 세션 동안 바뀌지 않으므로
+ * 렌더링된 시스템 프롬프트는 ChatSessionManager 가 세션에 보관해 재사용합니다.
+ */
 @Service
 @Slf4j
 public class PromptService {
 
+    private static final Set<String> TASK_VARIABLES = Set.of("USER_NAME", "DOMAIN");
+    private static final Set<String> TUTOR_VARIABLES = Set.of("USER_NAME", "REVIEW_QUESTIONS");
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Value("${ai.prompt.concept-question-generator}")
@@ -38,6 +49,21 @@ public class PromptService {
     @Value("${ai.prompt.normal-tutor}")
     private String normalTutorPrompt;
 
+    private final Map<String, PromptTemplate> taskTemplates = new HashMap<>();
+    private final Map<String, PromptTemplate> tutorTemplates = new HashMap<>();
+
+    @PostConstruct
+    public void compileTemplates() {
+        taskTemplates.put("concept", compile("concept-question-generator", conceptPrompt, TASK_VARIABLES));
+        taskTemplates.put("memorization", compile("memorization-question-generator", memorizationPrompt, TASK_VARIABLES));
+        taskTemplates.put("approach", compile("approach-question-generator", approachPrompt, TASK_VARIABLES));
+
+        tutorTemplates.put("beginner", compile("beginner-tutor", beginnerTutorPrompt, TUTOR_VARIABLES));
+        tutorTemplates.put("advanced", compile("advanced-tutor", advancedTutorPrompt, TUTOR_VARIABLES));
+        tutorTemplates.put("professor", compile("professor-tutor", professorTutorPrompt, TUTOR_VARIABLES));
+        tutorTemplates.put("normal", compile("normal-tutor", normalTutorPrompt, TUTOR_VARIABLES));
+    }
+
     public String getPromptByTaskType(String taskType) {
         return switch (taskType.toLowerCase()) {
             case "concept" -> conceptPrompt;
@@ -50,17 +76,33 @@ public class PromptService {
         };
     }
 
+    /**
+     * 세션 모드에 맞는 시스템 프롬프트를 렌더링합니다.
+     */
+    public String formatSessionPrompt(ChatSession session) {
+        if ("test".equals(session.getSessionMode())) {
+            List<String> questionTexts = session.getReviewQuestions().stream()
+                .map(ChatSession.ReviewQuestionInfo::getQuestionText)
+                .toList();
+            return formatTestPrompt(session.getTutorLevel(), session.getUserName(), questionTexts);
+        }
+        return formatPrompt(session.getTaskType(), session.getUserName(), session.getTaskField());
+    }
+
     public String formatPrompt(String taskType, String userName, String taskField) {
-        String prompt = getPromptByTaskType(taskType);
+        PromptTemplate template = taskTemplates.get(taskType.toLowerCase());
+        if (template == null) {
+            log.error("Invalid task type: {}", taskType);
+            throw new InvalidTaskTypeException("유효하지 않은 태스크 유형입니다: " + taskType);
+        }
 
         String formattedUserName = userName != null ? userName : "사용자";
         String formattedDomain = (taskField != null && !taskField.trim().isEmpty()) ? taskField : "NULL";
 
-        Map<String, String> variables = new HashMap<>();
-        variables.put("USER_NAME", formattedUserName);
-        variables.put("DOMAIN", formattedDomain);
-
-        prompt = replaceTemplateVariables(prompt, variables);
+        String prompt = template.render(Map.of(
+            "USER_NAME", formattedUserName,
+            "DOMAIN", formattedDomain
+        ));
 
         log.debug("Formatted prompt for taskType: {}, userName: {}, taskField: {}",
                 taskType, userName, taskField);
@@ -69,16 +111,19 @@ public class PromptService {
     }
 
     public String formatTestPrompt(String tutorLevel, String userName, List<String> reviewQuestions) {
-        String prompt = getTutorPromptByLevel(tutorLevel);
+        PromptTemplate template = tutorTemplates.get(tutorLevel.toLowerCase());
+        if (template == null) {
+            log.error("Invalid tutor level: {}", tutorLevel);
+            throw new InvalidTaskTypeException("유효하지 않은 튜터 레벨입니다: " + tutorLevel);
+        }
 
         String formattedUserName = userName != null ? userName : "사용자";
         String formattedQuestions = formatQuestionsAsJson(reviewQuestions);
 
-        Map<String, String> variables = new HashMap<>();
-        variables.put("USER_NAME", formattedUserName);
-        variables.put("REVIEW_QUESTIONS", formattedQuestions);
-
-        prompt = replaceTemplateVariables(prompt, variables);
+        String prompt = template.render(Map.of(
+            "USER_NAME", formattedUserName,
+            "REVIEW_QUESTIONS", formattedQuestions
+        ));
 
         log.debug("Formatted test prompt for tutorLevel: {}, userName: {}, questionCount: {}",
                 tutorLevel, userName, reviewQuestions.size());
@@ -86,19 +131,6 @@ public class PromptService {
         return prompt;
     }
 
-    private String getTutorPromptByLevel(String tutorLevel) {
-        return switch (tutorLevel.toLowerCase()) {
-            case "beginner" -> beginnerTutorPrompt;
-            case "advanced" -> advancedTutorPrompt;
-            case "professor" -> professorTutorPrompt;
-            case "normal" -> normalTutorPrompt;
-            default -> {
-                log.error("Invalid tutor level: {}", tutorLevel);
-                throw new InvalidTaskTypeException("유효하지 않은 튜터 레벨입니다: " + tutorLevel);
-            }
-        };
-    }
-
     private String formatQuestionsAsJson(List<String> questions) {
         try {
             return objectMapper.writeValueAsString(questions);
@@ -108,25 +140,18 @@ public class PromptService {
         }
     }
 
-    private String replaceTemplateVariables(String template, Map<String, String> variables) {
-        String result = template;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            String placeholder = "{{" + entry.getKey() + "}}";
-            String value = entry.getValue();
-
-            if (result.contains(placeholder)) {
-                result = result.replace(placeholder, value);
-                log.debug("Replaced template variable: {} -> {}", placeholder, value);
-            } else {
-                log.warn("Template variable not found in prompt: {}", placeholder);
+    private PromptTemplate compile(String name, String source, Set<String> expectedVariables) {
+        PromptTemplate template = PromptTemplate.compile(name, source);
+        for (String variable : expectedVariables) {
+            if (!template.getVariables().contains(variable)) {
+                log.warn("Template variable not found in prompt {}: {}", name, "{{" + variable + "}}");
             }
         }
-
-        // Check for any remaining unreplaced variables
-        if (result.contains("{{") && result.contains("}}")) {
-            log.warn("Prompt still contains unreplaced template variables. Please check the template format.");
+        for (String variable : template.getVariables()) {
+            if (!expectedVariables.contains(variable)) {
+                log.warn("Prompt {} contains unknown template variable: {}", name, "{{" + variable + "}}");
+            }
         }
-
-        return result;
+        return template;
     }
 }
@@ -0,0 +1,81 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {{VARIABLE}} 형식의 프롬프트를 시작 시 한 번 파싱해 둔 템플릿
+ * 리터럴 조각과 변수 슬롯을 번갈아 가지며, 렌더링은 미리 크기를 잡은 StringBuilder 에 한 번에 이어 붙입니다.
+ */
+public final class PromptTemplate {
+
+    private static final Pattern SLOT_PATTERN = Pattern.compile("\\{\\{([A-Za-z0-9_]+)}}");
+
+    private final String name;
+    private final String[] literals;  // slots.length + 1 개
+    private final String[] slots;
+    private final int literalLength;
+    private final Set<String> variables;
+
+    private PromptTemplate(String name, List<String> literals, List<String> slots) {
+        this.name = name;
+        this.literals = literals.toArray(new String[0]);
+        this.slots = slots.toArray(new String[0]);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+        this.variables = Collections.unmodifiableSet(new LinkedHashSet<>(slots));
+    }
+
+    public static PromptTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        Matcher matcher = SLOT_PATTERN.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(position, matcher.start()));
+            slots.add(matcher.group(1));
+            position = matcher.end();
+        }
+        literals.add(source.substring(position));
+
+        return new PromptTemplate(name, literals, slots);
+    }
+
+    /**
+     * 값이 없는 변수는 기존 동작과 같이 {{VARIABLE}} 그대로 남깁니다.
+     */
+    public String render(Map<String, String> values) {
+        int capacity = literalLength;
+        for (String slot : slots) {
+            String value = values.get(slot);
+            capacity += value != null ? value.length() : slot.length() + 4;
+        }
+
+        StringBuilder result = new StringBuilder(capacity);
+        for (int i = 0; i < slots.length; i++) {
+            result.append(literals[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                result.append(value);
+            } else {
+                result.append("{{").append(slots[i]).append("}}");
+            }
+        }
+        result.append(literals[slots.length]);
+        return result.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getVariables() {
+        return variables;
+    }
+}
@@ -0,0 +1,168 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiContextCacheProperties;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClientPool;
+import com.google.genai.types.CachedContent;
+import com.google.genai.types.Content;
+import com.google.genai.types.CreateCachedContentConfig;
+import com.google.genai.types.Part;
+import com.google.genai.types.UpdateCachedContentConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini cachedContents API 로 캐시를 만들고, 프롬프트 해시 → 캐시 이름을 Redis 에 기록해 노드 간에 공유합니다.
+ * Redis 인덱스는 원격 캐시보다 조금 먼저 만료되어 만료된 캐시를 참조하지 않습니다.
+ * 캐시는 세션 메시지마다 조회되므로, 적중했을 때 남은 시간이 절반 아래면 원격 캐시와 인덱스의 만료를 다시 ttlSeconds 뒤로 미룹니다.
+ * 그래서 대화가 이어지는 동안에는 (메시지마다 TTL 이 갱신되는) ChatSession 처럼 캐시도 만료되지 않습니다.
+ * 생성에 실패한 프롬프트(최소 토큰 미달 등)는 같은 TTL 동안 다시 시도하지 않습니다.
+ */
+@Slf4j
+@Component
+public class RedisGeminiContextCache implements GeminiContextCache {
+
+    private static final String INDEX_KEY_PREFIX = "gemini:context-cache:";
+    private static final String UNCACHEABLE = "-";
+    private static final long EXPIRY_MARGIN_SECONDS = 60L;
+
+    private final GeminiContextCacheProperties properties;
+    private final GeminiClientPool geminiClientPool;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public RedisGeminiContextCache(GeminiContextCacheProperties properties,
+                                   GeminiClientPool geminiClientPool,
+                                   StringRedisTemplate redisTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.geminiClientPool = geminiClientPool;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Optional<String> resolve(String model, String systemPrompt) {
+        if (ConversationContextService.estimateTokens(systemPrompt) < properties.getMinTokens()) {
+            record("skipped");
+            return Optional.empty();
+        }
+
+        String key = INDEX_KEY_PREFIX + hash(model, systemPrompt);
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                record(UNCACHEABLE.equals(cached) ? "skipped" : "hit");
+                if (UNCACHEABLE.equals(cached)) {
+                    return Optional.empty();
+                }
+                refreshIfAging(key, cached);
+                return Optional.of(cached);
+            }
+
+            record("miss");
+            return Optional.ofNullable(create(key, model, systemPrompt));
+        } catch (Exception e) {
+            record("error");
+            log.warn("Context cache lookup failed, sending system prompt inline: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String create(String key, String model, String systemPrompt) {
+        long ttlSeconds = properties.getTtlSeconds();
+        Duration indexTtl = indexTtl();
+
+        String name;
+        try {
+            CachedContent cachedContent = geminiClientPool.acquire().caches.create(model,
+                CreateCachedContentConfig.builder()
+                    .systemInstruction(Content.fromParts(Part.fromText(systemPrompt)))
+                    .expireTime(Instant.now().plusSeconds(ttlSeconds))
+                    .build());
+            name = cachedContent.name().orElse(null);
+        } catch (Exception e) {
+            log.info("Gemini rejected context cache for prompt ({} chars), sending inline: {}",
+                systemPrompt.length(), e.getMessage());
+            redisTemplate.opsForValue().set(key, UNCACHEABLE, indexTtl);
+            return null;
+        }
+
+        if (name == null) {
+            return null;
+        }
+
+        // 다른 요청이 먼저 같은 프롬프트를 캐시했다면 그 캐시를 사용하고 방금 만든 것은 지웁니다
+        Boolean stored = redisTemplate.opsForValue().setIfAbsent(key, name, indexTtl);
+        if (Boolean.FALSE.equals(stored)) {
+            String winner = redisTemplate.opsForValue().get(key);
+            deleteQuietly(name);
+            return UNCACHEABLE.equals(winner) ? null : winner;
+        }
+
+        log.info("Created Gemini context cache {} for model {} (ttl {}s)", name, model, ttlSeconds);
+        return name;
+    }
+
+    /**
+     * 원격 캐시를 먼저 연장하고 성공했을 때만 인덱스를 연장하므로, 인덱스가 원격 캐시보다 오래 남지 않습니다.
+     * 연장에 실패하면 그대로 두어 인덱스 만료 후 새로 만듭니다.
+     */
+    private void refreshIfAging(String key, String name) {
+        Duration indexTtl = indexTtl();
+        Long remainingSeconds = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        if (remainingSeconds == null || remainingSeconds < 0 || remainingSeconds * 2 >= indexTtl.toSeconds()) {
+            return;
+        }
+
+        try {
+            geminiClientPool.acquire().caches.update(name, UpdateCachedContentConfig.builder()
+                .expireTime(Instant.now().plusSeconds(properties.getTtlSeconds()))
+                .build());
+        } catch (Exception e) {
+            log.info("Failed to extend Gemini context cache {}, letting it expire: {}", name, e.getMessage());
+            return;
+        }
+        redisTemplate.expire(key, indexTtl);
+        record("refreshed");
+        log.debug("Extended Gemini context cache {} by {}s", name, properties.getTtlSeconds());
+    }
+
+    private Duration indexTtl() {
+        return Duration.ofSeconds(Math.max(1L, properties.getTtlSeconds() - EXPIRY_MARGIN_SECONDS));
+    }
+
+    private void deleteQuietly(String name) {
+        try {
+            geminiClientPool.acquire().caches.delete(name, null);
+        } catch (Exception e) {
+            log.debug("Failed to delete duplicate context cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("gemini.context-cache.requests", "result", result).increment();
+    }
+
+    static String hash(String model, String systemPrompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(systemPrompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
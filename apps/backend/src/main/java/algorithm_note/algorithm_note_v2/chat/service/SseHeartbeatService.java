@@ -0,0 +1,184 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.repository.EmitterRepository;
+import algorithm_note.algorithm_note_v2.global.config.ChatHeartbeatProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SSE 연결 유지를 위한 heartbeat 전송
+ * emitter 는 userId 기준 버킷별로 보관되며(EmitterRepository), interval/buckets 간격으로 해당 버킷만 순회하여 부하를 분산합니다.
+ * 전송은 별도 스레드 풀에서 병렬로 수행되며, 최근 interval 안에 데이터를 받은 연결은 건너뜁니다.
+ * sendTimeoutMillis 안에 끝나지 않은 전송은 interrupt 하여 스레드를 돌려받습니다.
+ * 전송에 실패한 연결은 순회 단위로 모았다가 그 순회의 전송이 모두 끝나면 한 번에 제거하며,
+ * 순회 시간(chat.heartbeat.sweep)도 이때까지 잽니다.
+ * Spring 의 공용 @Scheduled 스레드를 사용하지 않으므로 다른 스케줄 작업을 막지 않습니다.
+ */
+@Slf4j
+@Service
+public class SseHeartbeatService {
+
+    private final EmitterRepository emitterRepository;
+    private final ChatEventRouter chatEventRouter;
+    private final ChatHeartbeatProperties properties;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService sendExecutor;
+    private final AtomicLong tick = new AtomicLong();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Timer sweepTimer;
+    private final Counter sentCounter;
+    private final Counter skippedCounter;
+    private final Counter evictedCounter;
+
+    public SseHeartbeatService(EmitterRepository emitterRepository,
+                               ChatEventRouter chatEventRouter,
+                               ChatHeartbeatProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.emitterRepository = emitterRepository;
+        this.chatEventRouter = chatEventRouter;
+        this.properties = properties;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-heartbeat-tick-"));
+        this.sendExecutor = Executors.newFixedThreadPool(properties.getSendThreads(),
+            new CustomizableThreadFactory("sse-heartbeat-send-"));
+        this.sweepTimer = Timer.builder("chat.heartbeat.sweep")
+            .description("Duration of one heartbeat bucket sweep, until every send in it has finished")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("chat.heartbeat.sent").register(meterRegistry);
+        this.skippedCounter = Counter.builder("chat.heartbeat.skipped")
+            .description("Heartbeats skipped because the connection recently received data")
+            .register(meterRegistry);
+        this.evictedCounter = Counter.builder("chat.heartbeat.evicted").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = Math.max(1, properties.getIntervalMillis() / Math.max(1, properties.getBuckets()));
+        ticker.scheduleAtFixedRate(this::sweepNextBucket, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    private void sweepNextBucket() {
+        try {
+            int bucket = (int) (tick.getAndIncrement() % emitterRepository.getBucketCount());
+            sweep(bucket);
+        } catch (Exception e) {
+            log.error("Heartbeat sweep failed", e);
+        }
+    }
+
+    /**
+     * 버킷 하나의 emitter 에 heartbeat 전송을 맡기고 바로 반환합니다 (전송 완료를 기다리지 않음).
+     */
+    void sweep(int bucket) {
+        Sweep sweep = new Sweep();
+        long now = System.currentTimeMillis();
+        emitterRepository.getBucket(bucket).forEach((userId, emitter) -> {
+            if (now - emitterRepository.getLastActivity(userId) < properties.getIntervalMillis()) {
+                skippedCounter.increment();
+                return;
+            }
+            // 이전 heartbeat 가 아직 끝나지 않은 연결에는 더 쌓지 않습니다
+            if (inFlight.add(userId)) {
+                send(sweep, userId, emitter);
+            }
+        });
+        sweep.sendFinished();
+    }
+
+    private void send(Sweep sweep, Long userId, SseEmitter emitter) {
+        sweep.sendStarted();
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> task;
+        try {
+            task = sendExecutor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                        .name("heartbeat")
+                        .data(""));
+                    emitterRepository.touch(userId);
+                    sentCounter.increment();
+                } catch (Exception e) {
+                    log.warn("Failed to send heartbeat to userId: {}, removing emitter", userId);
+                    sweep.dead.put(userId, emitter);
+                } finally {
+                    inFlight.remove(userId);
+                    sweep.sendFinished();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(userId);
+            sweep.sendFinished();
+            return;
+        }
+
+        ticker.schedule(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                // 전송 스레드가 모두 바빠 시작조차 못 한 경우 - 연결 문제가 아니므로 다음 순회로 넘깁니다
+                inFlight.remove(userId);
+                task.cancel(false);
+                sweep.sendFinished();
+            } else if (!task.isDone()) {
+                // 전송이 멈춘 연결 - 스레드를 interrupt 하면 전송이 실패하고 위 catch 에서 제거됩니다
+                log.warn("Heartbeat to userId: {} stalled longer than {} ms, interrupting", userId,
+                    properties.getSendTimeoutMillis());
+                task.cancel(true);
+            }
+        }, properties.getSendTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 순회 한 번의 진행 상황. 순회 자신과 맡긴 전송마다 하나씩 세고, 마지막으로 끝난 쪽이 시간을 기록하고 죽은 연결을 제거합니다.
+     */
+    private class Sweep {
+
+        private final long startedAt = System.nanoTime();
+        private final AtomicInteger unfinished = new AtomicInteger(1);
+        private final Map<Long, SseEmitter> dead = new ConcurrentHashMap<>();
+
+        private void sendStarted() {
+            unfinished.incrementAndGet();
+        }
+
+        private void sendFinished() {
+            if (unfinished.decrementAndGet() > 0) {
+                return;
+            }
+            sweepTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (!dead.isEmpty()) {
+                try {
+                    evictedCounter.increment(chatEventRouter.evict(dead));
+                } catch (Exception e) {
+                    log.error("Failed to evict {} dead emitter(s)", dead.size(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "chat.context")
+@Getter
+@Setter
+public class ChatContextProperties {
+
+    private int tokenBudget = 6000;
+
+    private int recentMessages = 12;
+}
@@ -0,0 +1,21 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "chat.heartbeat")
+@Getter
+@Setter
+public class ChatHeartbeatProperties {
+
+    private long intervalMillis = 15000;
+
+    private int buckets = 15;
+
+    private int sendThreads = 8;
+
+    private long sendTimeoutMillis = 5000;
+}
@@ -0,0 +1,47 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Gemini 스트리밍 전용 스레드 풀 설정
+ * ForkJoin 공용 풀 대신 크기가 제한된 전용 풀에서 ResponseStream 을 소비하고,
+ * 큐까지 가득 차면 AbortPolicy 로 즉시 거절합니다.
+ * 대화 요약은 요청 경로 밖의 별도 소형 풀에서 수행합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ChatStreamExecutorConfig {
+
+    private final ChatStreamProperties chatStreamProperties;
+
+    @Bean(name = "chatStreamTaskExecutor")
+    public ThreadPoolTaskExecutor chatStreamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("chat-stream-");
+        executor.setCorePoolSize(chatStreamProperties.getCorePoolSize());
+        executor.setMaxPoolSize(chatStreamProperties.getMaxPoolSize());
+        executor.setQueueCapacity(chatStreamProperties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "chatSummaryTaskExecutor")
+    public ThreadPoolTaskExecutor chatSummaryTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("chat-summary-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "chat.stream")
+@Getter
+@Setter
+public class ChatStreamProperties {
+
+    private int corePoolSize = 16;
+
+    private int maxPoolSize = 64;
+
+    private int queueCapacity = 200;
+
+    private long flushIntervalMillis = 30;
+
+    private int maxFrameChars = 1024;
+
+    private int maxBufferedChars = 64 * 1024;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+
+    private int replayMaxEvents = 512;
+
+    private long replayTtlSeconds = 300;
+
+    private long cancelGraceMillis = 10000;
+
+    public enum OverflowPolicy {
+        DISCONNECT,  // 느린 클라이언트 연결 종료
+        DROP         // 전송 대기 중인 프레임 폐기
+    }
+}
@@ -0,0 +1,33 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 블로킹 Gemini SDK 호출을 요청 스레드 밖에서 수행하는 전용 풀
+ * 재시도와 헤징 시도도 이 풀에서 실행되며, 가득 차면 즉시 거절합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class GeminiClientExecutorConfig {
+
+    private final GeminiClientProperties geminiClientProperties;
+
+    @Bean(name = "geminiClientTaskExecutor")
+    public ThreadPoolTaskExecutor geminiClientTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("gemini-call-");
+        executor.setCorePoolSize(geminiClientProperties.getExecutorPoolSize());
+        executor.setMaxPoolSize(geminiClientProperties.getExecutorPoolSize());
+        executor.setQueueCapacity(geminiClientProperties.getExecutorQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "gemini.client")
+@Getter
+@Setter
+public class GeminiClientProperties {
+
+    private int poolSize = 2;
+
+    private int timeoutMillis = 120000;
+
+    private int streamTimeoutMillis = 300000;  // 스트리밍 응답 전체를 읽는 동안의 HTTP timeout
+
+    private String baseUrl;  // 로컬 스텁 서버 등으로 교체할 때만 지정
+
+    private int executorPoolSize = 16;
+
+    private int executorQueueCapacity = 100;
+
+    private long deadlineMillis = 60000;  // 재시도/헤징을 포함한 호출 전체 제한 시간
+
+    private long attemptTimeoutMillis = 30000;
+
+    private int maxRetries = 2;
+
+    private long initialBackoffMillis = 500;
+
+    private long maxBackoffMillis = 4000;
+
+    private boolean hedgeEnabled = false;
+
+    private long hedgeDelayMillis = 5000;  // p95 를 계산할 표본이 부족할 때 사용하는 헤징 지연
+
+    private int hedgeMinSamples = 20;
+
+    private int batchParallelism = 8;  // 배치 생성 시 사용자 한 명이 동시에 보낼 수 있는 최대 호출 수
+}
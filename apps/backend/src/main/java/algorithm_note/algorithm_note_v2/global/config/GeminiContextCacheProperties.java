@@ -0,0 +1,19 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "gemini.context-cache")
+@Getter
+@Setter
+public class GeminiContextCacheProperties {
+
+    private boolean enabled = true;
+
+    private int minTokens = 1024;  // Gemini 명시적 캐시의 최소 토큰 수보다 작은 프롬프트는 캐시하지 않음
+
+    private long ttlSeconds = 3600;  // ChatSession TTL 과 동일
+}
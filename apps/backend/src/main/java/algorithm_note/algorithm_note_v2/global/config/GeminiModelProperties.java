@@ -0,0 +1,38 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gemini.models")
+@Getter
+@Setter
+public class GeminiModelProperties {
+
+    // 앞에서부터 시도하며, 회로가 열렸거나 실패한 모델은 다음 모델로 넘어갑니다
+    private List<String> chain = new ArrayList<>(List.of("gemini-2.5-flash", "gemini-2.0-flash"));
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        private int windowSize = 20;  // 최근 호출 수 기준 슬라이딩 윈도우
+
+        private int minimumCalls = 10;
+
+        private double failureRateThreshold = 0.5;
+
+        private long slowCallThresholdMillis = 20000;  // 이보다 느린 호출은 실패로 집계
+
+        private long openDurationMillis = 30000;
+
+        private int halfOpenProbes = 1;
+    }
+}
@@ -0,0 +1,23 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "gemini.rate-limit")
+@Getter
+@Setter
+public class GeminiRateLimitProperties {
+
+    private int userCapacity = 5;  // 사용자별 버킷 크기 (연속 요청 허용량)
+
+    private int userRefillPerMinute = 20;
+
+    private int batchItemCapacity = 100;  // 사용자별 배치 항목 버킷 크기 (대화형 요청 버킷과 따로 셉니다)
+
+    private int batchItemRefillPerMinute = 100;
+
+    private int maxConcurrentCalls = 32;  // 노드 전체 동시 Gemini 호출 수
+}
@@ -0,0 +1,21 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "gemini.response-cache")
+@Getter
+@Setter
+public class GeminiResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private int localMaxEntries = 500;
+
+    private long localTtlSeconds = 600;
+
+    private long redisTtlSeconds = 86400;
+}
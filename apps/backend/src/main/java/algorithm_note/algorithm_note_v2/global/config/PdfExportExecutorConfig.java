@@ -0,0 +1,33 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * PDF 내보내기 작업을 요청 스레드 밖에서 렌더링하는 전용 풀
+ * 렌더링은 CPU 와 메모리를 많이 쓰므로 작게 유지하고, 대기열이 가득 차면 즉시 거절합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PdfExportExecutorConfig {
+
+    private final PdfExportProperties pdfExportProperties;
+
+    @Bean(name = "pdfExportTaskExecutor")
+    public ThreadPoolTaskExecutor pdfExportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("pdf-export-");
+        executor.setCorePoolSize(pdfExportProperties.getWorkerPoolSize());
+        executor.setMaxPoolSize(pdfExportProperties.getWorkerPoolSize());
+        executor.setQueueCapacity(pdfExportProperties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "pdf.export")
+@Getter
+@Setter
+public class PdfExportProperties {
+
+    private int workerPoolSize = 2;
+
+    private int queueCapacity = 20;
+
+    // 비어 있으면 java.io.tmpdir/pdf-exports 를 사용합니다
+    private String storageDir = "";
+
+    private long jobRetentionSeconds = 3600;
+
+    private long artifactRetentionSeconds = 86400;
+}
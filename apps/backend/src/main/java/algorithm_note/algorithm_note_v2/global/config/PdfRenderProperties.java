@@ -0,0 +1,19 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "pdf.render")
+@Getter
+@Setter
+public class PdfRenderProperties {
+
+    private int poolSize = 4;
+
+    private long acquireTimeoutMillis = 10000;
+
+    private String fontResource = "fonts/NanumGothic.ttf";
+}
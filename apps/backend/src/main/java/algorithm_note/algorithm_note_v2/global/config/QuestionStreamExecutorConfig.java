@@ -0,0 +1,33 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 질문지 스트리밍 생성 전용 풀
+ * 스트림 하나가 끝날 때까지 스레드를 점유하므로 짧은 Gemini 호출 풀(geminiClientTaskExecutor)과 분리하고, 가득 차면 즉시 거절합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class QuestionStreamExecutorConfig {
+
+    private final QuestionStreamProperties questionStreamProperties;
+
+    @Bean(name = "questionStreamTaskExecutor")
+    public ThreadPoolTaskExecutor questionStreamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("question-stream-");
+        executor.setCorePoolSize(questionStreamProperties.getPoolSize());
+        executor.setMaxPoolSize(questionStreamProperties.getPoolSize());
+        executor.setQueueCapacity(questionStreamProperties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "question.stream")
+@Getter
+@Setter
+public class QuestionStreamProperties {
+
+    private int poolSize = 8;
+
+    private int queueCapacity = 16;
+
+    private long timeoutMillis = 120000;  // 스트림 전체 제한 시간, 넘으면 업스트림을 닫고 오류로 끝냅니다
+}
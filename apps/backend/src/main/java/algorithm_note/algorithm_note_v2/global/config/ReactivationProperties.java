@@ -0,0 +1,22 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "revalidation")
+@Getter
+@Setter
+public class ReactivationProperties {
+
+    private String schedule;
+
+    private int batchSize = 500;
+
+    // 실행 중 배치마다 갱신되므로 한 배치보다 충분히 길면 됩니다
+    private long lockTtlMillis = 60000;
+
+    private int historySize = 50;
+}
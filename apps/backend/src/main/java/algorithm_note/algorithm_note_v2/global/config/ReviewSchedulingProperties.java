@@ -0,0 +1,33 @@
+package algorithm_note.algorithm_note_v2.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "review.scheduling")
+@Getter
+@Setter
+public class ReviewSchedulingProperties {
+
+    // 기존 카드의 복습 주기가 바뀌지 않도록 기본값은 fixed 이며, sm2/fsrs 는 명시적으로 켜야 합니다
+    private Engine engine = Engine.FIXED;
+
+    private double desiredRetention = 0.9;  // FSRS 목표 기억률
+
+    private int maximumIntervalDays = 365;
+
+    // 이 시간 안의 답변은 같은 복습 세션으로 보고 한 번의 복습으로 합칩니다
+    private long sessionWindowHours = 12;
+
+    private boolean recomputeOnStartup = false;
+
+    private int recomputeBatchSize = 200;
+
+    public enum Engine {
+        FIXED,  // 사용자가 정한 reviewCycle 일 고정 (기존 동작)
+        SM2,    // SuperMemo-2 ease factor
+        FSRS    // FSRS-4.5 stability / difficulty
+    }
+}
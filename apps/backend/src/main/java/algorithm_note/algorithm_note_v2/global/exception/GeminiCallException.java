@@ -0,0 +1,22 @@
+package algorithm_note.algorithm_note_v2.global.exception;
+
+import lombok.Getter;
+
+@Getter
+public class GeminiCallException extends RuntimeException {
+
+    private final boolean timeout;
+
+    public GeminiCallException(String message) {
+        this(message, false, null);
+    }
+
+    public GeminiCallException(String message, Throwable cause) {
+        this(message, false, cause);
+    }
+
+    public GeminiCallException(String message, boolean timeout, Throwable cause) {
+        super(message, cause);
+        this.timeout = timeout;
+    }
+}
@@ -5,12 +5,15 @@ import algorithm_note.algorithm_note_v2.category.exception.DuplicateCategoryExce
 import algorithm_note.algorithm_note_v2.chat.exception.InvalidTaskTypeException;
 import algorithm_note.algorithm_note_v2.chat.exception.SessionNotFoundException;
 import algorithm_note.algorithm_note_v2.global.dto.ClerkWebhookResponseDto;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfExportJobNotFoundException;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfExportRejectedException;
 import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfGenerationException;
 import algorithm_note.algorithm_note_v2.reviewcard.exception.ReviewCardNotFoundException;
 import algorithm_note.algorithm_note_v2.user.dto.UserResponseDto;
 import algorithm_note.algorithm_note_v2.user.exception.UserNotFoundException;
 import com.svix.exceptions.WebhookVerificationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -78,6 +81,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(PdfExportJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handlePdfExportJobNotFoundException(PdfExportJobNotFoundException ex) {
+        log.warn("PDF export job not found: {}", ex.getMessage());
+        Map<String, Object> errorResponse = Map.of(
+                "error", "PDF export job not found",
+                "message", ex.getMessage(),
+                "status", HttpStatus.NOT_FOUND.value()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(PdfExportRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handlePdfExportRejectedException(PdfExportRejectedException ex) {
+        log.warn("PDF export rejected: {}", ex.getMessage());
+        Map<String, Object> errorResponse = Map.of(
+                "error", "PDF export unavailable",
+                "message", ex.getMessage(),
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(CategoryNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleCategoryNotFoundException(CategoryNotFoundException ex) {
         log.warn("Category not found: {}", ex.getMessage());
@@ -132,4 +157,29 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceededException(RateLimitExceededException ex) {
+        log.warn("Rate limit exceeded: {}", ex.getMessage());
+        Map<String, Object> errorResponse = Map.of(
+                "error", "Too many requests",
+                "message", ex.getMessage(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(GeminiCallException.class)
+    public ResponseEntity<Map<String, Object>> handleGeminiCallException(GeminiCallException ex) {
+        HttpStatus status = ex.isTimeout() ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+        log.error("Gemini call failed: {}", ex.getMessage());
+        Map<String, Object> errorResponse = Map.of(
+                "error", "AI service unavailable",
+                "message", "죄송합니다. 응답을 생성하는 중 오류가 발생했습니다.",
+                "status", status.value()
+        );
+        return ResponseEntity.status(status).body(errorResponse);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package algorithm_note.algorithm_note_v2.global.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        this("Too many AI requests. Please try again later.", retryAfterSeconds);
+    }
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public RateLimitExceededException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
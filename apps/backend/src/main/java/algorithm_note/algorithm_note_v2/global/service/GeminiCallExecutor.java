@@ -0,0 +1,277 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
+import algorithm_note.algorithm_note_v2.global.exception.GeminiCallException;
+import algorithm_note.algorithm_note_v2.global.exception.RateLimitExceededException;
+import com.google.genai.errors.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 블로킹 Gemini 호출을 전용 풀에서 비동기로 실행합니다.
+ * 호출 전체 deadline, 시도별 timeout, 일시적 오류(429, 5xx, I/O, timeout)에 대한 지수 백오프 재시도,
+ * 그리고 선택적으로 p95 지연을 넘긴 시도에 대한 헤징(같은 요청을 한 번 더 보내 먼저 성공한 응답 사용)을 적용합니다.
+ * 시도 timeout, deadline 초과, 헤징에서 진 시도는 실행 중인 작업을 interrupt 하고,
+ * interrupt 로 풀리지 않는 소켓 읽기는 SDK HTTP timeout(시도 timeout 이하, GeminiClientPool)이 끊습니다.
+ */
+@Component
+@Slf4j
+public class GeminiCallExecutor {
+
+    private final GeminiClientProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("gemini-call-timer-"));
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Counter retryCounter;
+    private final Counter hedgeCounter;
+
+    public GeminiCallExecutor(GeminiClientProperties properties,
+                              @Qualifier("geminiClientTaskExecutor") ThreadPoolTaskExecutor executor,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.retryCounter = Counter.builder("gemini.client.retries")
+            .description("Gemini call attempts retried after a transient failure")
+            .register(meterRegistry);
+        this.hedgeCounter = Counter.builder("gemini.client.hedges")
+            .description("Hedged Gemini attempts started after the latency threshold")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 실패 시 GeminiCallException 으로 완료되는 future 를 반환합니다 (deadline 초과는 timeout=true).
+     * 호출 풀과 큐가 가득 차 시도를 시작하지 못하면 재시도하지 않고 RateLimitExceededException(429)으로 완료됩니다.
+     */
+    public <T> CompletableFuture<T> call(String operation, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadlineAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getDeadlineMillis());
+
+        ScheduledFuture<?> deadline = scheduler.schedule(() -> {
+            if (result.completeExceptionally(new GeminiCallException(
+                    "Gemini " + operation + " exceeded deadline of " + properties.getDeadlineMillis() + "ms", true, null))) {
+                recordFailure(operation, "deadline");
+            }
+        }, properties.getDeadlineMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> deadline.cancel(false));
+
+        attempt(operation, call, 0, deadlineAt, result);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private <T> void attempt(String operation, Supplier<T> call, int attemptNo, long deadlineAt,
+                             CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        CompletableFuture<T> current = hedged(operation, call);
+        // deadline 으로 호출이 끝나면 아직 실행 중인 시도를 취소합니다
+        result.whenComplete((value, error) -> current.cancel(true));
+        current.whenComplete((value, error) -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (cause instanceof RateLimitExceededException) {
+                recordFailure(operation, "saturated");
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineAt - System.nanoTime());
+            long backoff = backoffMillis(attemptNo);
+            if (attemptNo < properties.getMaxRetries() && isTransient(cause) && backoff < remainingMillis) {
+                retryCounter.increment();
+                log.info("Retrying Gemini {} in {} ms after transient failure (attempt {}): {}",
+                    operation, backoff, attemptNo + 1, cause.getMessage());
+                scheduler.schedule(() -> attempt(operation, call, attemptNo + 1, deadlineAt, result),
+                    backoff, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            recordFailure(operation, isTimeout(cause) ? "timeout" : "upstream");
+            result.completeExceptionally(cause instanceof GeminiCallException
+                ? cause
+                : new GeminiCallException("Gemini " + operation + " failed: " + cause.getMessage(), isTimeout(cause), cause));
+        });
+    }
+
+    /**
+     * 한 번의 시도. 헤징이 켜져 있으면 지연 임계값 이후 같은 요청을 하나 더 보내고 먼저 성공한 결과를 사용합니다.
+     */
+    private <T> CompletableFuture<T> hedged(String operation, Supplier<T> call) {
+        CompletableFuture<T> attemptResult = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        List<CompletableFuture<T>> running = new CopyOnWriteArrayList<>();
+        // 먼저 성공한 시도가 있거나 시도 전체가 취소되면 나머지 시도를 중단합니다
+        attemptResult.whenComplete((value, error) -> running.forEach(future -> future.cancel(true)));
+
+        BiConsumer<T, Throwable> onComplete = (value, error) -> {
+            if (error == null) {
+                attemptResult.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                attemptResult.completeExceptionally(error);
+            }
+        };
+
+        CompletableFuture<T> first = runAttempt(operation, call);
+        running.add(first);
+        first.whenComplete(onComplete);
+
+        if (properties.isHedgeEnabled()) {
+            ScheduledFuture<?> hedge = scheduler.schedule(() -> {
+                if (attemptResult.isDone()) {
+                    return;
+                }
+                pending.incrementAndGet();
+                hedgeCounter.increment();
+                log.debug("Hedging slow Gemini {} attempt", operation);
+                CompletableFuture<T> hedgeAttempt = runAttempt(operation, call);
+                running.add(hedgeAttempt);
+                if (attemptResult.isDone()) {
+                    hedgeAttempt.cancel(true);
+                }
+                hedgeAttempt.whenComplete(onComplete);
+            }, hedgeDelayMillis(operation), TimeUnit.MILLISECONDS);
+            attemptResult.whenComplete((value, error) -> hedge.cancel(false));
+        }
+
+        return attemptResult;
+    }
+
+    /**
+     * 시도 하나를 풀에서 실행합니다. 반환된 future 가 timeout 또는 cancel 로 먼저 끝나면 작업을 interrupt 합니다.
+     */
+    private <T> CompletableFuture<T> runAttempt(String operation, Supplier<T> call) {
+        Timer timer = latencyTimer(operation);
+        CompletableFuture<T> attempt = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    attempt.complete(timer.record(call));
+                } catch (Throwable e) {
+                    attempt.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 풀과 큐가 가득 찬 경우 - 업스트림 오류가 아니라 이 노드의 과부하입니다
+            log.warn("Gemini {} rejected: call pool is saturated (active: {}, queued: {})", operation,
+                executor.getActiveCount(), executor.getThreadPoolExecutor().getQueue().size());
+            return CompletableFuture.failedFuture(new RateLimitExceededException(
+                "Too many AI requests in progress. Please try again shortly.", 1, e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        attempt.orTimeout(properties.getAttemptTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((value, error) -> {
+                if (error instanceof TimeoutException || attempt.isCancelled()) {
+                    task.cancel(true);
+                }
+            });
+        return attempt;
+    }
+
+    private long hedgeDelayMillis(String operation) {
+        Timer timer = latencyTimer(operation);
+        if (timer.count() >= properties.getHedgeMinSamples()) {
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == 0.95) {
+                    return Math.max(1L, (long) percentile.value(TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+        return properties.getHedgeDelayMillis();
+    }
+
+    private long backoffMillis(int attemptNo) {
+        long base = Math.min(properties.getMaxBackoffMillis(), properties.getInitialBackoffMillis() << Math.min(attemptNo, 20));
+        // full jitter 의 절반: [base/2, base]
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+
+    private Timer latencyTimer(String operation) {
+        return latencyTimers.computeIfAbsent(operation, op -> Timer.builder("gemini.client.latency")
+            .description("Latency of individual Gemini call attempts")
+            .tag("operation", op)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry));
+    }
+
+    private void recordFailure(String operation, String reason) {
+        meterRegistry.counter("gemini.client.failures", "operation", operation, "reason", reason).increment();
+    }
+
+    static boolean isTransient(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ApiException apiException) {
+                int code = apiException.code();
+                return code == 429 || code >= 500;
+            }
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable t = error;
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+}
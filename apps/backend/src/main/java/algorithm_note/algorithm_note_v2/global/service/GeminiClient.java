@@ -2,7 +2,7 @@ package algorithm_note.algorithm_note_v2.global.service;
 
 import algorithm_note.algorithm_note_v2.reviewQuestion.dto.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.genai.Client;
+import com.google.genai.ResponseStream;
 import com.google.genai.types.Content;
 import com.google.genai.types.GenerateContentResponse;
 import com.google.genai.types.Part;
@@ -10,61 +10,173 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Component
 @Slf4j
 public class GeminiClient {
 
-  private final String apiKey;
   private final String answerGenerPrompt;
+  private final String promptVersion;
   private final ObjectMapper objectMapper;
-  private final Client client;
+  private final GeminiClientPool geminiClientPool;
+  private final GeminiResponseCache responseCache;
+  private final GeminiCallExecutor callExecutor;
+  private final GeminiModelRouter modelRouter;
 
   public GeminiClient(ObjectMapper objectMapper,
-                      @Value("${ai.api.key}") String apiKey,
+                      GeminiClientPool geminiClientPool,
+                      GeminiResponseCache responseCache,
+                      GeminiCallExecutor callExecutor,
+                      GeminiModelRouter modelRouter,
                       @Value("${ai.prompt.memorization-question-generator}") String answerGenerPrompt1) {
     this.objectMapper = objectMapper;
-    this.apiKey = apiKey;
-    client = Client.builder().apiKey(apiKey).build();
+    this.geminiClientPool = geminiClientPool;
+    this.responseCache = responseCache;
+    this.callExecutor = callExecutor;
+    this.modelRouter = modelRouter;
     this.answerGenerPrompt = answerGenerPrompt1;
+    // 프롬프트가 바뀌면 캐시 키도 바뀌도록 프롬프트 해시를 버전으로 사용
+    this.promptVersion = GeminiResponseCache.sha256(answerGenerPrompt1).substring(0, 12);
   }
 
-  public GeminiResponseDto sendMessage(String userMessage) {
+  /**
+   * 요청 스레드를 점유하지 않고 질문지를 생성합니다. useCache 가 false 이면 응답 캐시를 건너뛰고 항상 새로 생성합니다.
+   * deadline, 재시도, 헤징은 GeminiCallExecutor 설정을 따르며 실패하면 GeminiCallException 으로 완료됩니다.
+   */
+  public CompletableFuture<GeminiResponseDto> sendMessageAsync(String userMessage, boolean useCache) {
     log.info("userMessage: {}", userMessage);
     String finalMessage =  String.format(answerGenerPrompt, userMessage);
 
     log.info("최종 응답 형식: {}", finalMessage);
 
-    try {
-      Content userContent = Content.builder()
-          .role("user")
-          .parts(List.of(Part.builder().text(finalMessage).build()))
-          .build();
-
-      GenerateContentResponse response = client.models.generateContent(
-          "gemini-2.5-flash",
-          userContent,
-          null
-      );
-
-      String aiResponse = response.text();
-      aiResponse = removeMarkdownCodeBlocks(aiResponse);
-
-      log.info("질문지 생성 결과: {}", aiResponse);
-
-      // JSON 문자열을 QuestionResponseDto 객체로 파싱
-      try {
-        QuestionResponseDto questionResponse = objectMapper.readValue(aiResponse, QuestionResponseDto.class);
-        return GeminiResponseDto.of(questionResponse);
-      } catch (Exception jsonException) {
-        log.error("JSON 파싱 실패, 원본 문자열 반환: {}", jsonException.getMessage());
-        return GeminiResponseDto.of(aiResponse);
+    CompletableFuture<String> aiResponse;
+    if (useCache) {
+      // 키는 체인의 첫 모델 기준이므로 대체 모델이 답한 응답은 캐시하지 않습니다
+      String primaryModel = modelRouter.primaryModel();
+      String key = GeminiResponseCache.key(primaryModel, promptVersion, userMessage);
+      AtomicReference<String> answeredBy = new AtomicReference<>();
+      aiResponse = responseCache.getAsync(key,
+          () -> generateAsync(finalMessage).thenApply(answer -> {
+            answeredBy.set(answer.model());
+            return answer.text();
+          }),
+          text -> primaryModel.equals(answeredBy.get()) && isQuestionJson(text));
+    } else {
+      responseCache.recordBypass();
+      aiResponse = generateAsync(finalMessage).thenApply(ModelAnswer::text);
+    }
+
+    return aiResponse.thenApply(this::toResponseDto);
+  }
+
+  /**
+   * 캐시에 이미 있는 질문지만 돌려줍니다. 배치는 이것으로 캐시 적중 항목에 요청 한도를 쓰지 않습니다.
+   */
+  public Optional<GeminiResponseDto> cachedResponse(String userMessage) {
+    String key = GeminiResponseCache.key(modelRouter.primaryModel(), promptVersion, userMessage);
+    return responseCache.peek(key).map(this::toResponseDto);
+  }
+
+  /**
+   * 질문지를 스트리밍으로 생성하며, title 과 질문이 JSON 에서 완성되는 즉시 listener 로 전달합니다.
+   * 호출 스레드에서 스트림이 끝날 때까지 실행되며, onStream 으로 받은 스트림을 닫으면 생성을 중단합니다.
+   * 질문을 하나도 읽지 못했거나 JSON 이 끝나지 않고 잘린 경우에만 원본 응답 문자열을 반환합니다.
+   */
+  public Optional<String> streamQuestions(String userMessage,
+                                           StreamingQuestionParser.Listener listener,
+                                           Consumer<AutoCloseable> onStream) throws IOException {
+    String finalMessage = String.format(answerGenerPrompt, userMessage);
+    Content userContent = Content.builder()
+        .role("user")
+        .parts(List.of(Part.builder().text(finalMessage).build()))
+        .build();
+
+    GeminiModelRouter.Routed<ResponseStream<GenerateContentResponse>> routed = modelRouter.executeStream(
+        "question-stream", model -> geminiClientPool.acquireStreaming().models.generateContentStream(model, userContent, null));
+    ResponseStream<GenerateContentResponse> stream = routed.result();
+    AtomicBoolean closedByCaller = new AtomicBoolean();
+    onStream.accept(() -> {
+      closedByCaller.set(true);
+      stream.close();
+    });
+
+    StringBuilder fullResponse = new StringBuilder();
+    try (stream; StreamingQuestionParser parser = new StreamingQuestionParser(objectMapper, listener)) {
+      for (GenerateContentResponse response : stream) {
+        String chunk = response.text();
+        if (chunk != null) {
+          fullResponse.append(chunk);
+          parser.feed(chunk);
+        }
+      }
+      routed.succeeded();
+
+      log.info("질문지 스트리밍 생성 완료: {} questions ({} skipped)", parser.getQuestionCount(), parser.getSkippedCount());
+      // JSON 이 중간에 깨졌더라도 이미 전달된 질문은 그대로 사용합니다
+      if ((parser.isFinished() || parser.isMalformed()) && parser.getQuestionCount() > 0) {
+        return Optional.empty();
       }
+    } catch (IOException | RuntimeException e) {
+      // 호출자가 스트림을 닫았거나 클라이언트로 보내지 못한 경우는 모델의 실패로 세지 않습니다
+      if (closedByCaller.get() || e instanceof UncheckedIOException) {
+        routed.cancelled();
+      } else {
+        routed.failed(e);
+      }
+      throw e;
+    }
+
+    return Optional.of(removeMarkdownCodeBlocks(fullResponse.toString()));
+  }
+
+  private GeminiResponseDto toResponseDto(String aiResponse) {
+    log.info("질문지 생성 결과: {}", aiResponse);
+
+    // JSON 문자열을 QuestionResponseDto 객체로 파싱
+    try {
+      QuestionResponseDto questionResponse = objectMapper.readValue(aiResponse, QuestionResponseDto.class);
+      return GeminiResponseDto.of(questionResponse);
+    } catch (Exception jsonException) {
+      log.error("JSON 파싱 실패, 원본 문자열 반환: {}", jsonException.getMessage());
+      return GeminiResponseDto.of(aiResponse);
+    }
+  }
+
+  private CompletableFuture<ModelAnswer> generateAsync(String finalMessage) {
+    return callExecutor.call("question-generation",
+        () -> modelRouter.execute("question-generation", model -> generate(model, finalMessage)));
+  }
+
+  private ModelAnswer generate(String model, String finalMessage) {
+    Content userContent = Content.builder()
+        .role("user")
+        .parts(List.of(Part.builder().text(finalMessage).build()))
+        .build();
 
+    GenerateContentResponse response = geminiClientPool.acquire().models.generateContent(
+        model,
+        userContent,
+        null
+    );
+
+    return new ModelAnswer(model, removeMarkdownCodeBlocks(response.text()));
+  }
+
+  // 파싱 가능한 질문지 응답만 캐시합니다
+  private boolean isQuestionJson(String aiResponse) {
+    try {
+      objectMapper.readValue(aiResponse, QuestionResponseDto.class);
+      return true;
     } catch (Exception e) {
-      log.error("메시지 처리 중 오류 발생: {}" , e.getMessage(), e);
-      return GeminiResponseDto.of("죄송합니다. 응답을 생성하는 중 오류가 발생했습니다.");
+      return false;
     }
   }
 
@@ -76,4 +188,6 @@ public class GeminiClient {
                .replaceAll("\\n?```$", "")
                .trim();
   }
-}
\ No newline at end of file
+
+  private record ModelAnswer(String model, String text) {}
+}
@@ -0,0 +1,106 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
+import com.google.genai.Client;
+import com.google.genai.types.HttpOptions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 애플리케이션 전체에서 공유하는 Gemini Client 풀
+ * Client 는 thread-safe 하며 내부 HTTP 커넥션 풀을 가지므로 세션마다 새로 만들지 않고
+ * 소수의 Client 를 라운드로빈으로 재사용합니다. 각 슬롯은 첫 사용 시점에 생성됩니다.
+ *
+ * 단건 호출용 Client 의 HTTP timeout 은 시도 timeout 이하로 두어 멈춘 소켓 읽기에서 스레드를 돌려받고,
+ * 응답 전체를 읽는 데 오래 걸리는 스트리밍은 streamTimeoutMillis 를 쓰는 별도 Client(acquireStreaming)를 사용합니다.
+ */
+@Component
+@Slf4j
+public class GeminiClientPool {
+
+    private final GeminiClientProperties properties;
+    private final AtomicReferenceArray<Client> clients;
+    private final AtomicReferenceArray<Client> streamingClients;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger liveClients = new AtomicInteger();
+
+    public GeminiClientPool(GeminiClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clients = new AtomicReferenceArray<>(Math.max(1, properties.getPoolSize()));
+        this.streamingClients = new AtomicReferenceArray<>(Math.max(1, properties.getPoolSize()));
+
+        Gauge.builder("gemini.client.live", liveClients, AtomicInteger::get)
+            .description("Number of live shared Gemini clients")
+            .register(meterRegistry);
+    }
+
+    public Client acquire() {
+        return acquire(clients, false);
+    }
+
+    /**
+     * generateContentStream 용 Client. 스트림을 끝까지 읽는 동안 단건 호출의 짧은 HTTP timeout 에 끊기지 않습니다.
+     */
+    public Client acquireStreaming() {
+        return acquire(streamingClients, true);
+    }
+
+    private Client acquire(AtomicReferenceArray<Client> slots, boolean streaming) {
+        int slot = Math.floorMod(cursor.getAndIncrement(), slots.length());
+        Client client = slots.get(slot);
+        if (client != null) {
+            return client;
+        }
+
+        synchronized (this) {
+            client = slots.get(slot);
+            if (client == null) {
+                client = createClient(httpOptions(streaming));
+                slots.set(slot, client);
+                liveClients.incrementAndGet();
+                log.info("Created shared Gemini {} Client for slot {} ({} live)",
+                    streaming ? "streaming" : "unary", slot, liveClients.get());
+            }
+            return client;
+        }
+    }
+
+    public int getLiveClientCount() {
+        return liveClients.get();
+    }
+
+    HttpOptions httpOptions(boolean streaming) {
+        // 소켓 읽기에 막힌 SDK 호출은 interrupt 로 풀리지 않으므로, 시도 timeout 이 지나면 HTTP timeout 으로 스레드를 돌려받습니다
+        int timeoutMillis = streaming
+            ? properties.getStreamTimeoutMillis()
+            : (int) Math.min(properties.getTimeoutMillis(), properties.getAttemptTimeoutMillis());
+        HttpOptions.Builder httpOptions = HttpOptions.builder().timeout(timeoutMillis);
+        if (properties.getBaseUrl() != null && !properties.getBaseUrl().isBlank()) {
+            httpOptions.baseUrl(properties.getBaseUrl());
+        }
+        return httpOptions.build();
+    }
+
+    private Client createClient(HttpOptions httpOptions) {
+        // API 키를 환경변수에서 읽어서 명시적으로 전달
+        String apiKey = System.getenv("GOOGLE_API_KEY");
+        if (apiKey == null || apiKey.isEmpty()) {
+            log.error("❌ Failed to create Gemini Client - GOOGLE_API_KEY environment variable is not set");
+            throw new IllegalStateException("GOOGLE_API_KEY environment variable is not set");
+        }
+        if (apiKey.length() < 20 || !apiKey.startsWith("AIza")) {
+            log.warn("⚠️  GOOGLE_API_KEY looks unusual (length: {}, preview: {}****)",
+                apiKey.length(), apiKey.length() > 4 ? apiKey.substring(0, 4) : "TOO_SHORT");
+        }
+
+        return Client.builder()
+            .apiKey(apiKey)
+            .httpOptions(httpOptions)
+            .build();
+    }
+}
@@ -0,0 +1,234 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiModelProperties;
+import algorithm_note.algorithm_note_v2.global.exception.GeminiCallException;
+import com.google.genai.errors.ApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 설정된 모델 체인(gemini.models.chain)을 따라 Gemini 호출을 라우팅합니다.
+ * 모델마다 회로 차단기를 두어 회로가 열린 모델은 기다리지 않고 건너뛰고, 실패하면 다음 모델로 넘어갑니다.
+ * 모든 모델의 회로가 열려 있으면 즉시 GeminiCallException 을 던집니다.
+ * 스트리밍 호출은 executeStream 으로 라우팅하고 스트림이 끝났을 때 결과를 기록합니다.
+ */
+@Component
+@Slf4j
+public class GeminiModelRouter {
+
+    private final GeminiModelProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ModelCircuitBreaker> breakers = new LinkedHashMap<>();
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+
+    public GeminiModelRouter(GeminiModelProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        if (properties.getChain().isEmpty()) {
+            throw new IllegalStateException("gemini.models.chain must contain at least one model");
+        }
+        for (String model : properties.getChain()) {
+            ModelCircuitBreaker breaker = new ModelCircuitBreaker(properties.getCircuitBreaker());
+            breakers.put(model, breaker);
+            Gauge.builder("gemini.model.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit state per model (0=closed, 1=half-open, 2=open)")
+                .tag("model", model)
+                .register(meterRegistry);
+        }
+    }
+
+    public String primaryModel() {
+        return properties.getChain().get(0);
+    }
+
+    public List<String> chain() {
+        return properties.getChain();
+    }
+
+    /**
+     * 체인의 모델을 차례로 시도합니다. 요청 자체가 잘못된 오류(429 를 제외한 4xx)와
+     * 호출 스레드가 interrupt 되어 중단된 호출은 다른 모델로 넘기지 않습니다.
+     */
+    public <T> T execute(String operation, Function<String, T> call) {
+        Routed<T> routed = route(operation, call);
+        routed.succeeded();
+        return routed.result();
+    }
+
+    /**
+     * 스트리밍 호출용 - 스트림을 연 모델로 라우팅만 하고, 지연 시간과 회로 차단기 결과는
+     * 호출자가 스트림을 끝까지 읽은 뒤(succeeded), 실패했을 때(failed), 중단했을 때(cancelled) 기록합니다.
+     * 스트림이 열린 뒤의 실패는 이미 응답 일부가 전송되었으므로 다른 모델로 넘기지 않습니다.
+     */
+    public <T> Routed<T> executeStream(String operation, Function<String, T> open) {
+        return route(operation, open);
+    }
+
+    private <T> Routed<T> route(String operation, Function<String, T> call) {
+        RuntimeException lastError = null;
+
+        for (Map.Entry<String, ModelCircuitBreaker> entry : breakers.entrySet()) {
+            String model = entry.getKey();
+            ModelCircuitBreaker breaker = entry.getValue();
+
+            if (!breaker.tryAcquire()) {
+                meterRegistry.counter("gemini.model.short-circuited", "model", model, "operation", operation).increment();
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = call.apply(model);
+                if (!model.equals(primaryModel())) {
+                    log.info("Gemini {} served by fallback model {}", operation, model);
+                }
+                return new Routed<>(operation, model, breaker, start, System.nanoTime() - start, result);
+            } catch (RuntimeException e) {
+                long elapsedNanos = System.nanoTime() - start;
+                // 헤징에서 진 시도, 시도 timeout, deadline 취소로 중단된 호출은 모델의 실패가 아니고 결과를 기다리는 쪽도 없습니다
+                if (isAbandoned(e)) {
+                    breaker.onIgnored();
+                    record(model, operation, "cancelled", elapsedNanos);
+                    throw e;
+                }
+                if (isRequestError(e)) {
+                    breaker.onIgnored();
+                    record(model, operation, "rejected", elapsedNanos);
+                    throw e;
+                }
+                breaker.onFailure();
+                record(model, operation, "failure", elapsedNanos);
+                log.warn("Gemini {} failed on model {} ({}), trying next model", operation, model, e.getMessage());
+                lastError = e;
+            }
+        }
+
+        if (lastError != null) {
+            throw lastError;
+        }
+        throw new GeminiCallException("All Gemini models are temporarily unavailable (circuits open)");
+    }
+
+    private void record(String model, String operation, String outcome, long elapsedNanos) {
+        latencyTimers.computeIfAbsent(model + '|' + operation + '|' + outcome, key -> Timer.builder("gemini.model.latency")
+                .description("Gemini call latency per model and outcome")
+                .tag("model", model)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 라우팅된 호출 하나. 결과는 처음 한 번만 기록됩니다.
+     * 느린 호출 여부는 응답(스트림이면 첫 응답 헤더)을 받기까지의 시간으로 판단합니다 - 긴 답변은 느린 호출이 아닙니다.
+     */
+    public final class Routed<T> {
+
+        private final String operation;
+        private final String model;
+        private final ModelCircuitBreaker breaker;
+        private final long startNanos;
+        private final long responseNanos;
+        private final T result;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Routed(String operation, String model, ModelCircuitBreaker breaker,
+                       long startNanos, long responseNanos, T result) {
+            this.operation = operation;
+            this.model = model;
+            this.breaker = breaker;
+            this.startNanos = startNanos;
+            this.responseNanos = responseNanos;
+            this.result = result;
+        }
+
+        public T result() {
+            return result;
+        }
+
+        public String model() {
+            return model;
+        }
+
+        public void succeeded() {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            if (TimeUnit.NANOSECONDS.toMillis(responseNanos) > properties.getCircuitBreaker().getSlowCallThresholdMillis()) {
+                breaker.onFailure();
+                record(model, operation, "slow", System.nanoTime() - startNanos);
+            } else {
+                breaker.onSuccess();
+                record(model, operation, "success", System.nanoTime() - startNanos);
+            }
+        }
+
+        public void failed(Throwable error) {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            if (isRequestError(error)) {
+                breaker.onIgnored();
+                record(model, operation, "rejected", System.nanoTime() - startNanos);
+            } else {
+                breaker.onFailure();
+                record(model, operation, "failure", System.nanoTime() - startNanos);
+                log.warn("Gemini {} stream failed on model {}: {}", operation, model, error.getMessage());
+            }
+        }
+
+        /**
+         * 클라이언트가 떠나 호출자가 중단한 경우 - 모델의 성공/실패로 세지 않습니다.
+         */
+        public void cancelled() {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            breaker.onIgnored();
+            record(model, operation, "cancelled", System.nanoTime() - startNanos);
+        }
+    }
+
+    private static boolean isAbandoned(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException
+                || t instanceof CancellationException
+                || t instanceof ClosedByInterruptException
+                || (t instanceof InterruptedIOException && !(t instanceof SocketTimeoutException))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRequestError(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ApiException apiException) {
+                int code = apiException.code();
+                return code >= 400 && code < 500 && code != 429;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,251 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiRateLimitProperties;
+import algorithm_note.algorithm_note_v2.global.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemini 를 호출하는 요청의 사용자별 속도와 노드 전체 동시 호출 수를 제한합니다.
+ * 사용자별 제한은 Redis 토큰 버킷(Lua 스크립트, Redis 서버 시각 기준)으로 클러스터 전체에 적용되며,
+ * Redis 를 사용할 수 없으면 이 노드의 로컬 버킷으로 대체합니다.
+ * 한도를 넘으면 기다리지 않고 RateLimitExceededException(429, Retry-After)을 던집니다.
+ */
+@Component
+@Slf4j
+public class GeminiRateLimiter {
+
+    private static final String BUCKET_KEY_PREFIX = "gemini:ratelimit:";
+    private static final String BATCH_BUCKET_KEY_PREFIX = "gemini:ratelimit:batch:";
+    private static final long NODE_RETRY_AFTER_SECONDS = 1L;
+
+    // ARGV[4] 개까지 남은 토큰만큼 소비합니다. 반환값: {소비한 토큰 수(0 이면 거절), 다음 토큰까지 남은 ms}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+        "local capacity = tonumber(ARGV[1]) " +
+        "local rate = tonumber(ARGV[2]) " +
+        "local time = redis.call('TIME') " +
+        "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+        "local data = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+        "local tokens = tonumber(data[1]) or capacity " +
+        "local ts = tonumber(data[2]) or now " +
+        "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) " +
+        "local granted = math.min(tonumber(ARGV[4]), math.floor(tokens)) " +
+        "local wait = 0 " +
+        "if granted >= 1 then tokens = tokens - granted " +
+        "else granted = 0 wait = math.ceil((1 - tokens) / rate) end " +
+        "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+        "return {granted, wait}",
+        List.class);
+
+    private final GeminiRateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Semaphore upstreamPermits;
+    private final Map<String, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+    private final Counter userRejectedCounter;
+    private final Counter nodeRejectedCounter;
+    private final Counter fallbackCounter;
+
+    public GeminiRateLimiter(GeminiRateLimitProperties properties,
+                             StringRedisTemplate redisTemplate,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.upstreamPermits = new Semaphore(Math.max(1, properties.getMaxConcurrentCalls()));
+
+        Gauge.builder("gemini.ratelimit.in-flight", upstreamPermits,
+                s -> Math.max(1, properties.getMaxConcurrentCalls()) - s.availablePermits())
+            .description("Gemini calls currently holding a node-wide permit")
+            .register(meterRegistry);
+        Gauge.builder("gemini.ratelimit.local-buckets", localBuckets, Map::size)
+            .description("User buckets held locally while Redis was unavailable")
+            .register(meterRegistry);
+
+        this.userRejectedCounter = Counter.builder("gemini.ratelimit.rejected")
+            .description("Requests rejected by the Gemini rate limiter")
+            .tag("scope", "user")
+            .register(meterRegistry);
+        this.nodeRejectedCounter = Counter.builder("gemini.ratelimit.rejected")
+            .description("Requests rejected by the Gemini rate limiter")
+            .tag("scope", "node")
+            .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("gemini.ratelimit.fallback")
+            .description("Rate limit decisions made locally because Redis was unavailable")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 토큰 하나와 노드 동시 호출 permit 하나를 확보합니다.
+     * 반환된 Permit 은 Gemini 호출(스트리밍이면 스트림 종료)이 끝난 뒤 close 해야 합니다.
+     */
+    public Permit acquire(Long userId) {
+        // 노드가 거절할 호출에 사용자 토큰을 쓰지 않도록 노드 permit 을 먼저 확보합니다
+        Permit permit = acquireNodePermits(userId, 1);
+
+        Consumption consumption;
+        try {
+            consumption = tryConsume(BUCKET_KEY_PREFIX + userId,
+                properties.getUserCapacity(), properties.getUserRefillPerMinute());
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        if (consumption.granted() == 0) {
+            permit.close();
+            userRejectedCounter.increment();
+            log.info("Gemini rate limit exceeded for userId: {} (retry after {} ms)", userId, consumption.waitMillis());
+            throw new RateLimitExceededException(Math.max(1L, (consumption.waitMillis() + 999) / 1000));
+        }
+        return permit;
+    }
+
+    /**
+     * 배치용 노드 permit. 지금 남아 있는 만큼 최대 maxPermits 개까지 확보하며, 그 수(Permit.getCount())가 배치의 동시 실행 수입니다.
+     * 사용자 토큰은 여기서 쓰지 않고 항목을 실제로 호출할 때 tryConsumeBatchItem 으로 하나씩 씁니다.
+     */
+    public Permit acquireBatch(Long userId, int maxPermits) {
+        return acquireNodePermits(userId, Math.max(1, maxPermits));
+    }
+
+    /**
+     * 배치 항목 하나의 토큰을 배치 전용 버킷(gemini.rate-limit.batch-item-*)에서 소비합니다.
+     * 대화형 요청 버킷과 따로 세므로 큰 배치가 사용자의 다른 요청을 막지 않습니다.
+     * 소비했으면 0, 토큰이 없으면 다음 토큰까지 기다려야 할 ms 를 반환합니다.
+     */
+    public long tryConsumeBatchItem(Long userId) {
+        Consumption consumption = tryConsume(BATCH_BUCKET_KEY_PREFIX + userId,
+            properties.getBatchItemCapacity(), properties.getBatchItemRefillPerMinute());
+        return consumption.granted() > 0 ? 0L : Math.max(1L, consumption.waitMillis());
+    }
+
+    private Permit acquireNodePermits(Long userId, int maxPermits) {
+        if (!upstreamPermits.tryAcquire()) {
+            nodeRejectedCounter.increment();
+            log.warn("Gemini concurrency limit reached ({} in flight), rejecting userId: {}",
+                properties.getMaxConcurrentCalls(), userId);
+            throw new RateLimitExceededException("Too many AI requests in progress. Please try again shortly.",
+                NODE_RETRY_AFTER_SECONDS);
+        }
+        int count = 1;
+        while (count < maxPermits && upstreamPermits.tryAcquire()) {
+            count++;
+        }
+        return new Permit(upstreamPermits, count);
+    }
+
+    /**
+     * 토큰 하나를 소비합니다. 소비하지 못하면 granted 는 0 이고 waitMillis 가 다음 토큰까지 남은 시간입니다.
+     */
+    private Consumption tryConsume(String bucketKey, int configuredCapacity, int refillPerMinute) {
+        double refillPerMillis = Math.max(1, refillPerMinute) / 60000.0;
+        int capacity = Math.max(1, configuredCapacity);
+
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                List.of(bucketKey),
+                String.valueOf(capacity),
+                String.valueOf(refillPerMillis),
+                String.valueOf(fullRefillMillis(capacity, refillPerMillis)),
+                "1");
+            if (result != null && result.size() == 2) {
+                if (!localBuckets.isEmpty()) {
+                    localBuckets.clear();
+                }
+                return new Consumption(((Number) result.get(0)).intValue(), ((Number) result.get(1)).longValue());
+            }
+        } catch (Exception e) {
+            log.warn("Redis rate limiter unavailable, falling back to local bucket: {}", e.getMessage());
+        }
+
+        fallbackCounter.increment();
+        return localBuckets
+            .computeIfAbsent(bucketKey, key -> new LocalBucket(capacity))
+            .tryConsume(capacity, refillPerMillis, 1);
+    }
+
+    private long fullRefillMillis(int capacity, double refillPerMillis) {
+        return (long) Math.ceil(capacity / refillPerMillis) + 1000L;
+    }
+
+    /**
+     * Redis 장애 시 사용하는 노드 로컬 토큰 버킷
+     */
+    private static class LocalBucket {
+
+        private double tokens;
+        private long updatedAt = System.currentTimeMillis();
+
+        private LocalBucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        private synchronized Consumption tryConsume(int capacity, double refillPerMillis, int requested) {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * refillPerMillis);
+            updatedAt = now;
+            int granted = (int) Math.min(requested, Math.floor(tokens));
+            if (granted >= 1) {
+                tokens -= granted;
+                return new Consumption(granted, 0L);
+            }
+            return new Consumption(0, (long) Math.ceil((1 - tokens) / refillPerMillis));
+        }
+    }
+
+    private record Consumption(int granted, long waitMillis) {}
+
+    /**
+     * 노드 동시 호출 permit (배치는 여러 개). 여러 번 close 해도 한 번만 반환됩니다.
+     */
+    public static class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private final int count;
+        private final AtomicInteger remaining;
+
+        private Permit(Semaphore semaphore, int count) {
+            this.semaphore = semaphore;
+            this.count = count;
+            this.remaining = new AtomicInteger(count);
+        }
+
+        /**
+         * 배치에서 호출 하나가 끝나 더 쓰지 않는 permit 하나를 먼저 반환합니다.
+         */
+        public void releaseOne() {
+            int current;
+            do {
+                current = remaining.get();
+                if (current == 0) {
+                    return;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            semaphore.release();
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            int unreleased = remaining.getAndSet(0);
+            if (unreleased > 0) {
+                semaphore.release(unreleased);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 정규화한 입력, 프롬프트 버전, 모델 id 의 해시를 키로 하는 Gemini 응답 캐시
+ * 로컬(LRU + TTL) → Redis 순으로 조회하고, 같은 키의 동시 요청은 하나의 Gemini 호출을 공유합니다(single-flight).
+ * Redis 장애 시에는 로컬 캐시와 직접 호출로 동작합니다.
+ */
+@Component
+@Slf4j
+public class GeminiResponseCache {
+
+    private static final String KEY_PREFIX = "gemini:response:";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final GeminiResponseCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, LocalEntry> localEntries;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter bypassed;
+
+    public GeminiResponseCache(GeminiResponseCacheProperties properties,
+                               StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.localEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > properties.getLocalMaxEntries();
+            }
+        };
+
+        this.localHits = requests(meterRegistry, "local");
+        this.redisHits = requests(meterRegistry, "redis");
+        this.misses = requests(meterRegistry, "miss");
+        this.bypassed = requests(meterRegistry, "bypass");
+
+        Gauge.builder("gemini.response-cache.hit-ratio", this, GeminiResponseCache::hitRatio)
+            .description("Share of cacheable Gemini requests served from the response cache")
+            .register(meterRegistry);
+        Gauge.builder("gemini.response-cache.local-entries", this, cache -> cache.localSize())
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에서 응답을 찾고, 없으면 loader 로 생성합니다. cacheable 을 통과한 응답만 저장합니다.
+     * 같은 키로 진행 중인 생성이 있으면 그 결과를 공유합니다. 호출자마다 별도의 future 를 받으므로
+     * 한 호출자가 자기 future 를 취소해도 같은 생성을 기다리는 다른 호출자에게는 영향이 없습니다.
+     */
+    public CompletableFuture<String> getAsync(String key, Supplier<CompletableFuture<String>> loader,
+                                              Predicate<String> cacheable) {
+        if (!properties.isEnabled()) {
+            bypassed.increment();
+            return loader.get();
+        }
+
+        String local = getLocal(key);
+        if (local != null) {
+            localHits.increment();
+            return CompletableFuture.completedFuture(local);
+        }
+
+        CompletableFuture<String> own = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            log.debug("Joining in-flight Gemini request for key: {}", key);
+            return existing.copy();
+        }
+        own.whenComplete((value, error) -> inFlight.remove(key, own));
+
+        try {
+            String remote = getRemote(key);
+            if (remote != null) {
+                redisHits.increment();
+                putLocal(key, remote);
+                own.complete(remote);
+                return own.copy();
+            }
+
+            misses.increment();
+            loader.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    own.completeExceptionally(error);
+                    return;
+                }
+                if (value != null && cacheable.test(value)) {
+                    putLocal(key, value);
+                    putRemote(key, value);
+                }
+                own.complete(value);
+            });
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+        }
+        return own.copy();
+    }
+
+    /**
+     * 생성하지 않고 캐시에 있는 응답만 찾습니다. 찾으면 적중으로 기록하고, 못 찾은 경우는 이어지는 getAsync 가 기록합니다.
+     */
+    public Optional<String> peek(String key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        String local = getLocal(key);
+        if (local != null) {
+            localHits.increment();
+            return Optional.of(local);
+        }
+        String remote = getRemote(key);
+        if (remote != null) {
+            redisHits.increment();
+            putLocal(key, remote);
+            return Optional.of(remote);
+        }
+        return Optional.empty();
+    }
+
+    public void recordBypass() {
+        bypassed.increment();
+    }
+
+    /**
+     * 공백/줄바꿈/유니코드 정규화 후 (모델, 프롬프트 버전, 입력)의 SHA-256 을 키로 사용합니다.
+     */
+    public static String key(String modelId, String promptVersion, String input) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(input, Normalizer.Form.NFC).strip()).replaceAll(" ");
+        return sha256(modelId + '\n' + promptVersion + '\n' + normalized);
+    }
+
+    public static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private synchronized String getLocal(String key) {
+        LocalEntry entry = localEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            localEntries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void putLocal(String key, String value) {
+        localEntries.put(key, new LocalEntry(value, System.currentTimeMillis() + properties.getLocalTtlSeconds() * 1000L));
+    }
+
+    private synchronized int localSize() {
+        return localEntries.size();
+    }
+
+    private String getRemote(String key) {
+        try {
+            return redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        } catch (Exception e) {
+            log.warn("Redis response cache read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, String value) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, value, Duration.ofSeconds(properties.getRedisTtlSeconds()));
+        } catch (Exception e) {
+            log.warn("Redis response cache write failed: {}", e.getMessage());
+        }
+    }
+
+    private double hitRatio() {
+        double hits = localHits.count() + redisHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gemini.response-cache.requests")
+            .description("Gemini response cache lookups by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record LocalEntry(String value, long expiresAt) {}
+}
@@ -0,0 +1,107 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiModelProperties;
+
+/**
+ * 모델 하나에 대한 호출 수 기반 회로 차단기
+ * 최근 windowSize 번의 호출 중 실패(느린 호출 포함) 비율이 임계값을 넘으면 열리고,
+ * openDuration 이 지나면 halfOpenProbes 개의 시험 호출만 허용하여 성공하면 닫고 실패하면 다시 엽니다.
+ */
+public class ModelCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final GeminiModelProperties.CircuitBreaker config;
+    private final boolean[] window;
+    private int position;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+
+    public ModelCircuitBreaker(GeminiModelProperties.CircuitBreaker config) {
+        this.config = config;
+        this.window = new boolean[Math.max(1, config.getWindowSize())];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < config.getOpenDurationMillis()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= config.getHalfOpenProbes()) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= config.getMinimumCalls()
+            && (double) failures / recorded >= config.getFailureRateThreshold()) {
+            open();
+        }
+    }
+
+    /**
+     * 회로 상태에 영향을 주지 않고 허용했던 시험 호출만 반환합니다 (요청 자체의 오류 등).
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        probesInFlight = 0;
+    }
+}
@@ -0,0 +1,113 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis 키 하나로 구현한 만료 기반 리스(lease) 락
+ * SET NX PX 로 획득하고, 갱신과 해제는 소유 토큰이 일치할 때만 수행합니다(Lua).
+ * 소유 노드가 죽으면 ttl 이 지난 뒤 다른 노드가 획득할 수 있습니다.
+ */
+@Component
+@Slf4j
+public class RedisLeaseLock {
+
+    private static final String KEY_PREFIX = "lock:";
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+        "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) else return 0 end",
+        Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+        "return redis.call('DEL', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisLeaseLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 락을 잡지 못하면 비어 있습니다. Redis 오류는 호출자에게 그대로 전달됩니다.
+     */
+    public Optional<Lease> tryAcquire(String name, String owner, Duration ttl) {
+        String key = KEY_PREFIX + name;
+        String token = owner + ":" + UUID.randomUUID();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, token, ttl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Lease(key, token, ttl));
+    }
+
+    /**
+     * 현재 락을 가진 소유자 (없으면 null)
+     */
+    public String currentOwner(String name) {
+        String token = redisTemplate.opsForValue().get(KEY_PREFIX + name);
+        return token == null ? null : token.substring(0, Math.max(0, token.lastIndexOf(':')));
+    }
+
+    public final class Lease implements AutoCloseable {
+
+        private final String key;
+        private final String token;
+        private final Duration ttl;
+        private volatile boolean held = true;
+
+        private Lease(String key, String token, Duration ttl) {
+            this.key = key;
+            this.token = token;
+            this.ttl = ttl;
+        }
+
+        /**
+         * 만료 시각을 ttl 만큼 연장합니다. 이미 다른 노드로 넘어갔으면 false 를 반환하며 이후 작업을 멈춰야 합니다.
+         */
+        public boolean renew() {
+            if (!held) {
+                return false;
+            }
+            try {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), token, String.valueOf(ttl.toMillis()));
+                held = renewed != null && renewed == 1L;
+            } catch (Exception e) {
+                log.warn("Failed to renew lease {}: {}", key, e.getMessage());
+                held = false;
+            }
+            if (!held) {
+                log.warn("Lost lease {}", key);
+            }
+            return held;
+        }
+
+        public boolean isHeld() {
+            return held;
+        }
+
+        @Override
+        public void close() {
+            if (!held) {
+                return;
+            }
+            held = false;
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(key), token);
+            } catch (Exception e) {
+                // 해제하지 못해도 ttl 이 지나면 만료됩니다
+                log.warn("Failed to release lease {}: {}", key, e.getMessage());
+            }
+        }
+    }
+}
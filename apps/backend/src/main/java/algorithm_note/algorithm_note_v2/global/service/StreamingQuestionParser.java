@@ -0,0 +1,178 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.QuestionItem;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 스트리밍으로 도착하는 질문지 JSON({"title": ..., "questions": [{...}, ...]})을 Jackson 논블로킹 파서로 점진적으로 읽어
+ * title 과 각 질문 객체가 완성되는 즉시 Listener 로 전달합니다.
+ * 첫 '{' 이전의 마크다운 코드 펜스 등은 건너뛰고, 루트 객체가 끝난 뒤의 내용은 무시합니다.
+ * QuestionItem 으로 읽히지 않는 질문 객체는 건너뛰고, JSON 문법이 깨지면 그 뒤는 읽지 않고 malformed 로 표시합니다
+ * (호출자는 그때까지 전달된 질문이나 원본 응답을 사용합니다). Listener 가 던진 예외는 그대로 전파됩니다.
+ */
+@Slf4j
+public class StreamingQuestionParser implements AutoCloseable {
+
+    public interface Listener {
+
+        void onTitle(String title);
+
+        void onQuestion(QuestionItem question);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Listener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean finished;
+    private boolean malformed;
+    private int depth;
+    private String field;
+    private boolean inQuestions;
+    private TokenBuffer capture;
+    private int captureDepth;
+    private int questionCount;
+    private int skippedCount;
+
+    public StreamingQuestionParser(ObjectMapper objectMapper, Listener listener) throws IOException {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public void feed(String chunk) throws IOException {
+        if (finished || malformed || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public boolean isMalformed() {
+        return malformed;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        feeder.endOfInput();
+        parser.close();
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        try {
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (JsonProcessingException e) {
+            malformed = true;
+            log.warn("Question stream is not valid JSON after {} question(s), ignoring the rest: {}",
+                questionCount, e.getOriginalMessage());
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (capture != null) {
+            capture.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                captureDepth++;
+            } else if (token.isStructEnd() && --captureDepth == 0) {
+                QuestionItem question = readQuestion();
+                capture = null;
+                if (question != null) {
+                    questionCount++;
+                    listener.onQuestion(question);
+                }
+            }
+            return;
+        }
+
+        switch (token) {
+            case START_OBJECT -> {
+                if (inQuestions && depth == 2) {
+                    capture = new TokenBuffer(parser);
+                    capture.copyCurrentEvent(parser);
+                    captureDepth = 1;
+                    return;
+                }
+                depth++;
+            }
+            case START_ARRAY -> {
+                if (depth == 1 && "questions".equals(field)) {
+                    inQuestions = true;
+                }
+                depth++;
+            }
+            case END_ARRAY -> {
+                depth--;
+                if (depth == 1) {
+                    inQuestions = false;
+                }
+            }
+            case END_OBJECT -> {
+                depth--;
+                if (depth == 0) {
+                    finished = true;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                }
+            }
+            case VALUE_STRING -> {
+                if (depth == 1 && "title".equals(field)) {
+                    listener.onTitle(parser.getText());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private QuestionItem readQuestion() throws IOException {
+        try {
+            return objectMapper.readValue(capture.asParser(objectMapper), QuestionItem.class);
+        } catch (JsonProcessingException e) {
+            skippedCount++;
+            log.warn("Skipping question {} that does not match the expected shape: {}",
+                questionCount + skippedCount, e.getOriginalMessage());
+            return null;
+        }
+    }
+}
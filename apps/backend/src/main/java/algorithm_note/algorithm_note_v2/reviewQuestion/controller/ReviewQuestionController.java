@@ -1,19 +1,25 @@
 package algorithm_note.algorithm_note_v2.reviewQuestion.controller;
 
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
 import algorithm_note.algorithm_note_v2.global.service.GeminiClient;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
 import algorithm_note.algorithm_note_v2.reviewQuestion.dto.*;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.ReviewQuestionResponseDto;
+import algorithm_note.algorithm_note_v2.reviewQuestion.service.BatchQuestionGenerationService;
+import algorithm_note.algorithm_note_v2.reviewQuestion.service.QuestionGenerationStreamService;
 import algorithm_note.algorithm_note_v2.reviewQuestion.service.ReviewQuestionService;
 import algorithm_note.algorithm_note_v2.user.domain.User;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -22,19 +28,51 @@ import java.util.List;
 public class ReviewQuestionController {
 
     private final GeminiClient geminiClient;
+    private final GeminiRateLimiter geminiRateLimiter;
     private final ReviewQuestionService reviewQuestionService;
+    private final QuestionGenerationStreamService questionGenerationStreamService;
+    private final BatchQuestionGenerationService batchQuestionGenerationService;
+    private final GeminiClientProperties geminiClientProperties;
 
     @PostMapping("/create")
-    public ResponseEntity<?> sendChatMessage(@Valid @RequestBody ChatMessageRequestDto request) throws JsonProcessingException {
+    public CompletableFuture<ResponseEntity<ChatMessageResponseDto>> sendChatMessage(@Valid @RequestBody ChatMessageRequestDto request,
+                                                                                     @RequestParam(defaultValue = "true") boolean cache,
+                                                                                     @AuthenticationPrincipal User user) {
         String message = request.getMessage();
 
-        GeminiResponseDto geminiResponse = geminiClient.sendMessage(message);
+        // Gemini 응답을 기다리는 동안 요청 스레드를 반환합니다
+        GeminiRateLimiter.Permit permit = geminiRateLimiter.acquire(user.getId());
+        CompletableFuture<GeminiResponseDto> geminiResponse;
+        try {
+            geminiResponse = geminiClient.sendMessageAsync(message, cache);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
 
-        ChatMessageResponseDto response = ChatMessageResponseDto.of(
-            geminiResponse.getResponse()
-        );
+        return geminiResponse
+            .whenComplete((response, error) -> permit.close())
+            .thenApply(response -> ResponseEntity.ok(ChatMessageResponseDto.of(
+                response.getResponse()
+            )));
+    }
+
+    @PostMapping(value = "/create/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChatMessage(@Valid @RequestBody ChatMessageRequestDto request,
+                                        @AuthenticationPrincipal User user) {
+        GeminiRateLimiter.Permit permit = geminiRateLimiter.acquire(user.getId());
+        return questionGenerationStreamService.stream(user.getId(), request.getMessage(), permit);
+    }
+
+    @PostMapping(value = "/create/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter createBatch(@Valid @RequestBody BatchQuestionRequestDto request,
+                                  @RequestParam(defaultValue = "true") boolean cache,
+                                  @AuthenticationPrincipal User user) {
+        log.info("POST /api/review-questions/create/batch - user: {}, items: {}", user.getId(), request.getMessages().size());
 
-        return ResponseEntity.ok(response);
+        GeminiRateLimiter.Permit permit = geminiRateLimiter.acquireBatch(user.getId(),
+            Math.min(geminiClientProperties.getBatchParallelism(), request.getMessages().size()));
+        return batchQuestionGenerationService.generate(user.getId(), request.getMessages(), cache, permit);
     }
 
     @GetMapping("/review-card/{reviewCardId}")
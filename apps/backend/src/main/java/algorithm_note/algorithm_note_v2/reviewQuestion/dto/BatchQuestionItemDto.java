@@ -0,0 +1,26 @@
+package algorithm_note.algorithm_note_v2.reviewQuestion.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchQuestionItemDto {
+
+  private int index;
+  private boolean success;
+  private Object aiResponse;
+  private String errorMessage;
+
+  public static BatchQuestionItemDto success(int index, Object aiResponse) {
+    return new BatchQuestionItemDto(index, true, aiResponse, null);
+  }
+
+  public static BatchQuestionItemDto failure(int index, String errorMessage) {
+    return new BatchQuestionItemDto(index, false, null, errorMessage);
+  }
+}
@@ -0,0 +1,20 @@
+package algorithm_note.algorithm_note_v2.reviewQuestion.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchQuestionRequestDto {
+
+  @NotEmpty(message = "생성할 학습 자료를 입력해주세요")
+  @Size(max = 100, message = "한 번에 최대 100개까지 생성할 수 있습니다")
+  private List<@NotBlank(message = "빈 학습 자료는 생성할 수 없습니다") String> messages;
+}
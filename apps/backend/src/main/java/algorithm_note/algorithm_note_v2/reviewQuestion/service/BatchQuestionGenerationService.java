@@ -0,0 +1,227 @@
+package algorithm_note.algorithm_note_v2.reviewQuestion.service;
+
+import algorithm_note.algorithm_note_v2.global.service.GeminiClient;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.BatchQuestionItemDto;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.GeminiResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 학습 자료의 질문지를 한 요청으로 생성합니다.
+ * permit 수만큼의 작업만 동시에 실행하며(하나가 끝나면 다음 항목 시작), 항목별 결과를 완료 순서대로 SSE item 이벤트로 보냅니다.
+ * 실패한 항목은 errorMessage 와 함께 개별 보고되며, 마지막에 done 이벤트로 집계를 보냅니다.
+ * 항목마다 Gemini 를 호출하기 직전에 배치 전용 사용자 토큰을 하나 쓰고, 토큰이 없으면 채워질 때까지 기다렸다 실행합니다.
+ * 캐시에 있는 항목은 토큰을 쓰지 않습니다.
+ */
+@Slf4j
+@Service
+public class BatchQuestionGenerationService {
+
+    private static final long STREAM_TIMEOUT = 30 * 60 * 1000L;
+
+    private final GeminiClient geminiClient;
+    private final GeminiRateLimiter geminiRateLimiter;
+    private final ScheduledExecutorService refillWaits =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("batch-question-refill-"));
+
+    public BatchQuestionGenerationService(GeminiClient geminiClient, GeminiRateLimiter geminiRateLimiter) {
+        this.geminiClient = geminiClient;
+        this.geminiRateLimiter = geminiRateLimiter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillWaits.shutdownNow();
+    }
+
+    public SseEmitter generate(Long userId, List<String> messages, boolean useCache, GeminiRateLimiter.Permit permit) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT);
+        Batch batch = new Batch(userId, messages, useCache, permit, new EmitterSink(emitter));
+
+        emitter.onCompletion(batch::cancel);
+        emitter.onTimeout(batch::cancel);
+        emitter.onError(e -> batch.cancel());
+
+        batch.start();
+        return emitter;
+    }
+
+    /**
+     * SSE 연결 없이 배치를 실행합니다 (테스트용).
+     */
+    Batch start(Long userId, List<String> messages, boolean useCache, GeminiRateLimiter.Permit permit, BatchSink sink) {
+        Batch batch = new Batch(userId, messages, useCache, permit, sink);
+        batch.start();
+        return batch;
+    }
+
+    /**
+     * 배치 이벤트를 받는 쪽. 보낼 수 없으면 IOException 또는 IllegalStateException 을 던집니다.
+     */
+    interface BatchSink {
+
+        void send(String eventName, Object data) throws IOException;
+
+        void complete();
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements BatchSink {
+
+        @Override
+        public void send(String eventName, Object data) throws IOException {
+            synchronized (emitter) {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            }
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * 동시 실행 슬롯마다 permit 하나를 가지며, 슬롯의 호출이 끝나고 더 실행할 항목이 없거나 취소되었을 때만 그 permit 을 반환합니다.
+     * 취소해도 이미 보낸 Gemini 호출은 끝날 때까지 permit 을 잡고 있으므로 노드 동시 호출 수를 넘지 않습니다.
+     * 토큰을 기다리는 슬롯도 permit 을 잡고 있으므로, 기다리는 동안 배치의 동시 실행 수가 늘지 않습니다.
+     */
+    class Batch {
+
+        private final Long userId;
+        private final List<String> messages;
+        private final boolean useCache;
+        private final GeminiRateLimiter.Permit permit;
+        private final BatchSink sink;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final long startedAt = System.currentTimeMillis();
+
+        private Batch(Long userId, List<String> messages, boolean useCache,
+                      GeminiRateLimiter.Permit permit, BatchSink sink) {
+            this.userId = userId;
+            this.messages = messages;
+            this.useCache = useCache;
+            this.permit = permit;
+            this.sink = sink;
+        }
+
+        private void start() {
+            int parallelism = Math.min(permit.getCount(), messages.size());
+            log.info("Batch question generation started for userId: {} ({} items, parallelism {})",
+                userId, messages.size(), parallelism);
+            for (int i = parallelism; i < permit.getCount(); i++) {
+                permit.releaseOne();
+            }
+            for (int i = 0; i < parallelism; i++) {
+                launchNext();
+            }
+        }
+
+        // 슬롯 하나에서 다음 항목을 실행하고, 더 실행하지 않으면 슬롯의 permit 을 반환합니다
+        private void launchNext() {
+            int index = cancelled.get() ? messages.size() : next.getAndIncrement();
+            if (index >= messages.size()) {
+                permit.releaseOne();
+                return;
+            }
+            run(index);
+        }
+
+        private void run(int index) {
+            if (cancelled.get()) {
+                permit.releaseOne();
+                return;
+            }
+
+            CompletableFuture<BatchQuestionItemDto> item;
+            try {
+                Optional<GeminiResponseDto> cached = useCache ? geminiClient.cachedResponse(messages.get(index)) : Optional.empty();
+                if (cached.isPresent()) {
+                    item = CompletableFuture.completedFuture(BatchQuestionItemDto.success(index, cached.get().getResponse()));
+                } else {
+                    long waitMillis = geminiRateLimiter.tryConsumeBatchItem(userId);
+                    if (waitMillis > 0) {
+                        log.debug("Batch item {} for userId: {} waits {} ms for a token", index, userId, waitMillis);
+                        refillWaits.schedule(() -> run(index), waitMillis, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                    item = geminiClient.sendMessageAsync(messages.get(index), useCache)
+                        .thenApply(response -> BatchQuestionItemDto.success(index, response.getResponse()));
+                }
+            } catch (RuntimeException e) {
+                item = CompletableFuture.failedFuture(e);
+            }
+
+            item.exceptionally(error -> {
+                    failed.incrementAndGet();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    log.warn("Batch item {} failed for userId: {}: {}", index, userId, cause.getMessage());
+                    return BatchQuestionItemDto.failure(index, cause.getMessage());
+                })
+                .whenComplete((result, error) -> {
+                    send("item", result);
+                    if (completed.incrementAndGet() == messages.size()) {
+                        finish();
+                    } else {
+                        launchNext();
+                    }
+                });
+        }
+
+        private void finish() {
+            long elapsed = System.currentTimeMillis() - startedAt;
+            send("done", Map.of(
+                "total", messages.size(),
+                "succeeded", messages.size() - failed.get(),
+                "failed", failed.get(),
+                "elapsedMillis", elapsed
+            ));
+            permit.close();
+            if (!cancelled.get()) {
+                sink.complete();
+            }
+            log.info("Batch question generation finished for userId: {} in {} ms ({} failed)",
+                userId, elapsed, failed.get());
+        }
+
+        /**
+         * 남은 항목을 시작하지 않습니다. 실행 중인 호출의 permit 은 각 호출이 끝날 때 반환됩니다.
+         */
+        void cancel() {
+            if (cancelled.compareAndSet(false, true) && completed.get() < messages.size()) {
+                log.info("Batch question generation cancelled for userId: {} after {} of {} items",
+                    userId, completed.get(), messages.size());
+            }
+        }
+
+        private void send(String eventName, Object data) {
+            if (cancelled.get()) {
+                return;
+            }
+            try {
+                sink.send(eventName, data);
+            } catch (IOException | IllegalStateException e) {
+                log.info("Batch stream closed by client for userId: {}", userId);
+                cancel();
+            }
+        }
+    }
+}
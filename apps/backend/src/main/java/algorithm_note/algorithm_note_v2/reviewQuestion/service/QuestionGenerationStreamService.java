@@ -0,0 +1,145 @@
+package algorithm_note.algorithm_note_v2.reviewQuestion.service;
+
+import algorithm_note.algorithm_note_v2.chat.exception.ChatStreamRejectedException;
+import algorithm_note.algorithm_note_v2.global.config.QuestionStreamProperties;
+import algorithm_note.algorithm_note_v2.global.exception.GeminiCallException;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClient;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
+import algorithm_note.algorithm_note_v2.global.service.StreamingQuestionParser;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.QuestionItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 질문지 생성을 SSE 로 스트리밍합니다. 질문 객체가 완성될 때마다 question 이벤트를 보내므로
+ * 사용자는 전체 질문지가 아닌 첫 질문의 생성 시간만 기다리면 됩니다.
+ * 이벤트: title, question, raw(JSON 이 아닌 응답), done
+ * 스트림은 전용 풀(questionStreamTaskExecutor)에서 실행되며, question.stream.timeout-millis 를 넘기면 업스트림을 닫고 오류로 끝냅니다.
+ */
+@Slf4j
+@Service
+public class QuestionGenerationStreamService {
+
+    // 서버 쪽 제한 시간이 먼저 동작해 오류를 보낼 수 있도록 SSE 연결은 조금 더 길게 유지합니다
+    private static final long EMITTER_TIMEOUT_MARGIN_MILLIS = 10_000L;
+
+    private final GeminiClient geminiClient;
+    private final ThreadPoolTaskExecutor executor;
+    private final QuestionStreamProperties properties;
+    private final ScheduledExecutorService deadlines =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("question-stream-deadline-"));
+
+    public QuestionGenerationStreamService(GeminiClient geminiClient,
+                                           @Qualifier("questionStreamTaskExecutor") ThreadPoolTaskExecutor executor,
+                                           QuestionStreamProperties properties) {
+        this.geminiClient = geminiClient;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * permit 은 스트림이 끝나면 반환됩니다. 클라이언트 연결이 끊기면 업스트림 스트림을 닫아 생성을 중단합니다.
+     */
+    public SseEmitter stream(Long userId, String message, GeminiRateLimiter.Permit permit) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMillis() + EMITTER_TIMEOUT_MARGIN_MILLIS);
+        AtomicReference<AutoCloseable> upstream = new AtomicReference<>();
+
+        Runnable cancel = () -> closeQuietly(upstream.get());
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+
+        try {
+            executor.execute(() -> {
+                AtomicBoolean timedOut = new AtomicBoolean();
+                ScheduledFuture<?> deadline = deadlines.schedule(() -> {
+                    timedOut.set(true);
+                    cancel.run();
+                }, properties.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+                try {
+                    Optional<String> raw = geminiClient.streamQuestions(message, new StreamingQuestionParser.Listener() {
+                        @Override
+                        public void onTitle(String title) {
+                            send(emitter, "title", Map.of("title", title));
+                        }
+
+                        @Override
+                        public void onQuestion(QuestionItem question) {
+                            send(emitter, "question", question);
+                        }
+                    }, stream -> {
+                        upstream.set(stream);
+                        // 스트림이 열리기 전에 제한 시간이 지난 경우
+                        if (timedOut.get()) {
+                            closeQuietly(stream);
+                        }
+                    });
+
+                    raw.ifPresent(text -> send(emitter, "raw", Map.of("response", text)));
+                    send(emitter, "done", Map.of("success", true));
+                    emitter.complete();
+                    log.info("Question stream completed for userId: {}", userId);
+                } catch (Exception e) {
+                    if (timedOut.get()) {
+                        log.warn("Question stream for userId: {} exceeded {} ms, closing", userId, properties.getTimeoutMillis());
+                        emitter.completeWithError(new GeminiCallException(
+                            "Question stream exceeded " + properties.getTimeoutMillis() + "ms", true, e));
+                    } else {
+                        log.error("Question stream failed for userId: {}", userId, e);
+                        emitter.completeWithError(e);
+                    }
+                } finally {
+                    deadline.cancel(false);
+                    permit.close();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            permit.close();
+            throw new ChatStreamRejectedException("Too many question generations in progress. Please try again shortly.", e);
+        }
+
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException e) {
+            // 클라이언트가 떠났으므로 스트림 소비를 중단합니다
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeQuietly(AutoCloseable stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (Exception e) {
+            log.debug("Failed to close question stream: {}", e.getMessage());
+        }
+    }
+}
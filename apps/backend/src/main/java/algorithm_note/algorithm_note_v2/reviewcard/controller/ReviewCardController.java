@@ -2,12 +2,16 @@ package algorithm_note.algorithm_note_v2.reviewcard.controller;
 
 import algorithm_note.algorithm_note_v2.chat.service.ChatSessionManager;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.*;
-import algorithm_note.algorithm_note_v2.reviewcard.service.PdfGenerationService;
+import algorithm_note.algorithm_note_v2.reviewcard.service.PdfExportJob;
+import algorithm_note.algorithm_note_v2.reviewcard.service.PdfExportService;
 import algorithm_note.algorithm_note_v2.reviewcard.service.ReviewCardService;
 import algorithm_note.algorithm_note_v2.user.domain.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -18,9 +22,11 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -29,7 +35,7 @@ import java.util.List;
 public class ReviewCardController {
 
     private final ReviewCardService reviewCardService;
-    private final PdfGenerationService pdfGenerationService;
+    private final PdfExportService pdfExportService;
     private final ChatSessionManager chatSessionManager;
 
     @PostMapping("/create")
@@ -123,6 +129,24 @@ public class ReviewCardController {
     }
 
 
+    @GetMapping("/due")
+    public ResponseEntity<DueReviewCardPageResponseDto> getDueReviewCards(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser) {
+
+        LocalDateTime effectiveDueBy = dueBy != null ? dueBy : LocalDateTime.now();
+        DueReviewCardPageResponseDto dueCards =
+                reviewCardService.getDueReviewCards(currentUser, effectiveDueBy, page, size);
+
+        log.info("Found {} due review cards (page: {}, hasNext: {})",
+                dueCards.getReviewCards().size(), page, dueCards.getHasNext());
+
+        return ResponseEntity.ok(dueCards);
+    }
+
+
     @GetMapping("/stats")
     public ResponseEntity<ReviewCardService.ReviewCardStatsDto> getReviewCardStats(@AuthenticationPrincipal User currentUser) {
         log.info("Fetching review card stats for authenticated user");
@@ -171,13 +195,14 @@ public class ReviewCardController {
     }
 
     @PostMapping("/pdf/generate")
-    public ResponseEntity<byte[]> generatePdf(
+    public ResponseEntity<Resource> generatePdf(
             @Valid @RequestBody PdfGenerationRequestDto requestDto,
             @AuthenticationPrincipal User currentUser) {
 
         log.info("Generating PDF for ReviewCard IDs: {}", requestDto.getReviewCardIds());
 
-        byte[] pdfBytes = pdfGenerationService.generatePdfFromReviewCards(
+        // 파일로 끝까지 렌더링한 뒤 응답을 시작하므로 렌더링 오류는 오류 응답으로 전달됩니다
+        Path pdf = pdfExportService.renderNow(
                 requestDto.getReviewCardIds(),
                 requestDto.getExamTitle(),
                 requestDto.getInstruction(),
@@ -186,15 +211,60 @@ public class ReviewCardController {
 
         String filename = String.format("review_cards_%s.pdf",
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+        log.info("Successfully generated PDF: {}", filename);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
 
-        log.info("Successfully generated PDF: {}", filename);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(pdf));
+    }
+
+    @PostMapping("/pdf/jobs")
+    public ResponseEntity<PdfExportJobResponseDto> createPdfJob(
+            @Valid @RequestBody PdfGenerationRequestDto requestDto,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Submitting PDF export job for ReviewCard IDs: {}", requestDto.getReviewCardIds());
+
+        PdfExportJob job = pdfExportService.submit(
+                requestDto.getReviewCardIds(),
+                requestDto.getExamTitle(),
+                requestDto.getInstruction(),
+                currentUser
+        );
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(PdfExportJobResponseDto.from(job));
+    }
+
+    @GetMapping("/pdf/jobs/{jobId}")
+    public ResponseEntity<PdfExportJobResponseDto> getPdfJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal User currentUser) {
+
+        return ResponseEntity.ok(PdfExportJobResponseDto.from(pdfExportService.getJob(jobId, currentUser)));
+    }
+
+    @GetMapping("/pdf/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadPdfJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal User currentUser) {
+
+        Optional<Path> artifact = pdfExportService.getArtifact(jobId, currentUser);
+        if (artifact.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(pdfExportService.getJob(jobId, currentUser).getFilename())
+                .build());
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(new FileSystemResource(artifact.get()));
     }
-}
\ No newline at end of file
+}
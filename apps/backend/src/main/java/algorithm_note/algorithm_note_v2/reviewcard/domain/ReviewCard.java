@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "review_card")
+@Table(name = "review_card", indexes = {
+        @Index(name = "idx_review_card_active_next_review", columnList = "is_active, next_review_at"),
+        @Index(name = "idx_review_card_user_next_review", columnList = "user_id, next_review_at")
+})
 @Getter
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -68,6 +71,15 @@ public class ReviewCard {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // 다음 복습 시각 - 활성 카드는 이미 지난 시각, 복습을 마친 비활성 카드는 완료 시각 + reviewCycle 일
+    // 복습 상태를 바꾸는 도메인 메서드만 갱신하며, 재활성화 스케줄러와 복습 대기열이 인덱스로 조회합니다
+    @Column(name = "next_review_at")
+    private LocalDateTime nextReviewAt;
+
+    // 간격 반복 엔진 상태 (답변이 없으면 null)
+    @Embedded
+    private ReviewSchedule schedule;
+
     @OneToMany(mappedBy = "reviewCard", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     @Builder.Default
@@ -78,6 +90,10 @@ public class ReviewCard {
         LocalDateTime now = LocalDateTime.now();
         this.createdAt = now;
         this.updatedAt = now;
+        if (this.nextReviewAt == null) {
+            // 새 카드는 바로 복습 대상입니다
+            this.nextReviewAt = now;
+        }
     }
 
     @PreUpdate
@@ -86,8 +102,16 @@ public class ReviewCard {
     }
 
     public void updateStatus(Boolean isActive) {
+        LocalDateTime now = LocalDateTime.now();
+        if (Boolean.FALSE.equals(isActive) && !Boolean.FALSE.equals(this.isActive)) {
+            // 복습 완료 - 다음 주기를 지금부터 계산합니다
+            this.nextReviewAt = now.plusDays(scheduledIntervalDays());
+        } else if (Boolean.TRUE.equals(isActive) && (this.nextReviewAt == null || this.nextReviewAt.isAfter(now))) {
+            // 주기 전에 다시 활성화하면 지금부터 복습 대상입니다
+            this.nextReviewAt = now;
+        }
         this.isActive = isActive;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now;
     }
 
     public void incrementReviewCount() {
@@ -99,11 +123,49 @@ public class ReviewCard {
         if (title != null) this.title = title;
         if (category != null) this.category = category;
         if (importance != null) this.importance = importance;
-        if (reviewCycle != null) this.reviewCycle = reviewCycle;
+        if (reviewCycle != null) rescheduleCycle(reviewCycle);
         if (url != null) this.url = url;
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * 대기 중인 비활성 카드의 주기가 바뀌면 마지막 복습 완료 시각 기준으로 다음 복습 시각을 다시 계산합니다.
+     * 간격 반복 엔진이 정한 간격이 있어도 사용자가 바꾼 주기가 이번 대기 간격이 되며, 다음 답변부터 다시 엔진이 계산합니다.
+     */
+    private void rescheduleCycle(Integer reviewCycle) {
+        if (reviewCycle.equals(this.reviewCycle)) {
+            return;
+        }
+
+        int previousIntervalDays = scheduledIntervalDays();
+        if (this.schedule != null && this.schedule.getIntervalDays() != null) {
+            this.schedule = this.schedule.toBuilder().intervalDays(reviewCycle).build();
+        }
+        this.reviewCycle = reviewCycle;
+        if (Boolean.FALSE.equals(this.isActive) && this.nextReviewAt != null) {
+            this.nextReviewAt = this.nextReviewAt.minusDays(previousIntervalDays).plusDays(scheduledIntervalDays());
+        }
+    }
+
+    /**
+     * 간격 반복 엔진이 계산한 상태를 반영합니다. 이미 복습을 마치고 기다리는 카드는 다음 복습 시각도 다시 계산합니다.
+     */
+    public void recordReview(ReviewSchedule schedule) {
+        this.schedule = schedule;
+        if (Boolean.FALSE.equals(this.isActive) && schedule.getLastReviewedAt() != null) {
+            this.nextReviewAt = schedule.getLastReviewedAt().plusDays(scheduledIntervalDays());
+        }
+    }
+
+    /**
+     * 다음 복습까지의 간격 - 엔진이 간격을 정하지 않았으면 사용자가 정한 reviewCycle 입니다.
+     */
+    public int scheduledIntervalDays() {
+        return this.schedule != null && this.schedule.getIntervalDays() != null
+                ? this.schedule.getIntervalDays()
+                : this.reviewCycle;
+    }
+
     public void recalculateSuccessRate() {
         if (this.reviewQuestions == null || this.reviewQuestions.isEmpty()) {
             this.successRate = 0.0;
@@ -0,0 +1,54 @@
+package algorithm_note.algorithm_note_v2.reviewcard.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 카드별 간격 반복 상태 - 답변 이력 전체 대신 이 값만으로 다음 간격을 계산합니다.
+ * stability/difficulty 의 의미는 엔진마다 다릅니다 (SM-2: 간격 일수/ease factor, FSRS: 안정도/난이도).
+ */
+@Embeddable
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReviewSchedule {
+
+    @Column(name = "srs_stability")
+    private Double stability;
+
+    @Column(name = "srs_difficulty")
+    private Double difficulty;
+
+    // 연속 성공 횟수 (실패하면 0)
+    @Column(name = "srs_repetitions")
+    private Integer repetitions;
+
+    // 다음 복습까지의 간격, 비어 있으면 카드의 reviewCycle 을 사용합니다
+    @Column(name = "srs_interval_days")
+    private Integer intervalDays;
+
+    @Column(name = "srs_last_reviewed_at")
+    private LocalDateTime lastReviewedAt;
+
+    @Column(name = "srs_last_success")
+    private Boolean lastSuccess;
+
+    // 세션 시작 직전 상태 - 같은 세션에서 성공 뒤 실패하면 이 상태에서 실패한 것으로 다시 계산합니다
+    @Column(name = "srs_session_stability")
+    private Double sessionStability;
+
+    @Column(name = "srs_session_difficulty")
+    private Double sessionDifficulty;
+
+    // 세션 첫 답변 시점의 경과 일수, 비어 있으면 세션 전 상태가 기록되지 않은 카드입니다
+    @Column(name = "srs_session_elapsed_days")
+    private Double sessionElapsedDays;
+}
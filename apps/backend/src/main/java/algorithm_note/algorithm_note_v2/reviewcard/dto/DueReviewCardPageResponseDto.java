@@ -0,0 +1,37 @@
+package algorithm_note.algorithm_note_v2.reviewcard.dto;
+
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DueReviewCardPageResponseDto {
+
+    private LocalDateTime dueBy;
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+    private List<ReviewCardResponseDto> reviewCards;
+
+    public static DueReviewCardPageResponseDto from(Slice<ReviewCard> slice, LocalDateTime dueBy) {
+        return DueReviewCardPageResponseDto.builder()
+                .dueBy(dueBy)
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .reviewCards(slice.getContent().stream()
+                        .map(ReviewCardResponseDto::fromWithoutQuestions)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package algorithm_note.algorithm_note_v2.reviewcard.dto;
+
+import algorithm_note.algorithm_note_v2.reviewcard.service.PdfExportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfExportJobResponseDto {
+
+    private String jobId;
+    private String status;
+    private Integer progress;
+    private Boolean cached;
+    private String errorMessage;
+    private String downloadUrl;
+
+    public static PdfExportJobResponseDto from(PdfExportJob job) {
+        return PdfExportJobResponseDto.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus().name())
+                .progress(job.getProgress())
+                .cached(job.isCached())
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getStatus() == PdfExportJob.Status.COMPLETED
+                        ? "/api/reviewCard/pdf/jobs/" + job.getJobId() + "/download"
+                        : null)
+                .build();
+    }
+}
@@ -30,6 +30,7 @@ public class ReviewCardResponseDto {
     private String taskField;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime nextReviewAt;
     private List<ReviewQuestionResponseDto> reviewQuestions;
 
     public static ReviewCardResponseDto from(ReviewCard reviewCard) {
@@ -48,6 +49,7 @@ public class ReviewCardResponseDto {
                 .taskField(reviewCard.getTaskField())
                 .createdAt(reviewCard.getCreatedAt())
                 .updatedAt(reviewCard.getUpdatedAt())
+                .nextReviewAt(reviewCard.getNextReviewAt())
                 .reviewQuestions(
                         reviewCard.getReviewQuestions().stream()
                                 .map(ReviewQuestionResponseDto::from)
@@ -72,6 +74,7 @@ public class ReviewCardResponseDto {
                 .taskField(reviewCard.getTaskField())
                 .createdAt(reviewCard.getCreatedAt())
                 .updatedAt(reviewCard.getUpdatedAt())
+                .nextReviewAt(reviewCard.getNextReviewAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package algorithm_note.algorithm_note_v2.reviewcard.exception;
+
+public class PdfExportJobNotFoundException extends RuntimeException {
+
+    public PdfExportJobNotFoundException(String message) {
+        super(message);
+    }
+
+    public PdfExportJobNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
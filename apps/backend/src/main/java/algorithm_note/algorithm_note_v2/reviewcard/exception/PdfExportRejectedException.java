@@ -0,0 +1,16 @@
+package algorithm_note.algorithm_note_v2.reviewcard.exception;
+
+public class PdfExportRejectedException extends RuntimeException {
+
+    public PdfExportRejectedException() {
+        super("Too many PDF export jobs. Please try again shortly.");
+    }
+
+    public PdfExportRejectedException(String message) {
+        super(message);
+    }
+
+    public PdfExportRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
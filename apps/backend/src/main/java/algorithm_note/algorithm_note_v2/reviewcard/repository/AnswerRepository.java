@@ -2,8 +2,12 @@ package algorithm_note.algorithm_note_v2.reviewcard.repository;
 
 import algorithm_note.algorithm_note_v2.reviewcard.domain.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -13,4 +17,19 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
     List<Answer> findAllByReviewQuestion_ReviewQuestionIdOrderByCreatedAtDesc(Long reviewQuestionId);
 
     List<Answer> findAllByReviewQuestion_ReviewCard_ReviewCardIdOrderByCreatedAtDesc(Long reviewCardId);
+
+    @Query("SELECT rq.reviewCard.reviewCardId AS reviewCardId, " +
+           "a.evaluationResult AS evaluationResult, a.createdAt AS createdAt " +
+           "FROM Answer a JOIN a.reviewQuestion rq " +
+           "WHERE rq.reviewCard.reviewCardId IN :reviewCardIds " +
+           "ORDER BY rq.reviewCard.reviewCardId, a.answerId")
+    List<ReviewEvent> findReviewEventsByReviewCardIds(@Param("reviewCardIds") Collection<Long> reviewCardIds);
+
+    interface ReviewEvent {
+        Long getReviewCardId();
+
+        Answer.EvaluationResult getEvaluationResult();
+
+        LocalDateTime getCreatedAt();
+    }
 }
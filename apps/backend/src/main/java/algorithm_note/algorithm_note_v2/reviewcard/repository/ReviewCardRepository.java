@@ -2,11 +2,16 @@ package algorithm_note.algorithm_note_v2.reviewcard.repository;
 
 import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
 import algorithm_note.algorithm_note_v2.user.domain.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +41,14 @@ public interface ReviewCardRepository extends JpaRepository<ReviewCard, Long> {
             @Param("user") User user
     );
 
+    @Query("SELECT DISTINCT rc FROM ReviewCard rc " +
+           "LEFT JOIN FETCH rc.reviewQuestions " +
+           "WHERE rc.reviewCardId IN :reviewCardIds AND rc.user = :user")
+    List<ReviewCard> findAllByIdInAndUserWithQuestions(
+            @Param("reviewCardIds") Collection<Long> reviewCardIds,
+            @Param("user") User user
+    );
+
 
     List<ReviewCard> findAllByUserAndImportanceOrderByCreatedAtDesc(User user, Integer importance);
 
@@ -43,5 +56,54 @@ public interface ReviewCardRepository extends JpaRepository<ReviewCard, Long> {
 
     long countByUserAndIsActive(User user, Boolean isActive);
 
-    List<ReviewCard> findAllByIsActive(Boolean isActive);
+    @Query("SELECT rc.reviewCardId FROM ReviewCard rc " +
+           "WHERE rc.isActive = false AND rc.nextReviewAt <= :now " +
+           "ORDER BY rc.nextReviewAt")
+    List<Long> findDueInactiveIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT rc.reviewCardId AS reviewCardId, rc.updatedAt AS updatedAt, rc.reviewCycle AS reviewCycle " +
+           "FROM ReviewCard rc " +
+           "WHERE rc.isActive = :isActive AND rc.nextReviewAt IS NULL")
+    List<MissingNextReview> findMissingNextReviewAt(@Param("isActive") Boolean isActive, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ReviewCard rc SET rc.nextReviewAt = :nextReviewAt " +
+           "WHERE rc.reviewCardId = :reviewCardId AND rc.nextReviewAt IS NULL")
+    int fillNextReviewAt(
+            @Param("reviewCardId") Long reviewCardId,
+            @Param("nextReviewAt") LocalDateTime nextReviewAt
+    );
+
+    @Query("SELECT rc FROM ReviewCard rc WHERE rc.reviewCardId > :afterId ORDER BY rc.reviewCardId")
+    List<ReviewCard> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MIN(rc.nextReviewAt) FROM ReviewCard rc WHERE rc.isActive = false")
+    LocalDateTime findOldestInactiveNextReviewAt();
+
+    // next_review_at 이 NULL 인 기존 카드는 시작 시 NextReviewAtBackfillService 가 채우므로 여기서는 따로 다루지 않습니다
+    @Query("SELECT rc FROM ReviewCard rc " +
+           "JOIN FETCH rc.category " +
+           "WHERE rc.user = :user AND rc.nextReviewAt <= :dueBy " +
+           "ORDER BY rc.nextReviewAt, rc.reviewCardId")
+    Slice<ReviewCard> findDueByUser(
+            @Param("user") User user,
+            @Param("dueBy") LocalDateTime dueBy,
+            Pageable pageable
+    );
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ReviewCard rc SET rc.isActive = true, rc.updatedAt = :now " +
+           "WHERE rc.reviewCardId IN :reviewCardIds AND rc.isActive = false")
+    int reactivateAll(
+            @Param("reviewCardIds") Collection<Long> reviewCardIds,
+            @Param("now") LocalDateTime now
+    );
+
+    interface MissingNextReview {
+        Long getReviewCardId();
+
+        LocalDateTime getUpdatedAt();
+
+        Integer getReviewCycle();
+    }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ public class AnswerService {
 
     private final AnswerRepository answerRepository;
     private final ReviewQuestionRepository reviewQuestionRepository;
+    private final ReviewSchedulingService reviewSchedulingService;
 
     @Transactional
     public AnswerCreateResponseDto createAnswer(AnswerCreateRequestDto requestDto, User user) {
@@ -51,8 +52,9 @@ public class AnswerService {
         reviewQuestion.incrementCount(isSuccess);
 
         reviewQuestion.getReviewCard().recalculateSuccessRate();
+        reviewSchedulingService.recordAnswer(reviewQuestion.getReviewCard(), isSuccess, savedAnswer.getCreatedAt());
 
-        log.info("Successfully created answer with ID: {}, updated question counts and card success rate",
+        log.info("Successfully created answer with ID: {}, updated question counts, card success rate and schedule",
                 savedAnswer.getAnswerId());
 
         return AnswerCreateResponseDto.success(savedAnswer.getAnswerId());
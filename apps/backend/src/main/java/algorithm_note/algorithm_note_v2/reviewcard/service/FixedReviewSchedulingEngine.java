@@ -0,0 +1,22 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 동작 - 답변 결과와 관계없이 카드의 reviewCycle 일마다 복습합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "review.scheduling.engine", havingValue = "fixed", matchIfMissing = true)
+public class FixedReviewSchedulingEngine implements ReviewSchedulingEngine {
+
+    @Override
+    public ReviewSchedule review(ReviewSchedule current, boolean success, double elapsedDays, int initialIntervalDays) {
+        int repetitions = current == null || current.getRepetitions() == null ? 0 : current.getRepetitions();
+        // intervalDays 를 비워 두어 reviewCycle 변경이 바로 반영되게 합니다
+        return ReviewSchedule.builder()
+                .repetitions(success ? repetitions + 1 : 0)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * FSRS-4.5 (기본 가중치) - 기억 안정도(stability, 일)와 난이도(difficulty, 1-10)로 목표 기억률(desiredRetention)에 맞는 간격을 계산합니다.
+ * 성공은 Good(3), 실패는 Again(1) 등급으로 취급합니다. 첫 간격은 reviewCycle 이 아니라 초기 안정도를 따릅니다.
+ */
+@Component
+@ConditionalOnProperty(name = "review.scheduling.engine", havingValue = "fsrs")
+@RequiredArgsConstructor
+public class FsrsReviewSchedulingEngine implements ReviewSchedulingEngine {
+
+    private static final double[] W = {
+        0.4872, 1.4003, 3.7145, 13.8206, 5.1618, 1.2298, 0.8975, 0.031, 1.6474,
+        0.1367, 1.0461, 2.1072, 0.0793, 0.3246, 1.587, 0.2272, 2.8755
+    };
+    private static final double DECAY = -0.5;
+    private static final double FACTOR = 19.0 / 81.0;
+    private static final int AGAIN = 1;
+    private static final int GOOD = 3;
+    private static final int EASY = 4;
+
+    private final ReviewSchedulingProperties properties;
+
+    @Override
+    public ReviewSchedule review(ReviewSchedule current, boolean success, double elapsedDays, int initialIntervalDays) {
+        int grade = success ? GOOD : AGAIN;
+        int repetitions = current == null || current.getRepetitions() == null ? 0 : current.getRepetitions();
+
+        double stability;
+        double difficulty;
+        if (current == null || current.getStability() == null || current.getDifficulty() == null) {
+            stability = W[grade - 1];
+            difficulty = initialDifficulty(grade);
+        } else {
+            double s = current.getStability();
+            double d = current.getDifficulty();
+            double retrievability = Math.pow(1 + FACTOR * Math.max(0, elapsedDays) / s, DECAY);
+
+            stability = success
+                ? s * (1 + Math.exp(W[8]) * (11 - d) * Math.pow(s, -W[9]) * (Math.exp(W[10] * (1 - retrievability)) - 1))
+                : Math.min(s, W[11] * Math.pow(d, -W[12]) * (Math.pow(s + 1, W[13]) - 1) * Math.exp(W[14] * (1 - retrievability)));
+            difficulty = clampDifficulty(W[7] * initialDifficulty(EASY) + (1 - W[7]) * (d - W[6] * (grade - GOOD)));
+        }
+
+        double interval = stability / FACTOR * (Math.pow(properties.getDesiredRetention(), 1 / DECAY) - 1);
+        interval = Math.min(Math.max(1, interval), properties.getMaximumIntervalDays());
+
+        return ReviewSchedule.builder()
+                .stability(stability)
+                .difficulty(difficulty)
+                .repetitions(success ? repetitions + 1 : 0)
+                .intervalDays((int) Math.round(interval))
+                .build();
+    }
+
+    private static double initialDifficulty(int grade) {
+        return clampDifficulty(W[4] - (grade - GOOD) * W[5]);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.min(10, Math.max(1, difficulty));
+    }
+}
@@ -0,0 +1,82 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReactivationProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
+import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository.MissingNextReview;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ddl-auto: update 로 next_review_at 컬럼이 추가되면 기존 카드는 NULL 이라 재활성화 스케줄러와 복습 대기열 어느 쪽에도 잡히지 않습니다.
+ * 스케줄러와 웹 서버가 시작되기 전에 기존 기준으로 채웁니다 - 활성 카드는 이미 복습 대상(updated_at),
+ * 비활성 카드는 기존 스케줄러 기준(updated_at + review_cycle 일)입니다.
+ * NULL 인 행만 갱신하므로 여러 노드가 동시에 시작해도 안전하고, 채워진 뒤에는 (is_active, next_review_at) 인덱스 조회 두 번으로 끝납니다.
+ */
+@Slf4j
+@Service
+public class NextReviewAtBackfillService implements SmartInitializingSingleton {
+
+    private final ReviewCardRepository reviewCardRepository;
+    private final ReactivationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public NextReviewAtBackfillService(ReviewCardRepository reviewCardRepository,
+                                       ReactivationProperties properties,
+                                       PlatformTransactionManager transactionManager) {
+        this.reviewCardRepository = reviewCardRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int filled = backfill(true) + backfill(false);
+        if (filled > 0) {
+            log.info("Backfilled next_review_at for {} review card(s)", filled);
+        }
+    }
+
+    /**
+     * @return next_review_at 을 채운 카드 수
+     */
+    public int backfill(boolean isActive) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int filled = 0;
+
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> fillBatch(isActive, batchSize));
+            // 다른 노드가 먼저 채운 행은 0 으로 돌아오므로 조회 결과가 빌 때까지 반복합니다
+            if (updated == null || updated < 0) {
+                break;
+            }
+            filled += updated;
+        }
+        return filled;
+    }
+
+    // 채울 행이 없으면 -1
+    private int fillBatch(boolean isActive, int batchSize) {
+        List<MissingNextReview> rows = reviewCardRepository.findMissingNextReviewAt(isActive, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return -1;
+        }
+
+        int updated = 0;
+        for (MissingNextReview row : rows) {
+            updated += reviewCardRepository.fillNextReviewAt(row.getReviewCardId(), legacyNextReviewAt(row, isActive));
+        }
+        return updated;
+    }
+
+    static LocalDateTime legacyNextReviewAt(MissingNextReview row, boolean isActive) {
+        LocalDateTime updatedAt = row.getUpdatedAt() != null ? row.getUpdatedAt() : LocalDateTime.now();
+        return isActive ? updatedAt : updatedAt.plusDays(row.getReviewCycle());
+    }
+}
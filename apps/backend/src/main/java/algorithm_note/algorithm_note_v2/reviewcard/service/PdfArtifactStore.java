@@ -0,0 +1,112 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.PdfExportProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfGenerationException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 완성된 PDF 를 콘텐츠 해시 이름으로 로컬 디스크에 보관합니다.
+ * 임시 파일에 다 쓴 뒤 이름을 바꾸므로 읽는 쪽은 항상 완전한 파일만 보게 됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfArtifactStore {
+
+    private final PdfExportProperties properties;
+    private Path directory;
+
+    @PostConstruct
+    public void init() throws IOException {
+        String configured = properties.getStorageDir();
+        directory = configured == null || configured.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "pdf-exports")
+            : Path.of(configured);
+        Files.createDirectories(directory);
+        log.info("PDF artifacts stored in {}", directory.toAbsolutePath());
+    }
+
+    public Optional<Path> find(String contentHash) {
+        Path path = pathFor(contentHash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            // 자주 쓰이는 PDF 가 보관 기간 정리에서 살아남도록 사용 시각을 갱신합니다
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Failed to touch PDF artifact {}: {}", path, e.getMessage());
+        }
+        return Optional.of(path);
+    }
+
+    public Path write(String contentHash, Consumer<OutputStream> writer) {
+        Path target = pathFor(contentHash);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, contentHash, ".part");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.accept(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return target;
+        } catch (IOException e) {
+            throw new PdfGenerationException("PDF 파일 저장 중 오류가 발생했습니다.", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 PDF 와 남겨진 임시 파일을 지웁니다.
+     */
+    public int evictOlderThan(Duration retention) {
+        FileTime cutoff = FileTime.from(Instant.now().minus(retention));
+        int evicted = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                    evicted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to evict PDF artifacts in {}: {}", directory, e.getMessage());
+        }
+        return evicted;
+    }
+
+    private Path pathFor(String contentHash) {
+        return directory.resolve(contentHash + ".pdf");
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary PDF file {}: {}", path, e.getMessage());
+        }
+    }
+}
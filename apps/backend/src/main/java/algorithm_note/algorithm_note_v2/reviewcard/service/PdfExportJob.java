@@ -0,0 +1,60 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 백그라운드 PDF 내보내기 작업의 진행 상태 (노드 메모리에만 보관)
+ */
+@Getter
+public class PdfExportJob {
+
+    public enum Status { QUEUED, RENDERING, COMPLETED, FAILED }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final Long userId;
+    private final String contentHash;
+    private final String filename;
+    private final Instant createdAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile int progress;
+    private volatile boolean cached;
+    private volatile Path artifact;
+    private volatile String errorMessage;
+    private volatile Instant finishedAt;
+
+    public PdfExportJob(Long userId, String contentHash, String filename) {
+        this.userId = userId;
+        this.contentHash = contentHash;
+        this.filename = filename;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void markRendering() {
+        this.status = Status.RENDERING;
+    }
+
+    void updateProgress(int progress) {
+        this.progress = Math.max(this.progress, Math.min(progress, 100));
+    }
+
+    void complete(Path artifact, boolean cached) {
+        this.artifact = artifact;
+        this.cached = cached;
+        this.progress = 100;
+        this.finishedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+}
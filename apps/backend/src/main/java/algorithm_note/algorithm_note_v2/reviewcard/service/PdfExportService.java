@@ -0,0 +1,271 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.PdfExportProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfExportJobNotFoundException;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfExportRejectedException;
+import algorithm_note.algorithm_note_v2.user.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.w3c.dom.Document;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PDF 내보내기를 백그라운드 작업으로 실행합니다.
+ * 카드 조회와 HTML 렌더링은 요청 트랜잭션 안에서 끝내고, 무거운 PDF 레이아웃만 pdfExportTaskExecutor 에서 수행합니다.
+ * 완성된 PDF 는 콘텐츠 해시로 보관되어 제목, 안내문, 질문이 같은 시험지는 다시 렌더링하지 않습니다.
+ */
+@Service
+@Slf4j
+public class PdfExportService {
+
+    private static final DateTimeFormatter FILENAME_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final PdfGenerationService pdfGenerationService;
+    private final PdfArtifactStore pdfArtifactStore;
+    private final PdfExportProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, PdfExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, SharedRender> rendersInFlight = new ConcurrentHashMap<>();
+    private final Counter cachedJobs;
+    private final Counter renderedJobs;
+    private final Counter failedJobs;
+    private final Counter rejectedJobs;
+
+    public PdfExportService(PdfGenerationService pdfGenerationService,
+                            PdfArtifactStore pdfArtifactStore,
+                            PdfExportProperties properties,
+                            @Qualifier("pdfExportTaskExecutor") ThreadPoolTaskExecutor executor,
+                            MeterRegistry meterRegistry) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.pdfArtifactStore = pdfArtifactStore;
+        this.properties = properties;
+        this.executor = executor;
+        this.cachedJobs = jobCounter(meterRegistry, "cached");
+        this.renderedJobs = jobCounter(meterRegistry, "rendered");
+        this.failedJobs = jobCounter(meterRegistry, "failed");
+        this.rejectedJobs = jobCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * 사용자마다 자기 작업을 받습니다. 같은 시험지를 누군가 이미 렌더링 중이면 새 작업을 그 렌더링에 붙여 함께 완료시킵니다.
+     */
+    @Transactional(readOnly = true)
+    public PdfExportJob submit(List<Long> reviewCardIds, String examTitle, String instruction, User user) {
+        List<ReviewCard> reviewCards = pdfGenerationService.findOwnedReviewCards(reviewCardIds, user);
+        String contentHash = pdfGenerationService.contentHash(reviewCards, examTitle, instruction);
+        String filename = String.format("review_cards_%s.pdf", LocalDateTime.now().format(FILENAME_TIMESTAMP));
+        PdfExportJob job = new PdfExportJob(user.getId(), contentHash, filename);
+
+        while (true) {
+            Optional<Path> artifact = pdfArtifactStore.find(contentHash);
+            if (artifact.isPresent()) {
+                register(job);
+                job.complete(artifact.get(), true);
+                cachedJobs.increment();
+                log.info("Serving cached PDF {} for job {}", contentHash, job.getJobId());
+                return job;
+            }
+
+            SharedRender running = rendersInFlight.get(contentHash);
+            if (running != null) {
+                Optional<PdfExportJob> attached = running.attach(job);
+                if (attached.isPresent()) {
+                    return register(attached.get());
+                }
+                // 방금 끝난 렌더링이므로 파일부터 다시 확인합니다
+                continue;
+            }
+
+            // HTML 렌더링 전에 자리를 먼저 잡아 경쟁에서 진 요청이 같은 작업을 반복하지 않게 합니다
+            SharedRender render = new SharedRender(job);
+            if (rendersInFlight.putIfAbsent(contentHash, render) == null) {
+                register(job);
+                start(render, reviewCards, examTitle, instruction);
+                return job;
+            }
+        }
+    }
+
+    /**
+     * 요청 스레드에서 바로 PDF 를 만들어 파일 경로를 돌려줍니다.
+     * 응답을 보내기 전에 파일을 끝까지 쓰므로 렌더링 오류는 잘린 다운로드가 아니라 오류 응답이 됩니다.
+     * 같은 시험지의 PDF 가 이미 보관되어 있으면 다시 렌더링하지 않습니다.
+     */
+    public Path renderNow(List<Long> reviewCardIds, String examTitle, String instruction, User user) {
+        List<ReviewCard> reviewCards = pdfGenerationService.findOwnedReviewCards(reviewCardIds, user);
+        String contentHash = pdfGenerationService.contentHash(reviewCards, examTitle, instruction);
+
+        Optional<Path> artifact = pdfArtifactStore.find(contentHash);
+        if (artifact.isPresent()) {
+            log.info("Serving cached PDF {} for {} ReviewCards", contentHash, reviewCards.size());
+            return artifact.get();
+        }
+
+        Document document = pdfGenerationService.renderExamDocument(reviewCards, examTitle, instruction);
+        return pdfArtifactStore.write(contentHash, out -> pdfGenerationService.writePdf(document, out));
+    }
+
+    public PdfExportJob getJob(String jobId, User user) {
+        PdfExportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(user.getId())) {
+            throw new PdfExportJobNotFoundException("PDF 내보내기 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 완료된 작업의 PDF 파일 - 아직 완료되지 않았으면 비어 있습니다.
+     */
+    public Optional<Path> getArtifact(String jobId, User user) {
+        PdfExportJob job = getJob(jobId, user);
+        if (job.getStatus() != PdfExportJob.Status.COMPLETED) {
+            return Optional.empty();
+        }
+        if (!Files.isRegularFile(job.getArtifact())) {
+            throw new PdfExportJobNotFoundException("PDF 파일이 만료되었습니다. 다시 생성해주세요: " + jobId);
+        }
+        return Optional.of(job.getArtifact());
+    }
+
+    @Scheduled(fixedDelayString = "${pdf.export.cleanup-interval-millis:60000}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minusSeconds(properties.getJobRetentionSeconds());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+
+        int evicted = pdfArtifactStore.evictOlderThan(Duration.ofSeconds(properties.getArtifactRetentionSeconds()));
+        if (evicted > 0) {
+            log.info("Evicted {} expired PDF artifacts", evicted);
+        }
+    }
+
+    private void start(SharedRender render, List<ReviewCard> reviewCards, String examTitle, String instruction) {
+        try {
+            Document document = pdfGenerationService.renderExamDocument(reviewCards, examTitle, instruction);
+            executor.execute(() -> render(render, document));
+        } catch (TaskRejectedException e) {
+            rejectedJobs.increment();
+            log.warn("PDF export rejected: worker pool saturated (active: {}, queued: {})",
+                executor.getActiveCount(), executor.getThreadPoolExecutor().getQueue().size());
+            for (PdfExportJob job : finish(render)) {
+                if (job == render.owner()) {
+                    jobs.remove(job.getJobId());
+                } else {
+                    job.fail("PDF 생성 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+                }
+            }
+            throw new PdfExportRejectedException();
+        } catch (RuntimeException e) {
+            finish(render).forEach(job -> job.fail("PDF 생성 중 오류가 발생했습니다."));
+            failedJobs.increment();
+            throw e;
+        }
+        log.info("Queued PDF export job {} for {} ReviewCards", render.owner().getJobId(), reviewCards.size());
+    }
+
+    private void render(SharedRender render, Document document) {
+        String contentHash = render.owner().getContentHash();
+        try {
+            render.markRendering();
+            // 파일 저장까지 마쳐야 100% 이므로 렌더링 진행률은 90% 까지만 반영합니다
+            Path artifact = pdfArtifactStore.write(contentHash,
+                out -> pdfGenerationService.writePdf(document, out, progress -> render.updateProgress(progress * 9 / 10)));
+            finish(render).forEach(job -> job.complete(artifact, false));
+            renderedJobs.increment();
+            log.info("Completed PDF export {} for job {}", contentHash, render.owner().getJobId());
+        } catch (Exception e) {
+            finish(render).forEach(job -> job.fail("PDF 생성 중 오류가 발생했습니다."));
+            failedJobs.increment();
+            log.error("PDF export {} failed for job {}", contentHash, render.owner().getJobId(), e);
+        }
+    }
+
+    // 새 요청이 끝난 렌더링에 붙지 않도록 맵에서 먼저 뺀 뒤 붙어 있던 작업을 돌려줍니다
+    private List<PdfExportJob> finish(SharedRender render) {
+        rendersInFlight.remove(render.owner().getContentHash(), render);
+        return render.finish();
+    }
+
+    private PdfExportJob register(PdfExportJob job) {
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    private static Counter jobCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pdf.export.jobs")
+            .description("PDF export jobs by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 같은 콘텐츠 해시의 렌더링 하나와 거기에 붙은 사용자별 작업. 사용자마다 작업은 하나입니다.
+     */
+    private static final class SharedRender {
+
+        private final PdfExportJob owner;
+        private final List<PdfExportJob> attached = new ArrayList<>();
+        private boolean rendering;
+        private int progress;
+        private boolean finished;
+
+        private SharedRender(PdfExportJob owner) {
+            this.owner = owner;
+            this.attached.add(owner);
+        }
+
+        private PdfExportJob owner() {
+            return owner;
+        }
+
+        private synchronized Optional<PdfExportJob> attach(PdfExportJob job) {
+            if (finished) {
+                return Optional.empty();
+            }
+            for (PdfExportJob existing : attached) {
+                if (existing.getUserId().equals(job.getUserId())) {
+                    return Optional.of(existing);
+                }
+            }
+            if (rendering) {
+                job.markRendering();
+            }
+            job.updateProgress(progress);
+            attached.add(job);
+            return Optional.of(job);
+        }
+
+        private synchronized void markRendering() {
+            rendering = true;
+            attached.forEach(PdfExportJob::markRendering);
+        }
+
+        private synchronized void updateProgress(int progress) {
+            this.progress = Math.max(this.progress, progress);
+            attached.forEach(job -> job.updateProgress(progress));
+        }
+
+        private synchronized List<PdfExportJob> finish() {
+            finished = true;
+            return List.copyOf(attached);
+        }
+    }
+}
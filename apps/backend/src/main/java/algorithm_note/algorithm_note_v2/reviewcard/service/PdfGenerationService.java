@@ -2,26 +2,29 @@ package algorithm_note.algorithm_note_v2.reviewcard.service;
 
 import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.ThymeleafTemplateDto;
-import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfGenerationException;
 import algorithm_note.algorithm_note_v2.reviewcard.exception.ReviewCardNotFoundException;
 import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
 import algorithm_note.algorithm_note_v2.user.domain.User;
-import com.lowagie.text.pdf.BaseFont;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
-import org.xhtmlrenderer.pdf.ITextRenderer;
-
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import org.w3c.dom.Document;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,165 +35,114 @@ public class PdfGenerationService {
 
     private final ReviewCardRepository reviewCardRepository;
     private final SpringTemplateEngine templateEngine;
+    private final PdfRenderEngine pdfRenderEngine;
 
-    public byte[] generatePdfFromReviewCards(
-            List<Long> reviewCardIds,
-            String examTitle,
-            String instruction,
-            User user) {
-
-        log.info("Starting PDF generation for ReviewCard IDs: {}", reviewCardIds);
+    // 한 번의 IN 쿼리에 담는 최대 ID 수
+    private static final int FETCH_CHUNK_SIZE = 500;
 
-        // 1. ReviewCard 조회 및 권한 검증
-        List<ReviewCard> reviewCards = reviewCardIds.stream()
-                .map(id -> reviewCardRepository.findByIdAndUserWithQuestions(id, user)
-                        .orElseThrow(() -> new ReviewCardNotFoundException(
-                                "복습 카드를 찾을 수 없습니다: " + id)))
-                .collect(Collectors.toList());
+    private static final String TEMPLATE_NAME = "exam/exam";
 
-        log.info("Retrieved {} ReviewCards", reviewCards.size());
-
-        // 2. Thymeleaf 템플릿 데이터 준비
+    /**
+     * 템플릿을 렌더링해 Flying Saucer 에 넘길 XHTML DOM 을 반환합니다. 카드는 질문까지 조회된 상태여야 합니다.
+     */
+    public Document renderExamDocument(List<ReviewCard> reviewCards, String examTitle, String instruction) {
+        // 1. Thymeleaf 템플릿 데이터 준비
         ThymeleafTemplateDto templateDto = ThymeleafTemplateDto.from(
                 reviewCards, examTitle, instruction);
 
         log.info("Prepared template data with {} problems", templateDto.getProblems().size());
 
-        // 3. HTML 렌더링
+        // 2. HTML 렌더링
         Context context = new Context();
         context.setVariable("courseTitle", templateDto.getCourseTitle());
         context.setVariable("examTitle", templateDto.getExamTitle());
         context.setVariable("instruction", templateDto.getInstruction());
         context.setVariable("problems", templateDto.getProblems());
 
-        String html = templateEngine.process("exam/exam", context);
+        String html = templateEngine.process(TEMPLATE_NAME, context);
         log.info("HTML rendered successfully");
 
-        // 4. Flying Saucer로 PDF 변환
-        byte[] pdfBytes = convertHtmlToPdf(html);
-        log.info("PDF generated successfully, size: {} bytes", pdfBytes.length);
-
-        return pdfBytes;
+        return toXhtmlDocument(html);
     }
 
-    private byte[] convertHtmlToPdf(String html) {
-        try {
-            log.info("Starting HTML to PDF conversion with Flying Saucer");
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            ITextRenderer renderer = new ITextRenderer();
-
-            // 한글 폰트 등록
-            registerKoreanFont(renderer);
-
-            // HTML을 XHTML로 변환하여 설정
-            String xhtml = normalizeHtmlToXhtml(html);
-            renderer.setDocumentFromString(xhtml);
-            renderer.layout();
-            renderer.createPDF(outputStream);
-
-            byte[] pdf = outputStream.toByteArray();
-            outputStream.close();
+    /**
+     * 3. Flying Saucer로 PDF 변환 - 결과를 메모리에 모으지 않고 out 으로 바로 씁니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writePdf(Document document, OutputStream out) {
+        writePdf(document, out, progress -> { });
+    }
 
-            log.info("PDF conversion completed successfully");
-            return pdf;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writePdf(Document document, OutputStream out, IntConsumer progress) {
+        pdfRenderEngine.render(document, out, progress);
+        log.info("PDF generated successfully");
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to convert HTML to PDF", e);
-            throw new PdfGenerationException("PDF 생성 중 오류가 발생했습니다.", e);
+    /**
+     * 같은 시험지인지 판별하는 콘텐츠 해시 - 템플릿에 들어가는 제목, 안내문, 질문 목록이 모두 같으면 같은 PDF 입니다.
+     * 복습 횟수처럼 PDF 에 나오지 않는 변경으로 해시가 바뀌지 않도록 카드의 수정 시각은 쓰지 않습니다.
+     */
+    public String contentHash(List<ReviewCard> reviewCards, String examTitle, String instruction) {
+        ThymeleafTemplateDto templateDto = ThymeleafTemplateDto.from(reviewCards, examTitle, instruction);
+
+        StringBuilder key = new StringBuilder();
+        appendField(key, TEMPLATE_NAME);
+        appendField(key, templateDto.getCourseTitle());
+        appendField(key, templateDto.getExamTitle());
+        appendField(key, templateDto.getInstruction());
+        for (ThymeleafTemplateDto.ProblemDto problem : templateDto.getProblems()) {
+            appendField(key, problem.getQuestion());
         }
-    }
 
-    private void registerKoreanFont(ITextRenderer renderer) {
         try {
-            // 1. 먼저 리소스에서 폰트 파일 찾기
-            ClassPathResource fontResource = new ClassPathResource("fonts/NanumGothic.ttf");
-
-            if (fontResource.exists()) {
-                log.info("Found Korean font in resources: fonts/NanumGothic.ttf");
-
-                // ClassPath 리소스를 임시 파일로 복사 (BaseFont는 파일 경로 필요)
-                try (InputStream fontStream = fontResource.getInputStream()) {
-                    Path tempFontFile = Files.createTempFile("NanumGothic", ".ttf");
-                    Files.copy(fontStream, tempFontFile, StandardCopyOption.REPLACE_EXISTING);
-
-                    String fontPath = tempFontFile.toAbsolutePath().toString();
-                    renderer.getFontResolver().addFont(
-                        fontPath,
-                        BaseFont.IDENTITY_H,  // 유니코드 인코딩
-                        BaseFont.EMBEDDED     // PDF에 폰트 임베딩
-                    );
-
-                    log.info("Successfully registered Korean font: NanumGothic");
-                }
-            } else {
-                log.warn("Korean font file not found in resources. Korean text may not render correctly.");
-                log.warn("Please add NanumGothic.ttf to src/main/resources/fonts/ directory");
-
-                // 시스템 폰트 시도 (Windows)
-                tryRegisterSystemFont(renderer);
-            }
-        } catch (Exception e) {
-            log.error("Failed to register Korean font", e);
-            // 폰트 등록 실패해도 PDF 생성은 계속 진행 (Latin 문자는 표시됨)
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
-    private void tryRegisterSystemFont(ITextRenderer renderer) {
-        try {
-            // Windows 시스템 폰트 경로들 시도
-            String[] systemFontPaths = {
-                "C:/Windows/Fonts/malgun.ttf",      // 맑은 고딕
-                "C:/Windows/Fonts/gulim.ttc",       // 굴림
-                "/usr/share/fonts/truetype/nanum/NanumGothic.ttf", // Linux
-                "/System/Library/Fonts/AppleGothic.ttf"            // Mac
-            };
-
-            for (String fontPath : systemFontPaths) {
-                Path path = Path.of(fontPath);
-                if (Files.exists(path)) {
-                    renderer.getFontResolver().addFont(
-                        fontPath,
-                        BaseFont.IDENTITY_H,
-                        BaseFont.EMBEDDED
-                    );
-                    log.info("Successfully registered system font: {}", fontPath);
-                    return;
-                }
-            }
-
-            log.warn("No system Korean font found");
-        } catch (Exception e) {
-            log.error("Failed to register system font", e);
+    // 길이를 앞에 붙여 필드 경계가 값 안의 구분자와 섞이지 않게 합니다
+    private static void appendField(StringBuilder key, String value) {
+        if (value == null) {
+            key.append("-1:");
+            return;
         }
+        key.append(value.length()).append(':').append(value);
     }
 
-    private String normalizeHtmlToXhtml(String html) {
-        // Flying Saucer는 엄격한 XHTML을 요구하므로 HTML을 정규화
-        String xhtml = html;
-
-        // 1. Self-closing 태그들을 XHTML 형식으로 변환
-        // <meta ...> → <meta ... />
-        xhtml = xhtml.replaceAll("<meta([^>]*?)>", "<meta$1 />");
-        xhtml = xhtml.replaceAll("<link([^>]*?)>", "<link$1 />");
-        xhtml = xhtml.replaceAll("<br>", "<br />");
-        xhtml = xhtml.replaceAll("<hr>", "<hr />");
-        xhtml = xhtml.replaceAll("<img([^>]*?)>", "<img$1 />");
-        xhtml = xhtml.replaceAll("<input([^>]*?)>", "<input$1 />");
-
-        // 2. 이미 />로 끝나는 경우 중복 방지 (// → /)
-        xhtml = xhtml.replaceAll("\\s*/\\s*/>", " />");
-
-        // 3. DOCTYPE가 없으면 XHTML DOCTYPE 추가
-        if (!xhtml.contains("<!DOCTYPE")) {
-            xhtml = "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" " +
-                   "\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">\n" +
-                   "<html xmlns=\"http://www.w3.org/1999/xhtml\">\n" +
-                   xhtml +
-                   "</html>";
+    /**
+     * 요청된 카드를 IN 쿼리로 한 번에 조회하고 요청 순서대로 돌려줍니다.
+     * 존재하지 않거나 다른 사용자의 카드는 모아서 한 번에 보고합니다.
+     */
+    public List<ReviewCard> findOwnedReviewCards(List<Long> reviewCardIds, User user) {
+        List<Long> distinctIds = reviewCardIds.stream().distinct().collect(Collectors.toList());
+
+        Map<Long, ReviewCard> cardsById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + FETCH_CHUNK_SIZE, distinctIds.size()));
+            reviewCardRepository.findAllByIdInAndUserWithQuestions(chunk, user)
+                    .forEach(card -> cardsById.put(card.getReviewCardId(), card));
+        }
+
+        List<Long> missingIds = distinctIds.stream()
+                .filter(id -> !cardsById.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            throw new ReviewCardNotFoundException("복습 카드를 찾을 수 없습니다: " + missingIds);
         }
 
-        log.debug("Normalized HTML to XHTML");
-        return xhtml;
+        return reviewCardIds.stream()
+                .map(cardsById::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Flying Saucer는 엄격한 XHTML DOM을 요구하므로 jsoup 으로 HTML 을 한 번 파싱해 W3C DOM 으로 바로 넘깁니다.
+     * 빈 요소(meta, br 등)와 DOCTYPE 은 DOM 이라 문제가 되지 않으므로 문자열 정규화가 필요 없습니다.
+     */
+    static Document toXhtmlDocument(String html) {
+        return W3CDom.convert(Jsoup.parse(html));
     }
 }
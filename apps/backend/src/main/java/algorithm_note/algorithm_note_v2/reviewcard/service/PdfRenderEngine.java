@@ -0,0 +1,150 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.PdfRenderProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfGenerationException;
+import com.lowagie.text.pdf.BaseFont;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Flying Saucer PDF 렌더링
+ * 한글 폰트는 시작 시 classpath 에서 한 번만 임시 파일로 추출합니다. ITextRenderer 는 문서마다 상태가 남으므로
+ * 렌더링마다 새로 만들고, 레이아웃 메모리를 제한하기 위해 동시에 poolSize 개까지만 렌더링합니다.
+ */
+@Component
+@Slf4j
+public class PdfRenderEngine {
+
+    private final PdfRenderProperties properties;
+    private final Semaphore permits;
+    private final Timer renderTimer;
+    private Path extractedFont;
+    private String fontPath;
+
+    public PdfRenderEngine(PdfRenderProperties properties, MeterRegistry meterRegistry) {
+        int poolSize = Math.max(1, properties.getPoolSize());
+        this.properties = properties;
+        this.permits = new Semaphore(poolSize, true);
+        this.renderTimer = Timer.builder("pdf.render.duration")
+            .description("Time spent laying out and writing a PDF")
+            .register(meterRegistry);
+
+        Gauge.builder("pdf.render.in-use", permits, p -> poolSize - p.availablePermits())
+            .description("PDF renders currently in progress")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        fontPath = extractFont();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (extractedFont != null) {
+            try {
+                Files.deleteIfExists(extractedFont);
+            } catch (Exception e) {
+                log.warn("Failed to delete extracted font file {}: {}", extractedFont, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * XHTML DOM 을 PDF 로 렌더링하여 out 에 바로 씁니다. out 은 닫지 않습니다.
+     */
+    public void render(Document document, OutputStream out) {
+        render(document, out, progress -> { });
+    }
+
+    /**
+     * 단계별 진행률(0-100)을 progress 로 알립니다. 렌더링 자리를 기다리는 동안은 진행률이 오르지 않습니다.
+     */
+    public void render(Document document, OutputStream out, IntConsumer progress) {
+        acquirePermit();
+        try {
+            ITextRenderer renderer = createRenderer();
+            Timer.Sample sample = Timer.start();
+            progress.accept(10);
+            renderer.setDocument(document, null);
+            progress.accept(40);
+            renderer.layout();
+            progress.accept(70);
+            renderer.createPDF(out, true);
+            sample.stop(renderTimer);
+            progress.accept(100);
+        } catch (PdfGenerationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to render PDF", e);
+            throw new PdfGenerationException("PDF 생성 중 오류가 발생했습니다.", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(properties.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new PdfGenerationException("PDF 생성 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfGenerationException("PDF 생성이 중단되었습니다.", e);
+        }
+    }
+
+    private ITextRenderer createRenderer() {
+        ITextRenderer renderer = new ITextRenderer();
+        if (fontPath != null) {
+            try {
+                renderer.getFontResolver().addFont(
+                    fontPath,
+                    BaseFont.IDENTITY_H,  // 유니코드 인코딩
+                    BaseFont.EMBEDDED     // PDF에 폰트 임베딩
+                );
+            } catch (Exception e) {
+                // 폰트 등록 실패해도 PDF 생성은 계속 진행 (Latin 문자는 표시됨)
+                log.error("Failed to register Korean font: {}", fontPath, e);
+            }
+        }
+        return renderer;
+    }
+
+    private String extractFont() {
+        ClassPathResource fontResource = new ClassPathResource(properties.getFontResource());
+        if (!fontResource.exists()) {
+            log.warn("Korean font file not found in resources: {}. Korean text may not render correctly.",
+                properties.getFontResource());
+            return null;
+        }
+
+        // BaseFont 는 파일 경로가 필요하므로 애플리케이션 수명 동안 한 번만 복사합니다
+        try (InputStream fontStream = fontResource.getInputStream()) {
+            extractedFont = Files.createTempFile("NanumGothic", ".ttf");
+            Files.copy(fontStream, extractedFont, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Extracted Korean font {} to {}", properties.getFontResource(), extractedFont);
+            return extractedFont.toAbsolutePath().toString();
+        } catch (Exception e) {
+            log.error("Failed to extract Korean font from resources", e);
+            return null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import algorithm_note.algorithm_note_v2.reviewcard.domain.Answer;
 import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
 import algorithm_note.algorithm_note_v2.reviewQuestion.domain.ReviewQuestion;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.ReviewCardCreateRequestDto;
+import algorithm_note.algorithm_note_v2.reviewcard.dto.DueReviewCardPageResponseDto;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.ReviewCardCreateResponseDto;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.ReviewCardResponseDto;
 import algorithm_note.algorithm_note_v2.reviewcard.dto.ReviewCardResultResponseDto;
@@ -18,9 +19,12 @@ import algorithm_note.algorithm_note_v2.reviewQuestion.service.ReviewQuestionSer
 import algorithm_note.algorithm_note_v2.user.domain.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +42,8 @@ public class ReviewCardService {
     private final ReviewQuestionService reviewQuestionService;
     private final CategoryService categoryService;
 
+    private static final int MAX_DUE_PAGE_SIZE = 100;
+
     @Transactional
     public ReviewCardCreateResponseDto createReviewCard(ReviewCardCreateRequestDto requestDto, User user) {
         log.info("Creating review card for user: {}, title: {}", user.getId(), requestDto.getTitle());
@@ -153,6 +159,20 @@ public class ReviewCardService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * dueBy 까지 복습해야 하는 카드를 다음 복습 시각 순으로 조회합니다 (user_id, next_review_at 인덱스, count 쿼리 없음).
+     */
+    public DueReviewCardPageResponseDto getDueReviewCards(User user, LocalDateTime dueBy, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_DUE_PAGE_SIZE);
+        log.info("Fetching due review cards - user: {}, dueBy: {}, page: {}, size: {}",
+                user.getId(), dueBy, page, pageSize);
+
+        Slice<ReviewCard> dueCards = reviewCardRepository.findDueByUser(
+                user, dueBy, PageRequest.of(Math.max(page, 0), pageSize));
+
+        return DueReviewCardPageResponseDto.from(dueCards, dueBy);
+    }
+
     public ReviewCardStatsDto getReviewCardStats(User user) {
         log.info("Fetching review card stats for user: {}", user.getId());
 
@@ -0,0 +1,149 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.global.service.RedisLeaseLock;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.Answer;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import algorithm_note.algorithm_note_v2.reviewcard.repository.AnswerRepository;
+import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 기존 사용자의 답변 이력을 현재 엔진으로 다시 재생해 카드별 간격 반복 상태를 일괄 계산합니다.
+ * 카드를 id 순으로 recomputeBatchSize 개씩 읽고, 그 카드들의 답변만 시간순으로 가져와 재생한 뒤 배치마다 커밋합니다.
+ * review.scheduling.recompute-on-startup=true 이면 시작 후 백그라운드에서 한 노드만(Redis 리스) 실행합니다.
+ */
+@Service
+@Slf4j
+public class ReviewScheduleRecomputeService {
+
+    private static final String LOCK_NAME = "review-schedule:recompute";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+
+    private final ReviewCardRepository reviewCardRepository;
+    private final AnswerRepository answerRepository;
+    private final ReviewSchedulingService reviewSchedulingService;
+    private final ReviewSchedulingProperties properties;
+    private final RedisLeaseLock leaseLock;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor =
+        Executors.newSingleThreadExecutor(new CustomizableThreadFactory("review-recompute-"));
+
+    public ReviewScheduleRecomputeService(ReviewCardRepository reviewCardRepository,
+                                          AnswerRepository answerRepository,
+                                          ReviewSchedulingService reviewSchedulingService,
+                                          ReviewSchedulingProperties properties,
+                                          RedisLeaseLock leaseLock,
+                                          PlatformTransactionManager transactionManager) {
+        this.reviewCardRepository = reviewCardRepository;
+        this.answerRepository = answerRepository;
+        this.reviewSchedulingService = reviewSchedulingService;
+        this.properties = properties;
+        this.leaseLock = leaseLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeOnStartup() {
+        if (!properties.isRecomputeOnStartup()) {
+            return;
+        }
+        executor.execute(() -> {
+            Optional<RedisLeaseLock.Lease> acquired;
+            try {
+                acquired = leaseLock.tryAcquire(LOCK_NAME, "recompute", LOCK_TTL);
+            } catch (Exception e) {
+                log.warn("Skipping review schedule recompute: lock unavailable ({})", e.getMessage());
+                return;
+            }
+            if (acquired.isEmpty()) {
+                log.info("Review schedule recompute already running on another node");
+                return;
+            }
+
+            try (RedisLeaseLock.Lease lease = acquired.get()) {
+                recomputeAll(lease);
+            } catch (Exception e) {
+                log.error("Review schedule recompute failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return 상태를 다시 계산한 카드 수
+     */
+    public int recomputeAll(RedisLeaseLock.Lease lease) {
+        int batchSize = Math.max(1, properties.getRecomputeBatchSize());
+        log.info("Starting review schedule recompute with {} engine (batch size: {})", properties.getEngine(), batchSize);
+
+        long afterId = 0L;
+        int recomputed = 0;
+        long startedAt = System.nanoTime();
+
+        while (lease.renew()) {
+            long cursor = afterId;
+            BatchResult result = transactionTemplate.execute(status -> recomputeBatch(cursor, batchSize));
+            if (result.lastCardId() == null) {
+                break;
+            }
+            afterId = result.lastCardId();
+            recomputed += result.recomputed();
+            log.info("Recomputed review schedules up to card {} ({} card(s) so far)", afterId, recomputed);
+        }
+
+        log.info("Review schedule recompute finished: {} card(s) in {} ms",
+                recomputed, (System.nanoTime() - startedAt) / 1_000_000);
+        return recomputed;
+    }
+
+    private BatchResult recomputeBatch(long afterId, int batchSize) {
+        List<ReviewCard> cards = reviewCardRepository.findBatchAfter(afterId, PageRequest.of(0, batchSize));
+        if (cards.isEmpty()) {
+            return new BatchResult(null, 0);
+        }
+
+        Map<Long, ReviewCard> cardsById = new HashMap<>();
+        cards.forEach(card -> cardsById.put(card.getReviewCardId(), card));
+
+        // 답변은 카드 id, 답변 id(=시간) 순으로 오므로 카드마다 상태 하나만 들고 재생합니다
+        Map<Long, ReviewSchedule> schedules = new HashMap<>();
+        for (AnswerRepository.ReviewEvent event : answerRepository.findReviewEventsByReviewCardIds(cardsById.keySet())) {
+            ReviewCard card = cardsById.get(event.getReviewCardId());
+            ReviewSchedule next = reviewSchedulingService.next(
+                    schedules.get(card.getReviewCardId()),
+                    event.getEvaluationResult() == Answer.EvaluationResult.SUCCESS,
+                    event.getCreatedAt(),
+                    card.getReviewCycle());
+            if (next != null) {
+                schedules.put(card.getReviewCardId(), next);
+            }
+        }
+
+        schedules.forEach((cardId, schedule) -> cardsById.get(cardId).recordReview(schedule));
+        return new BatchResult(cards.get(cards.size() - 1).getReviewCardId(), schedules.size());
+    }
+
+    private record BatchResult(Long lastCardId, int recomputed) {}
+}
@@ -0,0 +1,18 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+
+/**
+ * 복습 결과 하나로 카드의 간격 반복 상태를 갱신하는 엔진 (review.scheduling.engine 으로 선택)
+ */
+public interface ReviewSchedulingEngine {
+
+    /**
+     * @param current             이전 상태 (처음 복습이면 null)
+     * @param success             이번 복습 성공 여부
+     * @param elapsedDays         마지막 복습 이후 경과 일수 (처음 복습이면 0)
+     * @param initialIntervalDays 사용자가 정한 reviewCycle - 첫 간격의 기준으로 사용할 수 있습니다
+     * @return lastReviewedAt/lastSuccess 를 제외한 새 상태
+     */
+    ReviewSchedule review(ReviewSchedule current, boolean success, double elapsedDays, int initialIntervalDays);
+}
@@ -0,0 +1,78 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 답변 하나가 들어올 때마다 카드의 압축된 간격 반복 상태만 읽고 갱신합니다 (답변 이력을 다시 읽지 않음).
+ * 한 세션(sessionWindowHours) 안의 여러 답변은 한 번의 복습으로 합칩니다.
+ * 세션의 첫 답변이 복습 한 번으로 반영되고, 이후에는 성공 뒤 처음 나온 실패만 실패로 다시 반영합니다.
+ * 다시 반영할 때는 성공 직후 상태가 아니라 세션 시작 직전 상태에서 세션 첫 답변의 경과 일수로 실패한 것으로 계산합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewSchedulingService {
+
+    private final ReviewSchedulingEngine engine;
+    private final ReviewSchedulingProperties properties;
+
+    public void recordAnswer(ReviewCard card, boolean success, LocalDateTime answeredAt) {
+        ReviewSchedule next = next(card.getSchedule(), success, answeredAt, card.getReviewCycle());
+        if (next != null) {
+            card.recordReview(next);
+            log.debug("Rescheduled card {} - interval: {} day(s), repetitions: {}",
+                    card.getReviewCardId(), card.scheduledIntervalDays(), next.getRepetitions());
+        }
+    }
+
+    /**
+     * @return 새 상태, 같은 세션이라 바뀌지 않으면 null
+     */
+    public ReviewSchedule next(ReviewSchedule current, boolean success, LocalDateTime reviewedAt, int reviewCycle) {
+        LocalDateTime lastReviewedAt = current == null ? null : current.getLastReviewedAt();
+        if (lastReviewedAt != null && Duration.between(lastReviewedAt, reviewedAt).toHours() < properties.getSessionWindowHours()) {
+            if (success || !Boolean.TRUE.equals(current.getLastSuccess())) {
+                return null;
+            }
+            // 세션 시작 시각과 세션 전 상태는 유지해 세션 창이 답변마다 늘어나지 않게 합니다
+            ReviewSchedule lapse = current.getSessionElapsedDays() == null
+                    ? engine.review(current, false, 0, reviewCycle)
+                    : engine.review(sessionBase(current), false, current.getSessionElapsedDays(), reviewCycle);
+            return lapse.toBuilder()
+                    .lastReviewedAt(lastReviewedAt)
+                    .lastSuccess(false)
+                    .sessionStability(current.getSessionStability())
+                    .sessionDifficulty(current.getSessionDifficulty())
+                    .sessionElapsedDays(current.getSessionElapsedDays())
+                    .build();
+        }
+
+        double elapsedDays = lastReviewedAt == null ? 0 : Duration.between(lastReviewedAt, reviewedAt).toMinutes() / 1440.0;
+        return engine.review(current, success, elapsedDays, reviewCycle).toBuilder()
+                .lastReviewedAt(reviewedAt)
+                .lastSuccess(success)
+                .sessionStability(current == null ? null : current.getStability())
+                .sessionDifficulty(current == null ? null : current.getDifficulty())
+                .sessionElapsedDays(elapsedDays)
+                .build();
+    }
+
+    // 실패는 반복 횟수를 0으로 되돌리므로 엔진에는 안정도와 난이도만 넘기면 됩니다
+    private static ReviewSchedule sessionBase(ReviewSchedule current) {
+        if (current.getSessionStability() == null && current.getSessionDifficulty() == null) {
+            return null;
+        }
+        return ReviewSchedule.builder()
+                .stability(current.getSessionStability())
+                .difficulty(current.getSessionDifficulty())
+                .build();
+    }
+}
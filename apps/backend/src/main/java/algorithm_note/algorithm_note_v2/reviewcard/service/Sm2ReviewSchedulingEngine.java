@@ -0,0 +1,48 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * SuperMemo-2 - 성공하면 간격에 ease factor 를 곱하고, 실패하면 1일부터 다시 시작하며 ease factor 를 낮춥니다.
+ * 답변은 성공/실패 두 단계뿐이므로 성공은 q=4(ease 유지), 실패는 ease -0.2 로 취급합니다.
+ * 첫 간격은 사용자가 정한 reviewCycle 입니다.
+ */
+@Component
+@ConditionalOnProperty(name = "review.scheduling.engine", havingValue = "sm2")
+@RequiredArgsConstructor
+public class Sm2ReviewSchedulingEngine implements ReviewSchedulingEngine {
+
+    private static final double INITIAL_EASE = 2.5;
+    private static final double MINIMUM_EASE = 1.3;
+    private static final double LAPSE_EASE_PENALTY = 0.2;
+
+    private final ReviewSchedulingProperties properties;
+
+    @Override
+    public ReviewSchedule review(ReviewSchedule current, boolean success, double elapsedDays, int initialIntervalDays) {
+        double ease = current == null || current.getDifficulty() == null ? INITIAL_EASE : current.getDifficulty();
+        int repetitions = current == null || current.getRepetitions() == null ? 0 : current.getRepetitions();
+        double interval = current == null || current.getStability() == null ? 0 : current.getStability();
+
+        if (success) {
+            interval = repetitions == 0 ? Math.max(1, initialIntervalDays) : Math.max(interval, 1) * ease;
+            repetitions++;
+        } else {
+            interval = 1;
+            repetitions = 0;
+            ease = Math.max(MINIMUM_EASE, ease - LAPSE_EASE_PENALTY);
+        }
+
+        interval = Math.min(interval, properties.getMaximumIntervalDays());
+        return ReviewSchedule.builder()
+                .stability(interval)
+                .difficulty(ease)
+                .repetitions(repetitions)
+                .intervalDays((int) Math.max(1, Math.round(interval)))
+                .build();
+    }
+}
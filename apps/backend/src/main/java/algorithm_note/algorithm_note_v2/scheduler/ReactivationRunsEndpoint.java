@@ -0,0 +1,26 @@
+package algorithm_note.algorithm_note_v2.scheduler;
+
+import algorithm_note.algorithm_note_v2.scheduler.service.ReactivationRunHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 재활성화 스케줄러의 최근 실행 이력 (GET /actuator/reactivation, 최신순).
+ * 어느 노드가 언제 실행했고 몇 장을 재활성화했는지, 실패했다면 그 이유를 모든 노드 기준으로 보여줍니다.
+ */
+@Component
+@Endpoint(id = "reactivation")
+@RequiredArgsConstructor
+public class ReactivationRunsEndpoint {
+
+    private final ReactivationRunHistory reactivationRunHistory;
+
+    @ReadOperation
+    public List<ReactivationRunHistory.ReactivationRun> runs() {
+        return reactivationRunHistory.recent();
+    }
+}
@@ -1,27 +1,133 @@
 package algorithm_note.algorithm_note_v2.scheduler;
 
+import algorithm_note.algorithm_note_v2.global.config.ReactivationProperties;
+import algorithm_note.algorithm_note_v2.global.service.RedisLeaseLock;
+import algorithm_note.algorithm_note_v2.scheduler.service.ReactivationRunHistory;
+import algorithm_note.algorithm_note_v2.scheduler.service.ReactivationRunHistory.ReactivationRun;
 import algorithm_note.algorithm_note_v2.scheduler.service.ReviewCardReactivationService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 노드에서 같은 cron 으로 실행되지만, Redis 리스 락을 잡은 한 노드만 재활성화를 수행합니다.
+ * 실행 중에는 배치마다 리스를 갱신하고, 리스를 잃으면 남은 배치를 멈춥니다.
+ * Redis 를 사용할 수 없으면 중복 실행을 피하기 위해 이번 실행을 건너뜁니다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ReviewCardReactivationScheduler {
 
+    private static final String LOCK_NAME = "scheduler:reactivation";
+
     private final ReviewCardReactivationService reactivationService;
+    private final RedisLeaseLock leaseLock;
+    private final ReactivationRunHistory runHistory;
+    private final ReactivationProperties properties;
+    private final String nodeId;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong lastSuccessEpochSeconds = new AtomicLong();
+
+    public ReviewCardReactivationScheduler(ReviewCardReactivationService reactivationService,
+                                           RedisLeaseLock leaseLock,
+                                           ReactivationRunHistory runHistory,
+                                           ReactivationProperties properties,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${chat.cluster.node-id:}") String nodeId) {
+        this.reactivationService = reactivationService;
+        this.leaseLock = leaseLock;
+        this.runHistory = runHistory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = (nodeId == null || nodeId.isBlank()) ? UUID.randomUUID().toString() : nodeId;
+        this.runTimer = Timer.builder("review-card.reactivation.run")
+                .description("Duration of reactivation runs executed by this node")
+                .register(meterRegistry);
+
+        Gauge.builder("review-card.reactivation.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("How long the oldest due inactive card has been waiting for reactivation")
+                .register(meterRegistry);
+        Gauge.builder("review-card.reactivation.last-success.age.seconds", lastSuccessEpochSeconds,
+                        last -> last.get() == 0 ? -1 : Instant.now().getEpochSecond() - last.get())
+                .description("Seconds since this node last completed a reactivation run (-1 if never)")
+                .register(meterRegistry);
+    }
 
     @Scheduled(cron = "${revalidation.schedule}")
     public void scheduleReactivation() {
-        log.info("=== Review Card Reactivation Scheduler Started ===");
-
+        Optional<RedisLeaseLock.Lease> acquired;
         try {
-            reactivationService.reactivateExpiredCards();
+            acquired = leaseLock.tryAcquire(LOCK_NAME, nodeId, Duration.ofMillis(properties.getLockTtlMillis()));
+        } catch (Exception e) {
+            log.warn("Skipping review card reactivation: lock unavailable ({})", e.getMessage());
+            countRun("lock-unavailable");
+            return;
+        }
+
+        if (acquired.isEmpty()) {
+            log.debug("Skipping review card reactivation: held by {}", leaseLock.currentOwner(LOCK_NAME));
+            countRun("skipped");
+            return;
+        }
+
+        log.info("=== Review Card Reactivation Scheduler Started (node: {}) ===", nodeId);
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+
+        try (RedisLeaseLock.Lease lease = acquired.get()) {
+            int reactivated = reactivationService.reactivateExpiredCards(lease::renew);
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String result = lease.isHeld() ? "completed" : "lease-lost";
+
+            runTimer.record(durationMillis, TimeUnit.MILLISECONDS);
+            countRun(result);
+            if (lease.isHeld()) {
+                lastSuccessEpochSeconds.set(Instant.now().getEpochSecond());
+            }
+            runHistory.record(new ReactivationRun(nodeId, startedAt, durationMillis, reactivated, result, null));
             log.info("=== Review Card Reactivation Scheduler Completed Successfully ===");
         } catch (Exception e) {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            countRun("failed");
+            runHistory.record(new ReactivationRun(nodeId, startedAt, durationMillis, 0, "failed", e.getMessage()));
             log.error("=== Review Card Reactivation Scheduler Failed ===", e);
+        } finally {
+            updateLag();
+        }
+    }
+
+    private void updateLag() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            lagSeconds.set(reactivationService.findOldestPendingReviewAt()
+                    .filter(oldest -> oldest.isBefore(now))
+                    .map(oldest -> Duration.between(oldest, now).getSeconds())
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.debug("Failed to measure reactivation lag: {}", e.getMessage());
         }
     }
+
+    private void countRun(String result) {
+        Counter.builder("review-card.reactivation.runs")
+                .description("Reactivation scheduler ticks by outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
 }
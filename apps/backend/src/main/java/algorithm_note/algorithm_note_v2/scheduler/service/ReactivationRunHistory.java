@@ -0,0 +1,56 @@
+package algorithm_note.algorithm_note_v2.scheduler.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReactivationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재활성화 스케줄러 실행 이력을 Redis 리스트에 최근 historySize 건까지 보관합니다 (모든 노드 공용).
+ * 이력은 ReactivationRunsEndpoint(/actuator/reactivation)로 조회합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivationRunHistory {
+
+    private static final String HISTORY_KEY = "scheduler:reactivation:runs";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReactivationProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public void record(ReactivationRun run) {
+        try {
+            redisTemplate.opsForList().leftPush(HISTORY_KEY, objectMapper.writeValueAsString(run));
+            redisTemplate.opsForList().trim(HISTORY_KEY, 0, Math.max(1, properties.getHistorySize()) - 1);
+        } catch (Exception e) {
+            log.warn("Failed to record reactivation run history: {}", e.getMessage());
+        }
+    }
+
+    public List<ReactivationRun> recent() {
+        List<String> entries = redisTemplate.opsForList().range(HISTORY_KEY, 0, -1);
+        List<ReactivationRun> runs = new ArrayList<>();
+        if (entries == null) {
+            return runs;
+        }
+        for (String entry : entries) {
+            try {
+                runs.add(objectMapper.readValue(entry, ReactivationRun.class));
+            } catch (Exception e) {
+                log.debug("Skipping unreadable reactivation run entry: {}", e.getMessage());
+            }
+        }
+        return runs;
+    }
+
+    public record ReactivationRun(String nodeId, Instant startedAt, long durationMillis,
+                                  int reactivatedCount, String result, String error) {}
+}
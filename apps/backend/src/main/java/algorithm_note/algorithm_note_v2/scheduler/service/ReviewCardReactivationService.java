@@ -1,64 +1,113 @@
 package algorithm_note.algorithm_note_v2.scheduler.service;
 
-import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.global.config.ReactivationProperties;
 import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
+/**
+ * 재활성화 시각(next_review_at)이 지난 비활성 카드를 (is_active, next_review_at) 인덱스로 찾아
+ * batchSize 개씩 집합 UPDATE 로 재활성화합니다. 배치마다 별도 트랜잭션이라 락과 영속성 컨텍스트가 배치 크기로 제한됩니다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReviewCardReactivationService {
 
     private final ReviewCardRepository reviewCardRepository;
+    private final ReactivationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer batchTimer;
+    private final Counter reactivatedCounter;
 
-    @Transactional
-    public void reactivateExpiredCards() {
+    public ReviewCardReactivationService(ReviewCardRepository reviewCardRepository,
+                                         ReactivationProperties properties,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry) {
+        this.reviewCardRepository = reviewCardRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchTimer = Timer.builder("review-card.reactivation.batch")
+                .description("Time spent reactivating one batch of due review cards")
+                .register(meterRegistry);
+        this.reactivatedCounter = Counter.builder("review-card.reactivation.cards")
+                .description("Review cards reactivated by the scheduler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 배치마다 continueRunning 을 확인하고, false 이면 (예: 리스를 잃었으면) 남은 배치를 실행하지 않습니다.
+     *
+     * @return 재활성화한 카드 수
+     */
+    public int reactivateExpiredCards(BooleanSupplier continueRunning) {
         log.info("Starting review card reactivation task");
 
-        try {
-            // 1. 비활성화된 모든 카드 조회
-            List<ReviewCard> inactiveCards = reviewCardRepository.findAllByIsActive(false);
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int reactivatedCount = 0;
+        int batches = 0;
 
-            if (inactiveCards.isEmpty()) {
-                log.info("No inactive cards found. Skipping reactivation.");
-                return;
+        while (true) {
+            if (!continueRunning.getAsBoolean()) {
+                log.warn("Stopping review card reactivation after {} batch(es)", batches);
+                break;
             }
 
-            log.info("Found {} inactive cards. Checking for reactivation candidates...", inactiveCards.size());
-
-            LocalDateTime now = LocalDateTime.now();
-            int reactivatedCount = 0;
-
-            // 2. 각 카드의 경과 시간 확인 및 재활성화
-            for (ReviewCard card : inactiveCards) {
-                LocalDateTime updatedAt = card.getUpdatedAt();
-                Integer reviewCycle = card.getReviewCycle();
+            long startedAt = System.nanoTime();
+            BatchResult result = transactionTemplate.execute(status -> reactivateBatch(now, batchSize));
+            long elapsedNanos = System.nanoTime() - startedAt;
+            if (result.selected() == 0) {
+                break;
+            }
 
-                // reviewCycle은 일(day) 단위
-                long daysSinceUpdate = ChronoUnit.DAYS.between(updatedAt, now);
+            int updated = result.updated();
 
-                if (daysSinceUpdate >= reviewCycle) {
-                    log.debug("Reactivating card ID: {} (days elapsed: {}, cycle: {})",
-                            card.getReviewCardId(), daysSinceUpdate, reviewCycle);
+            batches++;
+            reactivatedCount += updated;
+            reactivatedCounter.increment(updated);
+            batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            log.info("Reactivation batch {}: {} row(s) updated in {} ms", batches, updated, elapsedNanos / 1_000_000);
 
-                    card.updateStatus(true);
-                    reviewCardRepository.save(card);
-                    reactivatedCount++;
-                }
+            // 마지막 배치가 가득 차지 않았으면 남은 대상이 없습니다
+            if (result.selected() < batchSize) {
+                break;
             }
+        }
 
-            log.info("Review card reactivation completed. Reactivated {} card(s).", reactivatedCount);
+        if (batches == 0) {
+            log.info("No due inactive cards found. Skipping reactivation.");
+        } else {
+            log.info("Review card reactivation completed. Reactivated {} card(s) in {} batch(es).", reactivatedCount, batches);
+        }
+        return reactivatedCount;
+    }
 
-        } catch (Exception e) {
-            log.error("Error occurred during review card reactivation", e);
-            throw e;
+    private BatchResult reactivateBatch(LocalDateTime now, int batchSize) {
+        List<Long> dueIds = reviewCardRepository.findDueInactiveIds(now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return new BatchResult(0, 0);
         }
+        return new BatchResult(dueIds.size(), reviewCardRepository.reactivateAll(dueIds, now));
     }
+
+    /**
+     * 가장 오래 기다린 재활성화 대상의 예정 시각 - 비활성 카드가 없으면 비어 있습니다.
+     */
+    public Optional<LocalDateTime> findOldestPendingReviewAt() {
+        return Optional.ofNullable(reviewCardRepository.findOldestInactiveNextReviewAt());
+    }
+
+    private record BatchResult(int selected, int updated) {}
 }
@@ -0,0 +1,9 @@
+-- next_review_at 을 복습 대기열로 사용하기 위한 정리
+-- 활성 카드는 이미 복습 대상이므로 next_review_at 을 과거(마지막 수정 시각 이하)로 맞춥니다
+-- LEAST 는 NULL 이 섞이면 NULL 이므로 비어 있는 행은 updated_at 으로 채웁니다 (NextReviewAtBackfillService 와 같은 기준)
+UPDATE review_card
+SET next_review_at = LEAST(COALESCE(next_review_at, updated_at), updated_at)
+WHERE is_active = TRUE;
+
+-- 사용자별 복습 대기열 조회 인덱스
+CREATE INDEX idx_review_card_user_next_review ON review_card (user_id, next_review_at);
@@ -0,0 +1,11 @@
+-- ReviewCard 테이블에 next_review_at 컬럼과 재활성화 조회용 인덱스 추가
+ALTER TABLE review_card
+ADD COLUMN next_review_at DATETIME(6) NULL;
+
+-- 기존 데이터는 기존 스케줄러 기준(updated_at + review_cycle 일)으로 초기화
+-- (ddl-auto 로 컬럼만 추가된 경우 NextReviewAtBackfillService 가 시작 시 같은 기준으로 채웁니다)
+UPDATE review_card
+SET next_review_at = DATE_ADD(updated_at, INTERVAL review_cycle DAY)
+WHERE next_review_at IS NULL;
+
+CREATE INDEX idx_review_card_active_next_review ON review_card (is_active, next_review_at);
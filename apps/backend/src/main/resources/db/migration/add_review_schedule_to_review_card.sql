@@ -0,0 +1,10 @@
+-- ReviewCard 테이블에 간격 반복(SM-2/FSRS) 상태 컬럼 추가
+ALTER TABLE review_card
+ADD COLUMN srs_stability DOUBLE NULL,
+ADD COLUMN srs_difficulty DOUBLE NULL,
+ADD COLUMN srs_repetitions INT NULL,
+ADD COLUMN srs_interval_days INT NULL,
+ADD COLUMN srs_last_reviewed_at DATETIME(6) NULL,
+ADD COLUMN srs_last_success BIT(1) NULL;
+
+-- 기존 답변 이력으로 상태를 채우려면 review.scheduling.recompute-on-startup=true 로 한 번 기동합니다
@@ -0,0 +1,7 @@
+-- 같은 세션에서 성공 뒤 실패를 세션 전 상태 기준으로 다시 계산하기 위한 컬럼 추가
+ALTER TABLE review_card
+ADD COLUMN srs_session_stability DOUBLE NULL,
+ADD COLUMN srs_session_difficulty DOUBLE NULL,
+ADD COLUMN srs_session_elapsed_days DOUBLE NULL;
+
+-- 비어 있는 카드는 다음 세션부터 채워지며, 그 전까지는 현재 상태에서 실패로 계산합니다
@@ -0,0 +1,220 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.exception.EmitterNotFoundException;
+import algorithm_note.algorithm_note_v2.chat.repository.ChatReplayRepository;
+import algorithm_note.algorithm_note_v2.chat.repository.EmitterRepository;
+import algorithm_note.algorithm_note_v2.global.config.ChatHeartbeatProperties;
+import algorithm_note.algorithm_note_v2.global.config.ChatStreamProperties;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 같은 Redis 를 쓰는 두 노드(A, B)를 한 JVM 에 띄워, A 에서 생성한 이벤트가 B 의 로컬 emitter 로 전달되는지 확인합니다.
+ */
+class ChatEventRouterTest {
+
+    private static final Long USER_ID = 42L;
+    private static final long TIMEOUT_MILLIS = 60_000L;
+
+    private static EmbeddedRedis redis;
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        nodeA = new Node("node-a");
+        nodeB = new Node("node-b");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void eventPublishedOnNodeAIsDeliveredToTheEmitterOnNodeB() throws IOException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        nodeB.router.register(USER_ID, emitter, TIMEOUT_MILLIS);
+
+        ChatEventChannel channel = nodeA.router.route(USER_ID);
+        channel.sendJson("chunk", "{\"content\":\"안녕\"}");
+        channel.sendJson("chunk", "{\"content\":\"하세요\"}");
+
+        EmbeddedRedis.await(() -> emitter.frames.size() == 2, Duration.ofSeconds(5));
+        assertThat(emitter.frames.get(0)).contains("id:1").contains("event:chunk").contains("안녕");
+        assertThat(emitter.frames.get(1)).contains("id:2").contains("하세요");
+        assertThat(nodeA.emitterRepository.get(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void routeFailsWhenNoNodeHoldsTheConnection() {
+        assertThatThrownBy(() -> nodeA.router.route(USER_ID)).isInstanceOf(EmitterNotFoundException.class);
+    }
+
+    @Test
+    void sendFailsFastWhenTheOwningNodeIsGone() throws Exception {
+        nodeB.router.register(USER_ID, new RecordingEmitter(), TIMEOUT_MILLIS);
+        ChatEventChannel channel = nodeA.router.route(USER_ID);
+
+        // B 가 죽어 채널 구독이 사라졌지만 presence 키는 아직 남아 있는 상황
+        nodeB.container.stop();
+        EmbeddedRedis.await(() -> Long.valueOf(0L).equals(
+            redis.redisTemplate().convertAndSend("chat:node:node-b", "probe")), Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> channel.sendJson("chunk", "{\"content\":\"x\"}")).isInstanceOf(IOException.class);
+        assertThat(redis.redisTemplate().opsForValue().get("chat:emitter:" + USER_ID)).isNull();
+        assertThat(nodeA.router.isConnected(USER_ID)).isFalse();
+    }
+
+    @Test
+    void deliveryPositionIsDroppedWhenTheEmitterGoesAway() throws IOException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        nodeB.router.register(USER_ID, emitter, TIMEOUT_MILLIS);
+        nodeB.router.channelFor(USER_ID).sendJson("chunk", "{\"content\":\"a\"}");
+        assertThat(nodeB.deliveredUpTo()).containsKey(USER_ID);
+
+        // 전송 실패로 emitter 가 제거되면 전달 위치도 함께 지워집니다
+        emitter.broken = true;
+        nodeB.router.channelFor(USER_ID).sendJson("chunk", "{\"content\":\"b\"}");
+        assertThat(nodeB.emitterRepository.get(USER_ID)).isEmpty();
+        assertThat(nodeB.deliveredUpTo()).doesNotContainKey(USER_ID);
+
+        // 응답 없는 emitter 정리(evict)도 마찬가지입니다
+        RecordingEmitter second = new RecordingEmitter();
+        nodeB.router.register(USER_ID, second, TIMEOUT_MILLIS);
+        nodeB.router.evict(Map.of(USER_ID, second));
+        assertThat(nodeB.deliveredUpTo()).doesNotContainKey(USER_ID);
+    }
+
+    @Test
+    void slowSendDoesNotBlockOtherUsersOrLaterEventsOfTheSameConnection() throws Exception {
+        // 64개의 잠금을 나눠 쓰므로 42 와 106 은 같은 잠금을 씁니다
+        Long neighbourId = USER_ID + 64;
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.gate = new CountDownLatch(1);
+        RecordingEmitter neighbour = new RecordingEmitter();
+        nodeB.router.register(USER_ID, slow, TIMEOUT_MILLIS);
+        nodeB.router.register(neighbourId, neighbour, TIMEOUT_MILLIS);
+
+        CompletableFuture<Void> stuck = CompletableFuture.runAsync(() -> {
+            try {
+                nodeB.router.channelFor(USER_ID).sendJson("chunk", "{\"content\":\"a\"}");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        EmbeddedRedis.await(() -> slow.sending, Duration.ofSeconds(5));
+
+        // 같은 잠금을 쓰는 다른 사용자와, 같은 연결의 다음 이벤트를 보내는 스레드는 기다리지 않습니다
+        CompletableFuture.runAsync(() -> {
+            try {
+                nodeB.router.channelFor(neighbourId).sendJson("chunk", "{\"content\":\"n\"}");
+                nodeB.router.channelFor(USER_ID).sendJson("chunk", "{\"content\":\"b\"}");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(2, TimeUnit.SECONDS);
+        assertThat(neighbour.frames).hasSize(1);
+        assertThat(stuck).isNotDone();
+
+        // 막혀 있던 스레드가 대기열에 쌓인 이벤트까지 순서대로 보냅니다
+        slow.gate.countDown();
+        stuck.get(5, TimeUnit.SECONDS);
+        assertThat(slow.frames).hasSize(2);
+        assertThat(slow.frames.get(0)).contains("id:1").contains("\"a\"");
+        assertThat(slow.frames.get(1)).contains("id:2").contains("\"b\"");
+    }
+
+    private static class Node implements AutoCloseable {
+
+        private final EmitterRepository emitterRepository = new EmitterRepository(new ChatHeartbeatProperties());
+        private final RedisMessageListenerContainer container = redis.newListenerContainer();
+        private final ChatEventRouter router;
+
+        private Node(String nodeId) {
+            ChatReplayRepository replayRepository = new ChatReplayRepository(redis.redisTemplate(), new ChatStreamProperties());
+            this.router = new ChatEventRouter(emitterRepository, replayRepository, mock(ChatGenerationRegistry.class),
+                redis.redisTemplate(), container, new ObjectMapper(), nodeId);
+            router.subscribeNodeChannel();
+            redis.startAndAwait(container, "chat:node:" + nodeId);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Long, Long> deliveredUpTo() {
+            return (Map<Long, Long>) ReflectionTestUtils.getField(router, "deliveredUpTo");
+        }
+
+        @Override
+        public void close() throws Exception {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 보낸 SSE 프레임을 문자열로 기록하는 emitter. broken 이면 끊긴 연결처럼 전송에 실패하고,
+     * gate 가 있으면 열릴 때까지 전송이 막힙니다 (느린 클라이언트).
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private volatile boolean broken;
+        private volatile CountDownLatch gate;
+        private volatile boolean sending;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            if (gate != null) {
+                sending = true;
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            frames.add(builder.build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .map(String::valueOf)
+                .collect(Collectors.joining()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ChatStreamProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingSseWriterTest {
+
+    private final ChatStreamProperties properties = new ChatStreamProperties();
+    private final RecordingChannel channel = new RecordingChannel();
+
+    @Test
+    void framesAreSentOnTheWritingThreadAndCoalescedWithinTheInterval() throws IOException {
+        properties.setFlushIntervalMillis(60_000);
+        CoalescingSseWriter writer = writer();
+
+        writer.write("안녕");
+        writer.write("하세요");
+        writer.write(", 반갑");
+        assertThat(channel.frames).hasSize(1);
+        assertThat(channel.frames.get(0)).contains("안녕");
+
+        writer.close();
+        assertThat(channel.frames).hasSize(2);
+        assertThat(channel.frames.get(1)).contains("하세요, 반갑");
+        assertThat(channel.threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void fullFramesAreSentWithoutWaitingForTheInterval() throws IOException {
+        properties.setFlushIntervalMillis(60_000);
+        properties.setMaxFrameChars(4);
+        CoalescingSseWriter writer = writer();
+
+        writer.write("a");
+        writer.write("bc");
+        writer.write("de");
+
+        assertThat(channel.frames).hasSize(2);
+        assertThat(channel.frames.get(1)).contains("bcde");
+    }
+
+    @Test
+    void sendFailureFailsLaterWrites() throws IOException {
+        CoalescingSseWriter writer = writer();
+        channel.broken = true;
+
+        assertThatThrownBy(() -> writer.write("a")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> writer.write("b")).isInstanceOf(IOException.class);
+        assertThatThrownBy(writer::close).isInstanceOf(IOException.class);
+    }
+
+    private CoalescingSseWriter writer() {
+        return new ChatStreamWriterFactory(properties, new ObjectMapper(), new SimpleMeterRegistry()).create(channel);
+    }
+
+    private static class RecordingChannel implements ChatEventChannel {
+
+        private final List<String> frames = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private boolean broken;
+
+        @Override
+        public void send(String eventName, Object data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendJson(String eventName, String json) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(json);
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.entity.ChatSession;
+import algorithm_note.algorithm_note_v2.global.config.GeminiContextCacheProperties;
+import algorithm_note.algorithm_note_v2.global.config.GeminiModelProperties;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClientPool;
+import algorithm_note.algorithm_note_v2.global.service.GeminiModelRouter;
+import com.google.genai.Client;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 컨텍스트 캐시로 시스템 프롬프트가 캐시 참조(cachedContent)와 인라인(systemInstruction) 중
+ * 어느 쪽으로 전송되는지 오프라인으로 확인합니다.
+ */
+class GeminiStreamingServiceTest {
+
+    private static final String MODEL = "gemini-2.5-flash";
+    private static final String LONG_PROMPT = "튜터 프롬프트와 복습 질문 목록 ".repeat(20);
+    private static final String SHORT_PROMPT = "짧은 프롬프트";
+
+    private final GeminiContextCacheProperties properties = new GeminiContextCacheProperties();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final InMemoryGeminiContextCache cache = new InMemoryGeminiContextCache(properties, now::get);
+    private final Models models = mock(Models.class);
+    private final ChatSession session = ChatSession.builder().sessionId("session-1").build();
+
+    private GeminiStreamingService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMinTokens(50);
+        properties.setTtlSeconds(60);
+
+        Client client = mock(Client.class);
+        ReflectionTestUtils.setField(client, "models", models);
+        GeminiClientPool pool = mock(GeminiClientPool.class);
+        when(pool.acquireStreaming()).thenReturn(client);
+
+        GeminiModelProperties modelProperties = new GeminiModelProperties();
+        modelProperties.setChain(List.of(MODEL));
+        GeminiModelRouter router = new GeminiModelRouter(modelProperties, new SimpleMeterRegistry());
+
+        ConversationContextService contextService = mock(ConversationContextService.class);
+        when(contextService.buildContext(any(), anyString()))
+            .thenReturn(new ConversationContextService.ConversationContext(List.of(), 0, 0));
+
+        service = new GeminiStreamingService(pool, router, contextService, cache, properties);
+    }
+
+    @Test
+    void firstRequestMissesAndLaterRequestsReuseTheCachedContent() {
+        service.streamResponse(session, LONG_PROMPT, "질문 1");
+        service.streamResponse(session, LONG_PROMPT, "질문 2");
+
+        List<GenerateContentConfig> configs = sentConfigs(2);
+        assertThat(configs.get(0).cachedContent()).isPresent();
+        assertThat(configs.get(0).systemInstruction()).isEmpty();
+        assertThat(configs.get(1).cachedContent()).isEqualTo(configs.get(0).cachedContent());
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredCacheIsCreatedAgain() {
+        service.streamResponse(session, LONG_PROMPT, "질문 1");
+        now.addAndGet(properties.getTtlSeconds() * 1000L);
+        service.streamResponse(session, LONG_PROMPT, "질문 2");
+
+        List<GenerateContentConfig> configs = sentConfigs(2);
+        assertThat(configs.get(1).cachedContent()).isPresent().isNotEqualTo(configs.get(0).cachedContent());
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.hits()).isZero();
+    }
+
+    @Test
+    void smallPromptIsSentInline() {
+        service.streamResponse(session, SHORT_PROMPT, "질문");
+
+        GenerateContentConfig config = sentConfigs(1).get(0);
+        assertThat(config.cachedContent()).isEmpty();
+        assertThat(config.systemInstruction()).isPresent();
+        assertThat(cache.misses()).isZero();
+    }
+
+    @Test
+    void disabledCacheSendsThePromptInline() {
+        properties.setEnabled(false);
+
+        service.streamResponse(session, LONG_PROMPT, "질문");
+
+        assertThat(sentConfigs(1).get(0).systemInstruction()).isPresent();
+        assertThat(cache.misses()).isZero();
+    }
+
+    private List<GenerateContentConfig> sentConfigs(int calls) {
+        ArgumentCaptor<GenerateContentConfig> captor = ArgumentCaptor.forClass(GenerateContentConfig.class);
+        verify(models, times(calls)).generateContentStream(eq(MODEL), anyList(), captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,57 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiContextCacheProperties;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Gemini 나 Redis 없이 캐시 적중/미스/만료 동작을 확인하기 위한 테스트용 구현.
+ * 만들 때마다 새 이름을 돌려주므로 만료 후 다시 만들어졌는지 이름으로 구분할 수 있습니다.
+ */
+class InMemoryGeminiContextCache implements GeminiContextCache {
+
+    private final GeminiContextCacheProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    InMemoryGeminiContextCache(GeminiContextCacheProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<String> resolve(String model, String systemPrompt) {
+        if (ConversationContextService.estimateTokens(systemPrompt) < properties.getMinTokens()) {
+            return Optional.empty();
+        }
+
+        String hash = RedisGeminiContextCache.hash(model, systemPrompt);
+        long now = clock.getAsLong();
+        Entry entry = entries.get(hash);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.incrementAndGet();
+            return Optional.of(entry.name());
+        }
+
+        Entry created = new Entry("cachedContents/local-" + hash.substring(0, 16) + "-" + misses.incrementAndGet(),
+            now + properties.getTtlSeconds() * 1000L);
+        entries.put(hash, created);
+        return Optional.of(created.name());
+    }
+
+    int hits() {
+        return hits.get();
+    }
+
+    int misses() {
+        return misses.get();
+    }
+
+    private record Entry(String name, long expiresAt) {}
+}
@@ -0,0 +1,166 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiContextCacheProperties;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClientPool;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import com.google.genai.Caches;
+import com.google.genai.Client;
+import com.google.genai.types.CachedContent;
+import com.google.genai.types.CreateCachedContentConfig;
+import com.google.genai.types.UpdateCachedContentConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 Redis 인덱스와 가짜 cachedContents API 로 적중/미스/만료/거절 동작을 확인합니다.
+ */
+class RedisGeminiContextCacheTest {
+
+    private static final String MODEL = "gemini-2.5-flash";
+    private static final String PROMPT = "튜터 프롬프트와 복습 질문 목록 ".repeat(20);
+
+    private static EmbeddedRedis redis;
+
+    private final GeminiContextCacheProperties properties = new GeminiContextCacheProperties();
+    private final Caches caches = mock(Caches.class);
+    private final AtomicInteger created = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisGeminiContextCache cache;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        properties.setMinTokens(50);
+
+        Client client = mock(Client.class);
+        ReflectionTestUtils.setField(client, "caches", caches);
+        GeminiClientPool pool = mock(GeminiClientPool.class);
+        when(pool.acquire()).thenReturn(client);
+        when(caches.create(anyString(), any(CreateCachedContentConfig.class))).thenAnswer(invocation ->
+            CachedContent.builder().name("cachedContents/c" + created.incrementAndGet()).build());
+
+        cache = new RedisGeminiContextCache(properties, pool, redis.redisTemplate(), meterRegistry);
+    }
+
+    @Test
+    void missCreatesOnceAndOtherNodesHitTheIndex() {
+        RedisGeminiContextCache otherNode = new RedisGeminiContextCache(properties, mock(GeminiClientPool.class),
+            redis.redisTemplate(), new SimpleMeterRegistry());
+
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+        assertThat(otherNode.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+
+        verify(caches, times(1)).create(anyString(), any(CreateCachedContentConfig.class));
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void differentModelsGetTheirOwnCache() {
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+        assertThat(cache.resolve("gemini-2.5-flash-lite", PROMPT)).contains("cachedContents/c2");
+    }
+
+    @Test
+    void indexExpiresBeforeTheRemoteCacheAndIsRecreated() {
+        // 원격 TTL 61초 - 인덱스는 60초 여유를 두고 1초 뒤 만료됩니다
+        properties.setTtlSeconds(61);
+
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+        String key = "gemini:context-cache:" + RedisGeminiContextCache.hash(MODEL, PROMPT);
+        assertThat(redis.redisTemplate().getExpire(key)).isBetween(0L, 1L);
+
+        EmbeddedRedis.await(() -> !redis.redisTemplate().hasKey(key), Duration.ofSeconds(5));
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c2");
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void hitsWhileTheSessionIsActiveExtendTheCacheOnceItIsHalfway() {
+        properties.setTtlSeconds(660);
+        String key = "gemini:context-cache:" + RedisGeminiContextCache.hash(MODEL, PROMPT);
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+
+        // 아직 절반 이상 남았으면 연장하지 않습니다
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+        verify(caches, never()).update(anyString(), any(UpdateCachedContentConfig.class));
+
+        // 세션이 계속 쓰이는 동안 인덱스가 만료에 가까워지면 원격 캐시와 인덱스를 함께 연장합니다
+        redis.redisTemplate().expire(key, Duration.ofSeconds(100));
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+
+        verify(caches, times(1)).update(eq("cachedContents/c1"), any(UpdateCachedContentConfig.class));
+        assertThat(redis.redisTemplate().getExpire(key)).isBetween(590L, 600L);
+        assertThat(count("refreshed")).isEqualTo(1);
+        verify(caches, times(1)).create(anyString(), any(CreateCachedContentConfig.class));
+    }
+
+    @Test
+    void failedExtensionLeavesTheIndexToExpire() {
+        properties.setTtlSeconds(660);
+        when(caches.update(anyString(), any(UpdateCachedContentConfig.class)))
+            .thenThrow(new IllegalStateException("cache already expired"));
+        String key = "gemini:context-cache:" + RedisGeminiContextCache.hash(MODEL, PROMPT);
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+        redis.redisTemplate().expire(key, Duration.ofSeconds(100));
+
+        assertThat(cache.resolve(MODEL, PROMPT)).contains("cachedContents/c1");
+
+        assertThat(redis.redisTemplate().getExpire(key)).isLessThanOrEqualTo(100L);
+        assertThat(count("refreshed")).isZero();
+    }
+
+    @Test
+    void smallPromptIsNotCached() {
+        assertThat(cache.resolve(MODEL, "짧은 프롬프트")).isEmpty();
+
+        verify(caches, times(0)).create(anyString(), any(CreateCachedContentConfig.class));
+        assertThat(count("skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedPromptIsSentInlineWithoutRetrying() {
+        when(caches.create(anyString(), any(CreateCachedContentConfig.class)))
+            .thenThrow(new IllegalArgumentException("Cached content is too small"));
+
+        assertThat(cache.resolve(MODEL, PROMPT)).isEmpty();
+        assertThat(cache.resolve(MODEL, PROMPT)).isEmpty();
+
+        verify(caches, times(1)).create(anyString(), any(CreateCachedContentConfig.class));
+        assertThat(count("skipped")).isEqualTo(1);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("gemini.context-cache.requests", "result", result).count();
+    }
+}
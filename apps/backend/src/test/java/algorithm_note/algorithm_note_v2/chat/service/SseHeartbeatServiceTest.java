@@ -0,0 +1,198 @@
+package algorithm_note.algorithm_note_v2.chat.service;
+
+import algorithm_note.algorithm_note_v2.chat.repository.EmitterRepository;
+import algorithm_note.algorithm_note_v2.global.config.ChatHeartbeatProperties;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SseHeartbeatServiceTest {
+
+    private final ChatHeartbeatProperties properties = new ChatHeartbeatProperties();
+    private final ChatEventRouter chatEventRouter = mock(ChatEventRouter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmitterRepository emitterRepository;
+    private SseHeartbeatService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBuckets(4);
+        properties.setIntervalMillis(0);
+        properties.setSendThreads(2);
+        properties.setSendTimeoutMillis(200);
+        emitterRepository = new EmitterRepository(properties);
+        service = new SseHeartbeatService(emitterRepository, chatEventRouter, properties, meterRegistry);
+        when(chatEventRouter.evict(anyMap())).thenAnswer(invocation -> invocation.<Map<?, ?>>getArgument(0).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void sweepOnlySendsToTheDueBucket() {
+        CountingEmitter inBucket1 = new CountingEmitter();
+        CountingEmitter inBucket2 = new CountingEmitter();
+        emitterRepository.save(5L, inBucket1);
+        emitterRepository.save(6L, inBucket2);
+
+        service.sweep(1);
+
+        EmbeddedRedis.await(() -> inBucket1.sends.get() == 1, Duration.ofSeconds(2));
+        assertThat(inBucket2.sends.get()).isZero();
+        assertThat(emitterRepository.getBucket(1)).containsOnlyKeys(5L);
+        assertThat(emitterRepository.getBucket(2)).containsOnlyKeys(6L);
+    }
+
+    @Test
+    void recentlyActiveConnectionsAreSkipped() {
+        properties.setIntervalMillis(60_000);
+        CountingEmitter emitter = new CountingEmitter();
+        emitterRepository.save(1L, emitter);
+
+        service.sweep(1);
+
+        assertThat(emitter.sends.get()).isZero();
+        assertThat(meterRegistry.counter("chat.heartbeat.skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedSendEvictsTheEmitter() {
+        CountingEmitter broken = new CountingEmitter();
+        broken.broken = true;
+        emitterRepository.save(1L, broken);
+
+        service.sweep(1);
+
+        verify(chatEventRouter, timeout(2_000)).evict(Map.of(1L, broken));
+    }
+
+    @Test
+    void deadEmittersOfOneSweepAreEvictedTogether() {
+        CountingEmitter first = new CountingEmitter();
+        CountingEmitter second = new CountingEmitter();
+        first.broken = true;
+        second.broken = true;
+        emitterRepository.save(1L, first);
+        emitterRepository.save(5L, second);
+
+        service.sweep(1);
+
+        verify(chatEventRouter, timeout(2_000)).evict(Map.of(1L, first, 5L, second));
+        verify(chatEventRouter, times(1)).evict(anyMap());
+        assertThat(meterRegistry.counter("chat.heartbeat.evicted").count()).isEqualTo(2);
+    }
+
+    @Test
+    void sweepDurationIncludesTheSends() {
+        properties.setSendTimeoutMillis(5_000);
+        SlowEmitter slow = new SlowEmitter(150);
+        emitterRepository.save(1L, slow);
+
+        service.sweep(1);
+
+        EmbeddedRedis.await(() -> meterRegistry.timer("chat.heartbeat.sweep").count() == 1, Duration.ofSeconds(2));
+        assertThat(meterRegistry.timer("chat.heartbeat.sweep").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    void stalledSendIsInterruptedAndDoesNotHoldTheSendThread() throws InterruptedException {
+        StalledEmitter stalled = new StalledEmitter();
+        CountingEmitter healthy = new CountingEmitter();
+        emitterRepository.save(1L, stalled);
+        emitterRepository.save(2L, healthy);
+
+        service.sweep(1);
+        assertThat(stalled.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // 멈춘 전송이 있어도 다음 버킷 순회는 바로 끝나고 다른 연결에 보냅니다
+        service.sweep(2);
+        EmbeddedRedis.await(() -> healthy.sends.get() == 1, Duration.ofSeconds(2));
+
+        // 같은 연결에는 heartbeat 를 더 쌓지 않습니다
+        service.sweep(1);
+        assertThat(stalled.calls.get()).isEqualTo(1);
+
+        verify(chatEventRouter, timeout(2_000)).evict(Map.of(1L, stalled));
+        assertThat(stalled.interrupted).isTrue();
+        verify(chatEventRouter, never()).evict(Map.of(2L, healthy));
+    }
+
+    private static class CountingEmitter extends SseEmitter {
+
+        private final AtomicInteger sends = new AtomicInteger();
+        private volatile boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            sends.incrementAndGet();
+        }
+    }
+
+    /**
+     * 전송에 sendMillis 만큼 걸리는 느린 연결 (sendTimeoutMillis 보다는 빠름)
+     */
+    private static class SlowEmitter extends SseEmitter {
+
+        private final long sendMillis;
+
+        private SlowEmitter(long sendMillis) {
+            this.sendMillis = sendMillis;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                Thread.sleep(sendMillis);
+            } catch (InterruptedException e) {
+                throw new IOException("Write interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * 클라이언트가 읽지 않아 쓰기가 막힌 연결처럼 interrupt 될 때까지 전송이 끝나지 않습니다.
+     */
+    private static class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean interrupted;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            calls.incrementAndGet();
+            entered.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted = true;
+                throw new IOException("Write interrupted", e);
+            }
+        }
+    }
+}
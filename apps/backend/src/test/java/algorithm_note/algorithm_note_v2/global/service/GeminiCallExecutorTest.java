@@ -0,0 +1,281 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
+import algorithm_note.algorithm_note_v2.global.exception.GeminiCallException;
+import algorithm_note.algorithm_note_v2.global.exception.RateLimitExceededException;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import com.google.genai.Client;
+import com.google.genai.types.HttpOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 스텁 HTTP 서버에 실제 SDK Client 를 붙여 deadline, 재시도, 헤징을 확인합니다.
+ * 스텁은 요청이 들어온 순서대로 미리 정한 응답(지연, 상태 코드)을 돌려줍니다.
+ */
+class GeminiCallExecutorTest {
+
+    private static final String MODEL = "gemini-2.5-flash";
+
+    private final GeminiClientProperties properties = new GeminiClientProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubGemini stub = new StubGemini();
+
+    private ThreadPoolTaskExecutor pool;
+    private GeminiCallExecutor executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub.start();
+        properties.setInitialBackoffMillis(10);
+        properties.setMaxBackoffMillis(20);
+        properties.setHedgeMinSamples(1_000);
+
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(4);
+        pool.setMaxPoolSize(4);
+        pool.setQueueCapacity(0);
+        pool.initialize();
+        executor = new GeminiCallExecutor(properties, pool, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        pool.shutdown();
+        stub.stop();
+    }
+
+    @Test
+    void retriesTransientFailuresUntilTheUpstreamAnswers() throws Exception {
+        stub.reply(0, 503, null);
+        stub.reply(0, 429, null);
+        stub.reply(0, 200, "ok");
+
+        assertThat(executor.call("generate", generate(5_000)).get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(stub.requests.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("gemini.client.retries").count()).isEqualTo(2);
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        stub.reply(0, 400, null);
+
+        assertThatThrownBy(() -> executor.call("generate", generate(5_000)).get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .cause()
+            .isInstanceOfSatisfying(GeminiCallException.class, e -> assertThat(e.isTimeout()).isFalse());
+        assertThat(stub.requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxRetries() {
+        properties.setMaxRetries(1);
+        stub.reply(0, 503, null);
+        stub.reply(0, 503, null);
+        stub.reply(0, 200, "too late");
+
+        assertThatThrownBy(() -> executor.call("generate", generate(5_000)).get(5, TimeUnit.SECONDS))
+            .cause()
+            .isInstanceOf(GeminiCallException.class);
+        assertThat(stub.requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void deadlineFailsTheCallAndTheHttpTimeoutFreesThePoolThread() {
+        properties.setDeadlineMillis(300);
+        properties.setAttemptTimeoutMillis(800);
+        stub.reply(10_000, 200, "slow");
+
+        long start = System.nanoTime();
+        CompletableFuture<String> result = executor.call("generate", generate(800));
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+            .cause()
+            .isInstanceOfSatisfying(GeminiCallException.class, e -> assertThat(e.isTimeout()).isTrue());
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(800));
+        assertThat(meterRegistry.counter("gemini.client.failures", "operation", "generate", "reason", "deadline").count())
+            .isEqualTo(1);
+
+        // 소켓 읽기는 interrupt 로 풀리지 않지만 HTTP timeout 이 끊어 스레드를 돌려받습니다
+        EmbeddedRedis.await(() -> pool.getActiveCount() == 0, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void attemptTimeoutInterruptsTheBlockedTask() {
+        properties.setAttemptTimeoutMillis(100);
+        properties.setMaxRetries(0);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        CompletableFuture<String> result = executor.call("generate", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                return "never";
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+            .cause()
+            .isInstanceOfSatisfying(GeminiCallException.class, e -> assertThat(e.isTimeout()).isTrue());
+        EmbeddedRedis.await(interrupted::get, Duration.ofSeconds(2));
+        EmbeddedRedis.await(() -> pool.getActiveCount() == 0, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void saturatedPoolFailsWithRateLimitInsteadOfAnUpstreamError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(4);
+        Supplier<String> blocking = () -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        };
+        for (int i = 0; i < 4; i++) {
+            executor.call("generate", blocking);
+        }
+        assertThat(busy.await(2, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> rejected = executor.call("generate", generate(5_000));
+
+        assertThatThrownBy(() -> rejected.get(2, TimeUnit.SECONDS))
+            .cause()
+            .isInstanceOfSatisfying(RateLimitExceededException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isPositive());
+        assertThat(stub.requests.get()).isZero();
+        assertThat(meterRegistry.counter("gemini.client.retries").count()).isZero();
+        assertThat(meterRegistry.counter("gemini.client.failures", "operation", "generate", "reason", "saturated").count())
+            .isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void hedgeReturnsTheFasterAttempt() throws Exception {
+        properties.setHedgeEnabled(true);
+        properties.setHedgeDelayMillis(100);
+        stub.reply(3_000, 200, "slow");
+        stub.reply(0, 200, "fast");
+
+        long start = System.nanoTime();
+        assertThat(executor.call("generate", generate(5_000)).get(5, TimeUnit.SECONDS)).isEqualTo("fast");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2_000));
+        assertThat(stub.requests.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("gemini.client.hedges").count()).isEqualTo(1);
+    }
+
+    @Test
+    void noHedgeWhenTheFirstAttemptIsFastEnough() throws Exception {
+        properties.setHedgeEnabled(true);
+        properties.setHedgeDelayMillis(1_000);
+        stub.reply(0, 200, "ok");
+
+        assertThat(executor.call("generate", generate(5_000)).get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        Thread.sleep(1_200);
+
+        assertThat(stub.requests.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("gemini.client.hedges").count()).isZero();
+    }
+
+    private Supplier<String> generate(int httpTimeoutMillis) {
+        Client client = Client.builder()
+            .apiKey("test-api-key")
+            .httpOptions(HttpOptions.builder().baseUrl(stub.baseUrl()).timeout(httpTimeoutMillis).build())
+            .build();
+        return () -> client.models.generateContent(MODEL, "질문", null).text();
+    }
+
+    /**
+     * generateContent 형식의 응답을 순서대로 돌려주는 스텁 서버
+     */
+    private static class StubGemini {
+
+        private final ConcurrentLinkedQueue<Reply> replies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger requests = new AtomicInteger();
+        private final ExecutorService handlers = Executors.newCachedThreadPool();
+        private HttpServer server;
+
+        void start() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", this::handle);
+            server.setExecutor(handlers);
+            server.start();
+        }
+
+        void stop() {
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+
+        String baseUrl() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        void reply(long delayMillis, int status, String text) {
+            replies.add(new Reply(delayMillis, status, text));
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            exchange.getRequestBody().readAllBytes();
+            requests.incrementAndGet();
+            Reply reply = replies.poll();
+            if (reply == null) {
+                reply = new Reply(0, 500, null);
+            }
+
+            try {
+                Thread.sleep(reply.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            String body = reply.status() == 200
+                ? "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"" + reply.text() + "\"}]},"
+                    + "\"finishReason\":\"STOP\"}]}"
+                : "{\"error\":{\"code\":" + reply.status() + ",\"message\":\"stub error\",\"status\":\"STUB\"}}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            try (OutputStream out = exchange.getResponseBody()) {
+                exchange.sendResponseHeaders(reply.status(), bytes.length);
+                out.write(bytes);
+            } catch (IOException e) {
+                // 클라이언트가 timeout 으로 먼저 연결을 끊은 경우
+            }
+        }
+
+        private record Reply(long delayMillis, int status, String text) {}
+    }
+}
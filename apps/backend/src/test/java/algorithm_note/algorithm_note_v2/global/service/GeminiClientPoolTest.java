@@ -0,0 +1,102 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
+import com.google.genai.Client;
+import com.google.genai.ResponseStream;
+import com.google.genai.types.GenerateContentResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍용 Client 는 단건 호출의 짧은 HTTP timeout 보다 오래 걸리는 스트림도 끝까지 읽는지 확인합니다.
+ * 스텁은 streamGenerateContent 형식(SSE)의 청크를 일정 간격으로 보냅니다.
+ */
+class GeminiClientPoolTest {
+
+    private static final int CHUNKS = 8;
+    private static final long CHUNK_INTERVAL_MILLIS = 100;
+
+    private final GeminiClientProperties properties = new GeminiClientProperties();
+    private final ExecutorService handlers = Executors.newCachedThreadPool();
+
+    private HttpServer server;
+    private GeminiClientPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::streamSlowly);
+        server.setExecutor(handlers);
+        server.start();
+
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        properties.setAttemptTimeoutMillis(300);
+        properties.setStreamTimeoutMillis(10_000);
+        pool = new GeminiClientPool(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void unaryClientsUseTheAttemptTimeoutAndStreamingClientsTheirOwn() {
+        assertThat(pool.httpOptions(false).timeout()).contains(300);
+        assertThat(pool.httpOptions(true).timeout()).contains(10_000);
+    }
+
+    @Test
+    void streamLongerThanTheAttemptTimeoutIsReadToTheEnd() {
+        Client client = Client.builder()
+            .apiKey("test-api-key")
+            .httpOptions(pool.httpOptions(true))
+            .build();
+
+        long start = System.nanoTime();
+        StringBuilder text = new StringBuilder();
+        try (ResponseStream<GenerateContentResponse> stream =
+                 client.models.generateContentStream("gemini-2.5-flash", "질문", null)) {
+            for (GenerateContentResponse response : stream) {
+                text.append(response.text());
+            }
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start))
+            .isGreaterThan(Duration.ofMillis(properties.getAttemptTimeoutMillis()));
+        assertThat(text.toString()).isEqualTo("0123456789".substring(0, CHUNKS));
+    }
+
+    private void streamSlowly(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < CHUNKS; i++) {
+                String event = "data: {\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"" + i + "\"}]}}]}\r\n\r\n";
+                out.write(event.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(CHUNK_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
+import algorithm_note.algorithm_note_v2.global.config.GeminiModelProperties;
+import algorithm_note.algorithm_note_v2.global.config.GeminiResponseCacheProperties;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.GeminiResponseDto;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.QuestionResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.genai.Client;
+import com.google.genai.Models;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 공유 Client 풀을 통해 질문지를 생성하고, 체인의 첫 모델이 답한 응답만 캐시하는지 확인합니다.
+ */
+class GeminiClientTest {
+
+    private static final String PRIMARY = "gemini-2.5-flash";
+    private static final String FALLBACK = "gemini-2.0-flash";
+    private static final String QUESTION_JSON = "{\"title\":\"BFS\",\"questions\":[]}";
+
+    private final Models models = mock(Models.class);
+    private final GeminiClientPool pool = mock(GeminiClientPool.class);
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private GeminiCallExecutor callExecutor;
+    private GeminiClient geminiClient;
+
+    @BeforeEach
+    void setUp() {
+        Client client = mock(Client.class);
+        ReflectionTestUtils.setField(client, "models", models);
+        when(pool.acquire()).thenReturn(client);
+
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.initialize();
+        GeminiClientProperties clientProperties = new GeminiClientProperties();
+        clientProperties.setHedgeMinSamples(1_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        callExecutor = new GeminiCallExecutor(clientProperties, taskExecutor, meterRegistry);
+
+        GeminiModelProperties modelProperties = new GeminiModelProperties();
+        modelProperties.setChain(List.of(PRIMARY, FALLBACK));
+
+        // Redis 응답이 없으면 로컬 캐시만으로 동작합니다
+        geminiClient = new GeminiClient(new ObjectMapper(), pool,
+            new GeminiResponseCache(new GeminiResponseCacheProperties(), mock(StringRedisTemplate.class), meterRegistry),
+            callExecutor,
+            new GeminiModelRouter(modelProperties, meterRegistry),
+            "%s");
+    }
+
+    @AfterEach
+    void tearDown() {
+        callExecutor.shutdown();
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    void generatesThroughThePooledClientAndCachesPrimaryAnswers() {
+        answer(PRIMARY);
+
+        GeminiResponseDto first = geminiClient.sendMessageAsync("BFS 설명", true).join();
+        GeminiResponseDto second = geminiClient.sendMessageAsync("BFS 설명", true).join();
+
+        assertThat(first.getResponse()).isInstanceOf(QuestionResponseDto.class);
+        assertThat(second.getResponse()).isInstanceOf(QuestionResponseDto.class);
+        verify(models, times(1)).generateContent(eq(PRIMARY), any(Content.class), isNull());
+        verify(pool, times(1)).acquire();
+    }
+
+    @Test
+    void fallbackAnswersAreReturnedButNotCached() {
+        when(models.generateContent(eq(PRIMARY), any(Content.class), isNull()))
+            .thenThrow(new IllegalStateException("primary unavailable"));
+        answer(FALLBACK);
+
+        geminiClient.sendMessageAsync("BFS 설명", true).join();
+        GeminiResponseDto second = geminiClient.sendMessageAsync("BFS 설명", true).join();
+
+        assertThat(second.getResponse()).isInstanceOf(QuestionResponseDto.class);
+        verify(models, times(2)).generateContent(eq(FALLBACK), any(Content.class), isNull());
+    }
+
+    private void answer(String model) {
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn(QUESTION_JSON);
+        when(models.generateContent(eq(model), any(Content.class), isNull())).thenReturn(response);
+    }
+}
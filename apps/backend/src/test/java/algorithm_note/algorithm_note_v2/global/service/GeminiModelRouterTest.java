@@ -0,0 +1,130 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiModelProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiModelRouterTest {
+
+    private static final String PRIMARY = "gemini-2.5-flash";
+    private static final String FALLBACK = "gemini-2.0-flash";
+
+    private final GeminiModelProperties properties = new GeminiModelProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GeminiModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChain(List.of(PRIMARY, FALLBACK));
+        properties.getCircuitBreaker().setWindowSize(2);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        router = new GeminiModelRouter(properties, meterRegistry);
+    }
+
+    @Test
+    void latencyTimerIsRegisteredOncePerModelAndOutcome() {
+        router.execute("generate", model -> "a");
+        router.execute("generate", model -> "b");
+
+        assertThat(meterRegistry.find("gemini.model.latency").timers()).hasSize(1);
+        assertThat(timer(PRIMARY, "stream", "success")).isNull();
+        assertThat(timer(PRIMARY, "generate", "success").count()).isEqualTo(2);
+    }
+
+    @Test
+    void streamOutcomeIsRecordedWhenTheStreamFinishes() throws InterruptedException {
+        GeminiModelRouter.Routed<String> routed = router.executeStream("stream", model -> "stream of " + model);
+        assertThat(routed.model()).isEqualTo(PRIMARY);
+        assertThat(meterRegistry.find("gemini.model.latency").timers()).isEmpty();
+
+        Thread.sleep(50);
+        routed.succeeded();
+        routed.succeeded();
+
+        Timer timer = timer(PRIMARY, "stream", "success");
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void failuresAfterTheStreamOpenedTripTheCircuit() {
+        for (int i = 0; i < 2; i++) {
+            router.executeStream("stream", model -> model).failed(new IllegalStateException("stream reset"));
+        }
+
+        assertThat(timer(PRIMARY, "stream", "failure").count()).isEqualTo(2);
+        assertThat(router.executeStream("stream", model -> model).model()).isEqualTo(FALLBACK);
+    }
+
+    @Test
+    void cancelledStreamsDoNotCountAgainstTheModel() {
+        for (int i = 0; i < 5; i++) {
+            router.executeStream("stream", model -> model).cancelled();
+        }
+
+        assertThat(timer(PRIMARY, "stream", "cancelled").count()).isEqualTo(5);
+        assertThat(router.executeStream("stream", model -> model).model()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void failureToOpenFallsBackToTheNextModel() {
+        GeminiModelRouter.Routed<String> routed = router.executeStream("stream", model -> {
+            if (PRIMARY.equals(model)) {
+                throw new IllegalStateException("connection refused");
+            }
+            return model;
+        });
+
+        assertThat(routed.result()).isEqualTo(FALLBACK);
+        assertThat(timer(PRIMARY, "stream", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void interruptedAttemptsAreNotCountedAndDoNotFallBack() {
+        List<String> called = new ArrayList<>();
+
+        // 시도 timeout 이나 헤징 패배로 작업 스레드가 interrupt 된 상황
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> router.execute("generate", model -> {
+                called.add(model);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("socket closed", new InterruptedIOException());
+            })).isInstanceOf(IllegalStateException.class);
+            assertThat(Thread.interrupted()).isTrue();
+        }
+
+        assertThat(called).containsOnly(PRIMARY);
+        assertThat(timer(PRIMARY, "generate", "cancelled").count()).isEqualTo(3);
+        assertThat(timer(PRIMARY, "generate", "failure")).isNull();
+        assertThat(router.execute("generate", model -> model)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void cancelledCallsAreNotCountedEvenWithoutTheInterruptFlag() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> router.execute("generate", model -> {
+                throw new CancellationException("deadline");
+            })).isInstanceOf(CancellationException.class);
+        }
+
+        assertThat(router.execute("generate", model -> model)).isEqualTo(PRIMARY);
+    }
+
+    private Timer timer(String model, String operation, String outcome) {
+        return meterRegistry.find("gemini.model.latency")
+            .tags("model", model, "operation", operation, "outcome", outcome)
+            .timer();
+    }
+}
@@ -0,0 +1,68 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiRateLimitProperties;
+import algorithm_note.algorithm_note_v2.global.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class GeminiRateLimiterTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+
+    private final GeminiRateLimitProperties properties = new GeminiRateLimitProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GeminiRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setUserCapacity(2);
+        properties.setUserRefillPerMinute(1);
+        properties.setMaxConcurrentCalls(1);
+        // Redis 응답이 없으면 노드 로컬 버킷으로 판단합니다
+        rateLimiter = new GeminiRateLimiter(properties, mock(StringRedisTemplate.class), meterRegistry);
+    }
+
+    @Test
+    void nodeRejectionDoesNotSpendTheUsersTokens() {
+        GeminiRateLimiter.Permit busy = rateLimiter.acquire(OTHER_USER_ID);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> rateLimiter.acquire(USER_ID)).isInstanceOf(RateLimitExceededException.class);
+        }
+        assertThat(rejected("node")).isEqualTo(3);
+        busy.close();
+
+        // 노드가 거절한 호출은 토큰을 쓰지 않았으므로 버킷 전체를 그대로 쓸 수 있습니다
+        rateLimiter.acquire(USER_ID).close();
+        rateLimiter.acquire(USER_ID).close();
+        assertThat(rejected("user")).isZero();
+    }
+
+    @Test
+    void userRejectionReleasesTheNodePermit() {
+        rateLimiter.acquire(USER_ID).close();
+        rateLimiter.acquire(USER_ID).close();
+
+        assertThatThrownBy(() -> rateLimiter.acquire(USER_ID)).isInstanceOf(RateLimitExceededException.class);
+
+        assertThat(rejected("user")).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+        rateLimiter.acquire(OTHER_USER_ID).close();
+    }
+
+    private double rejected(String scope) {
+        return meterRegistry.get("gemini.ratelimit.rejected").tag("scope", scope).counter().count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("gemini.ratelimit.in-flight").gauge().value();
+    }
+}
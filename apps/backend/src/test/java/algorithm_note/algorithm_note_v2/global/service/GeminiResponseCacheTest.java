@@ -0,0 +1,98 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GeminiResponseCacheTest {
+
+    private static final String KEY = GeminiResponseCache.key("gemini-2.5-flash", "v1", "질문");
+
+    // Redis 응답이 없으면 로컬 캐시만으로 동작합니다
+    private final GeminiResponseCache cache = new GeminiResponseCache(
+        new GeminiResponseCacheProperties(), mock(StringRedisTemplate.class), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void cacheableResponseIsServedFromTheCache() {
+        assertThat(cache.getAsync(KEY, this::load, value -> true).join()).isEqualTo("answer 1");
+        assertThat(cache.getAsync(KEY, this::load, value -> true).join()).isEqualTo("answer 1");
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedResponseIsNotCached() {
+        assertThat(cache.getAsync(KEY, this::load, value -> false).join()).isEqualTo("answer 1");
+        assertThat(cache.getAsync(KEY, this::load, value -> true).join()).isEqualTo("answer 2");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.getAsync(KEY, () -> {
+            loads.incrementAndGet();
+            return pending;
+        }, value -> true);
+        CompletableFuture<String> second = cache.getAsync(KEY, this::load, value -> true);
+        pending.complete("shared");
+
+        assertThat(first.join()).isEqualTo("shared");
+        assertThat(second.join()).isEqualTo("shared");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotCancelTheOthers() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.getAsync(KEY, () -> {
+            loads.incrementAndGet();
+            return pending;
+        }, value -> true);
+        CompletableFuture<String> second = cache.getAsync(KEY, this::load, value -> true);
+        CompletableFuture<String> third = cache.getAsync(KEY, this::load, value -> true);
+
+        first.cancel(true);
+        second.cancel(true);
+        pending.complete("shared");
+
+        assertThat(first).isCancelled();
+        assertThat(second).isCancelled();
+        assertThat(third.join()).isEqualTo("shared");
+        assertThat(cache.peek(KEY)).contains("shared");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void peekFindsOnlyCachedResponses() {
+        assertThat(cache.peek(KEY)).isEmpty();
+
+        cache.getAsync(KEY, this::load, value -> true).join();
+
+        assertThat(cache.peek(KEY)).contains("answer 1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keyIgnoresWhitespaceButNotTheModel() {
+        assertThat(GeminiResponseCache.key("gemini-2.5-flash", "v1", "  질문\n"))
+            .isEqualTo(KEY);
+        assertThat(GeminiResponseCache.key("gemini-2.0-flash", "v1", "질문"))
+            .isNotEqualTo(KEY);
+    }
+
+    private CompletableFuture<String> load() {
+        return CompletableFuture.completedFuture("answer " + loads.incrementAndGet());
+    }
+}
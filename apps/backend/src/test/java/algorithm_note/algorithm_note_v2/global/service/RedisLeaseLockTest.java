@@ -0,0 +1,123 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisLeaseLockTest {
+
+    private static final String NAME = "test-lease";
+
+    private static EmbeddedRedis redis;
+
+    private RedisLeaseLock nodeA;
+    private RedisLeaseLock nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        nodeA = new RedisLeaseLock(redis.redisTemplate());
+        nodeB = new RedisLeaseLock(redis.redisTemplate());
+    }
+
+    @Test
+    void onlyOneHolderAtATime() {
+        Optional<RedisLeaseLock.Lease> first = nodeA.tryAcquire(NAME, "node-a", Duration.ofSeconds(10));
+
+        assertThat(first).isPresent();
+        assertThat(nodeB.tryAcquire(NAME, "node-b", Duration.ofSeconds(10))).isEmpty();
+        assertThat(nodeB.currentOwner(NAME)).isEqualTo("node-a");
+
+        first.get().close();
+        assertThat(nodeB.currentOwner(NAME)).isNull();
+        assertThat(nodeB.tryAcquire(NAME, "node-b", Duration.ofSeconds(10))).isPresent();
+    }
+
+    @Test
+    void expiredLeaseCanBeTakenAndTheOldHolderCannotRenewOrRelease() {
+        RedisLeaseLock.Lease stale = nodeA.tryAcquire(NAME, "node-a", Duration.ofMillis(100)).orElseThrow();
+
+        EmbeddedRedis.await(() -> nodeB.currentOwner(NAME) == null, Duration.ofSeconds(5));
+        RedisLeaseLock.Lease taken = nodeB.tryAcquire(NAME, "node-b", Duration.ofSeconds(10)).orElseThrow();
+
+        assertThat(stale.renew()).isFalse();
+        assertThat(stale.isHeld()).isFalse();
+        stale.close();
+
+        // 만료된 리스를 닫아도 새 소유자의 락은 그대로입니다
+        assertThat(nodeA.currentOwner(NAME)).isEqualTo("node-b");
+        assertThat(taken.renew()).isTrue();
+    }
+
+    @Test
+    void renewKeepsTheLeasePastItsOriginalTtl() throws InterruptedException {
+        RedisLeaseLock.Lease lease = nodeA.tryAcquire(NAME, "node-a", Duration.ofMillis(300)).orElseThrow();
+
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(150);
+            assertThat(lease.renew()).isTrue();
+        }
+
+        assertThat(nodeB.tryAcquire(NAME, "node-b", Duration.ofSeconds(10))).isEmpty();
+        assertThat(redis.redisTemplate().getExpire("lock:" + NAME)).isBetween(0L, 1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void renewalFailureMarksTheLeaseLost() {
+        StringRedisTemplate failing = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(failing.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(failing.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("connection reset"));
+
+        RedisLeaseLock.Lease lease = new RedisLeaseLock(failing).tryAcquire(NAME, "node-a", Duration.ofSeconds(1))
+                .orElseThrow();
+
+        // Redis 에 닿지 못하면 소유를 확인할 수 없으므로 리스를 잃은 것으로 보고 작업을 멈춰야 합니다
+        assertThat(lease.renew()).isFalse();
+        assertThat(lease.isHeld()).isFalse();
+        assertThat(lease.renew()).isFalse();
+    }
+
+    @Test
+    void closeIsIdempotent() {
+        RedisLeaseLock.Lease lease = nodeA.tryAcquire(NAME, "node-a", Duration.ofSeconds(10)).orElseThrow();
+        lease.close();
+        RedisLeaseLock.Lease next = nodeB.tryAcquire(NAME, "node-b", Duration.ofSeconds(10)).orElseThrow();
+
+        lease.close();
+
+        assertThat(nodeA.currentOwner(NAME)).isEqualTo("node-b");
+        assertThat(next.isHeld()).isTrue();
+        assertThat(lease.isHeld()).isFalse();
+    }
+}
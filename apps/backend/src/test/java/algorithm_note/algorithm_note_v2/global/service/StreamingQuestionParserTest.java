@@ -0,0 +1,93 @@
+package algorithm_note.algorithm_note_v2.global.service;
+
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.QuestionItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingQuestionParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> titles = new ArrayList<>();
+    private final List<QuestionItem> questions = new ArrayList<>();
+
+    private final StreamingQuestionParser.Listener listener = new StreamingQuestionParser.Listener() {
+        @Override
+        public void onTitle(String title) {
+            titles.add(title);
+        }
+
+        @Override
+        public void onQuestion(QuestionItem question) {
+            questions.add(question);
+        }
+    };
+
+    @Test
+    void emitsTitleAndEachQuestionAsSoonAsItIsComplete() throws IOException {
+        try (StreamingQuestionParser parser = new StreamingQuestionParser(objectMapper, listener)) {
+            parser.feed("```json\n{\"title\": \"그래");
+            parser.feed("프\", \"questions\": [{\"id\": 1, \"text\": \"BFS 란?\"}");
+            assertThat(titles).containsExactly("그래프");
+            assertThat(questions).extracting(QuestionItem::getText).containsExactly("BFS 란?");
+
+            parser.feed(", {\"id\": 2, \"te");
+            assertThat(questions).hasSize(1);
+            parser.feed("xt\": \"DFS 란?\"}]}\n```");
+
+            assertThat(questions).extracting(QuestionItem::getId).containsExactly(1L, 2L);
+            assertThat(parser.isFinished()).isTrue();
+            assertThat(parser.isMalformed()).isFalse();
+        }
+    }
+
+    @Test
+    void skipsAQuestionThatDoesNotMatchTheExpectedShape() throws IOException {
+        try (StreamingQuestionParser parser = new StreamingQuestionParser(objectMapper, listener)) {
+            parser.feed("{\"title\": \"t\", \"questions\": [{\"id\": \"first\", \"text\": \"a\"}, {\"id\": 2, \"text\": \"b\"}]}");
+
+            assertThat(questions).extracting(QuestionItem::getText).containsExactly("b");
+            assertThat(parser.getQuestionCount()).isEqualTo(1);
+            assertThat(parser.getSkippedCount()).isEqualTo(1);
+            assertThat(parser.isFinished()).isTrue();
+        }
+    }
+
+    @Test
+    void brokenJsonKeepsTheQuestionsParsedSoFarAndIgnoresTheRest() throws IOException {
+        try (StreamingQuestionParser parser = new StreamingQuestionParser(objectMapper, listener)) {
+            parser.feed("{\"title\": \"t\", \"questions\": [{\"id\": 1, \"text\": \"a\"}, {\"id\": 2, \"text\": \"b\" ]");
+            parser.feed(", {\"id\": 3, \"text\": \"c\"}]}");
+
+            assertThat(questions).extracting(QuestionItem::getId).containsExactly(1L);
+            assertThat(parser.isMalformed()).isTrue();
+            assertThat(parser.isFinished()).isFalse();
+        }
+    }
+
+    @Test
+    void listenerFailuresAreNotSwallowed() throws IOException {
+        StreamingQuestionParser.Listener failing = new StreamingQuestionParser.Listener() {
+            @Override
+            public void onTitle(String title) {
+                throw new UncheckedIOException(new IOException("client disconnected"));
+            }
+
+            @Override
+            public void onQuestion(QuestionItem question) {
+            }
+        };
+
+        try (StreamingQuestionParser parser = new StreamingQuestionParser(objectMapper, failing)) {
+            assertThatThrownBy(() -> parser.feed("{\"title\": \"t\"")).isInstanceOf(UncheckedIOException.class);
+            assertThat(parser.isMalformed()).isFalse();
+        }
+    }
+}
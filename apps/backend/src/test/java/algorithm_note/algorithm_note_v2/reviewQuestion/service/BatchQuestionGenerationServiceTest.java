@@ -0,0 +1,234 @@
+package algorithm_note.algorithm_note_v2.reviewQuestion.service;
+
+import algorithm_note.algorithm_note_v2.global.config.GeminiClientProperties;
+import algorithm_note.algorithm_note_v2.global.config.GeminiRateLimitProperties;
+import algorithm_note.algorithm_note_v2.global.exception.GeminiCallException;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClient;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.BatchQuestionItemDto;
+import algorithm_note.algorithm_note_v2.reviewQuestion.dto.GeminiResponseDto;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchQuestionGenerationServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final GeminiClient geminiClient = mock(GeminiClient.class);
+    private final GeminiRateLimitProperties properties = new GeminiRateLimitProperties();
+    private final Map<String, CompletableFuture<GeminiResponseDto>> calls = new ConcurrentHashMap<>();
+    private final RecordingSink sink = new RecordingSink();
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiRateLimiter rateLimiter;
+    private BatchQuestionGenerationService service;
+
+    @BeforeEach
+    void setUp() {
+        // 호출마다 테스트가 직접 완료시키는 future 를 돌려줍니다
+        when(geminiClient.sendMessageAsync(anyString(), anyBoolean())).thenAnswer(invocation -> {
+            CompletableFuture<GeminiResponseDto> future = new CompletableFuture<>();
+            calls.put(invocation.getArgument(0), future);
+            return future;
+        });
+        rateLimiter(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void fiftyItemImportCompletesUnderTheDefaultLimits() {
+        rateLimiter(new GeminiRateLimitProperties().getMaxConcurrentCalls());
+        answerImmediately();
+        List<String> messages = IntStream.range(0, 50).mapToObj(i -> "note " + i).toList();
+        GeminiRateLimiter.Permit permit = rateLimiter.acquireBatch(USER_ID, new GeminiClientProperties().getBatchParallelism());
+
+        service.start(USER_ID, messages, true, permit, sink);
+
+        assertThat(sink.done()).containsEntry("succeeded", 50).containsEntry("failed", 0);
+        assertThat(sink.failedIndexes()).isEmpty();
+        assertThat(inFlight()).isZero();
+        // 배치는 전용 버킷을 쓰므로 대화형 요청 한도는 그대로 남아 있습니다
+        for (int i = 0; i < properties.getUserCapacity(); i++) {
+            rateLimiter.acquire(USER_ID).close();
+        }
+    }
+
+    @Test
+    void itemsBeyondTheBudgetWaitForRefillInsteadOfFailing() {
+        answerImmediately();
+        properties.setBatchItemCapacity(1);
+        properties.setBatchItemRefillPerMinute(600);
+        GeminiRateLimiter.Permit permit = rateLimiter.acquireBatch(USER_ID, 2);
+
+        service.start(USER_ID, List.of("a", "b", "c"), true, permit, sink);
+
+        // 토큰이 100 ms 마다 하나씩 채워지므로 나머지 두 항목은 기다렸다가 실행됩니다
+        EmbeddedRedis.await(sink::isDone, Duration.ofSeconds(5));
+        assertThat(sink.done()).containsEntry("succeeded", 3).containsEntry("failed", 0);
+        verify(geminiClient, times(3)).sendMessageAsync(anyString(), anyBoolean());
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void cacheHitsDoNotSpendTokens() {
+        answerImmediately();
+        properties.setBatchItemCapacity(1);
+        properties.setBatchItemRefillPerMinute(1);
+        when(geminiClient.cachedResponse("a")).thenReturn(Optional.of(GeminiResponseDto.of("A")));
+        when(geminiClient.cachedResponse("c")).thenReturn(Optional.of(GeminiResponseDto.of("C")));
+        GeminiRateLimiter.Permit permit = rateLimiter.acquireBatch(USER_ID, 1);
+
+        service.start(USER_ID, List.of("a", "b", "c"), true, permit, sink);
+
+        // 토큰 하나는 캐시에 없는 b 에만 쓰이므로 1 분을 기다리지 않고 바로 끝납니다
+        assertThat(sink.done()).containsEntry("succeeded", 3);
+        verify(geminiClient, times(1)).sendMessageAsync(anyString(), anyBoolean());
+        assertThat(calls).containsOnlyKeys("b");
+    }
+
+    @Test
+    void reportsFailedItemsAndKeepsGoing() {
+        GeminiRateLimiter.Permit permit = rateLimiter.acquireBatch(USER_ID, 3);
+
+        service.start(USER_ID, List.of("a", "b", "c"), true, permit, sink);
+        calls.get("a").complete(GeminiResponseDto.of("A"));
+        calls.get("b").completeExceptionally(new GeminiCallException("deadline exceeded"));
+        calls.get("c").complete(GeminiResponseDto.of("C"));
+
+        assertThat(sink.failedIndexes()).containsExactly(1);
+        assertThat(sink.items()).extracting(BatchQuestionItemDto::getErrorMessage).contains("deadline exceeded");
+        assertThat(sink.done()).containsEntry("succeeded", 2).containsEntry("failed", 1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void cancelKeepsPermitsUntilInFlightCallsFinish() {
+        GeminiRateLimiter.Permit permit = rateLimiter.acquireBatch(USER_ID, 2);
+
+        BatchQuestionGenerationService.Batch batch =
+            service.start(USER_ID, List.of("a", "b", "c", "d"), true, permit, sink);
+        assertThat(inFlight()).isEqualTo(2);
+
+        batch.cancel();
+        // 이미 보낸 두 호출은 아직 upstream 에서 실행 중이므로 permit 을 잡고 있어야 합니다
+        assertThat(inFlight()).isEqualTo(2);
+
+        calls.get("a").complete(GeminiResponseDto.of("A"));
+        assertThat(inFlight()).isEqualTo(1);
+        calls.get("b").completeExceptionally(new GeminiCallException("cancelled"));
+        assertThat(inFlight()).isZero();
+
+        // 취소 뒤에는 새 항목을 시작하지 않고 이벤트도 보내지 않습니다
+        assertThat(calls).containsOnlyKeys("a", "b");
+        assertThat(sink.events).isEmpty();
+        assertThat(sink.completed).isFalse();
+    }
+
+    @Test
+    void clientDisconnectCancelsTheBatch() {
+        GeminiRateLimiter.Permit permit = rateLimiter.acquireBatch(USER_ID, 1);
+        sink.closed = true;
+
+        service.start(USER_ID, List.of("a", "b", "c"), true, permit, sink);
+        calls.get("a").complete(GeminiResponseDto.of("A"));
+
+        assertThat(calls).containsOnlyKeys("a");
+        assertThat(inFlight()).isZero();
+    }
+
+    private void rateLimiter(int maxConcurrentCalls) {
+        if (service != null) {
+            service.shutdown();
+        }
+        properties.setMaxConcurrentCalls(maxConcurrentCalls);
+        meterRegistry = new SimpleMeterRegistry();
+        // Redis 응답이 없으면 노드 로컬 버킷으로 판단합니다
+        rateLimiter = new GeminiRateLimiter(properties, mock(StringRedisTemplate.class), meterRegistry);
+        service = new BatchQuestionGenerationService(geminiClient, rateLimiter);
+    }
+
+    private void answerImmediately() {
+        when(geminiClient.sendMessageAsync(anyString(), anyBoolean())).thenAnswer(invocation -> {
+            String message = invocation.getArgument(0);
+            calls.put(message, CompletableFuture.completedFuture(GeminiResponseDto.of(message)));
+            return calls.get(message);
+        });
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("gemini.ratelimit.in-flight").gauge().value();
+    }
+
+    private static class RecordingSink implements BatchQuestionGenerationService.BatchSink {
+
+        private final List<Object[]> events = new ArrayList<>();
+        private volatile boolean completed;
+        private volatile boolean closed;
+
+        @Override
+        public synchronized void send(String eventName, Object data) {
+            if (closed) {
+                throw new IllegalStateException("emitter already completed");
+            }
+            events.add(new Object[]{eventName, data});
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        synchronized List<BatchQuestionItemDto> items() {
+            return events.stream()
+                .filter(event -> "item".equals(event[0]))
+                .map(event -> (BatchQuestionItemDto) event[1])
+                .toList();
+        }
+
+        List<Integer> failedIndexes() {
+            return items().stream()
+                .filter(item -> !item.isSuccess())
+                .map(BatchQuestionItemDto::getIndex)
+                .sorted()
+                .toList();
+        }
+
+        synchronized boolean isDone() {
+            return events.stream().anyMatch(event -> "done".equals(event[0]));
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized Map<String, Object> done() {
+            return events.stream()
+                .filter(event -> "done".equals(event[0]))
+                .map(event -> (Map<String, Object>) event[1])
+                .findFirst()
+                .orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package algorithm_note.algorithm_note_v2.reviewQuestion.service;
+
+import algorithm_note.algorithm_note_v2.chat.exception.ChatStreamRejectedException;
+import algorithm_note.algorithm_note_v2.global.config.GeminiRateLimitProperties;
+import algorithm_note.algorithm_note_v2.global.config.QuestionStreamProperties;
+import algorithm_note.algorithm_note_v2.global.service.GeminiClient;
+import algorithm_note.algorithm_note_v2.global.service.GeminiRateLimiter;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionGenerationStreamServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final GeminiClient geminiClient = mock(GeminiClient.class);
+    private final QuestionStreamProperties properties = new QuestionStreamProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ThreadPoolTaskExecutor executor;
+    private GeminiRateLimiter rateLimiter;
+    private QuestionGenerationStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTimeoutMillis(200);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+
+        GeminiRateLimitProperties rateLimitProperties = new GeminiRateLimitProperties();
+        rateLimitProperties.setUserCapacity(10);
+        // Redis 응답이 없으면 노드 로컬 버킷으로 판단합니다
+        rateLimiter = new GeminiRateLimiter(rateLimitProperties, mock(StringRedisTemplate.class), meterRegistry);
+        service = new QuestionGenerationStreamService(geminiClient, executor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamThatExceedsTheTimeoutIsClosedAndReleasesItsPermit() throws IOException {
+        CountDownLatch closed = new CountDownLatch(1);
+        when(geminiClient.streamQuestions(anyString(), any(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<AutoCloseable>>getArgument(2).accept(closed::countDown);
+            // 업스트림이 닫힐 때까지 응답을 기다리는 스트림
+            if (!closed.await(5, TimeUnit.SECONDS)) {
+                return Optional.empty();
+            }
+            throw new IllegalStateException("stream closed");
+        });
+
+        service.stream(USER_ID, "질문", rateLimiter.acquire(USER_ID));
+
+        EmbeddedRedis.await(() -> closed.getCount() == 0, Duration.ofSeconds(2));
+        EmbeddedRedis.await(() -> inFlight() == 0, Duration.ofSeconds(2));
+        EmbeddedRedis.await(() -> executor.getActiveCount() == 0, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void streamsRunOnTheirOwnBoundedPool() throws IOException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(geminiClient.streamQuestions(anyString(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        properties.setTimeoutMillis(5_000);
+
+        service.stream(USER_ID, "질문 1", rateLimiter.acquire(USER_ID));
+        GeminiRateLimiter.Permit second = rateLimiter.acquire(USER_ID);
+
+        assertThatThrownBy(() -> service.stream(USER_ID, "질문 2", second))
+            .isInstanceOf(ChatStreamRejectedException.class);
+        release.countDown();
+        EmbeddedRedis.await(() -> inFlight() == 0, Duration.ofSeconds(2));
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("gemini.ratelimit.in-flight").gauge().value();
+    }
+}
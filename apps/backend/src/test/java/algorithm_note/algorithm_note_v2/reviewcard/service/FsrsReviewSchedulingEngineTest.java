@@ -0,0 +1,81 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 기대값은 FSRS-4.5 기본 가중치로 직접 계산한 값입니다.
+ * 목표 기억률 0.9 에서는 간격이 안정도와 같아집니다.
+ */
+class FsrsReviewSchedulingEngineTest {
+
+    private static final int REVIEW_CYCLE = 3;
+
+    private final ReviewSchedulingProperties properties = new ReviewSchedulingProperties();
+    private final FsrsReviewSchedulingEngine engine = new FsrsReviewSchedulingEngine(properties);
+
+    @Test
+    void firstGoodUsesTheInitialStability() {
+        ReviewSchedule first = engine.review(null, true, 0, REVIEW_CYCLE);
+
+        assertThat(first.getStability()).isCloseTo(3.7145, within(1e-9));
+        assertThat(first.getDifficulty()).isCloseTo(5.1618, within(1e-9));
+        assertThat(first.getIntervalDays()).isEqualTo(4);
+        assertThat(first.getRepetitions()).isEqualTo(1);
+    }
+
+    @Test
+    void lowerRetentionGivesLongerIntervals() {
+        properties.setDesiredRetention(0.8);
+
+        // 3.7145 / (19/81) * (0.8^-2 - 1) = 8.907
+        assertThat(engine.review(null, true, 0, REVIEW_CYCLE).getIntervalDays()).isEqualTo(9);
+    }
+
+    @Test
+    void firstAgainStartsAtOneDay() {
+        ReviewSchedule first = engine.review(null, false, 0, REVIEW_CYCLE);
+
+        assertThat(first.getStability()).isCloseTo(0.4872, within(1e-9));
+        assertThat(first.getIntervalDays()).isEqualTo(1);
+        assertThat(first.getRepetitions()).isZero();
+    }
+
+    @Test
+    void secondGoodAfterTheScheduledIntervalGrowsStability() {
+        ReviewSchedule first = engine.review(null, true, 0, REVIEW_CYCLE);
+
+        ReviewSchedule second = engine.review(first, true, 4, REVIEW_CYCLE);
+
+        assertThat(second.getStability()).isCloseTo(14.8081, within(1e-4));
+        assertThat(second.getDifficulty()).isCloseTo(5.1237, within(1e-4));
+        assertThat(second.getIntervalDays()).isEqualTo(15);
+        assertThat(second.getRepetitions()).isEqualTo(2);
+    }
+
+    @Test
+    void lapseShrinksStability() {
+        ReviewSchedule learned = engine.review(engine.review(null, true, 0, REVIEW_CYCLE), true, 4, REVIEW_CYCLE);
+
+        ReviewSchedule lapsed = engine.review(learned, false, 15, REVIEW_CYCLE);
+
+        assertThat(lapsed.getStability()).isLessThan(learned.getStability());
+        assertThat(lapsed.getDifficulty()).isGreaterThan(learned.getDifficulty());
+        assertThat(lapsed.getRepetitions()).isZero();
+    }
+
+    @Test
+    void intervalIsCappedAtTheMaximum() {
+        properties.setMaximumIntervalDays(10);
+
+        ReviewSchedule first = engine.review(null, true, 0, REVIEW_CYCLE);
+        ReviewSchedule second = engine.review(first, true, 4, REVIEW_CYCLE);
+
+        assertThat(second.getStability()).isGreaterThan(10);
+        assertThat(second.getIntervalDays()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,145 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.PdfExportProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfExportJobNotFoundException;
+import algorithm_note.algorithm_note_v2.user.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 렌더링 작업은 테스트가 직접 실행하므로, 첫 작업이 큐에 있는 동안 다른 요청이 들어오는 상황을 재현할 수 있습니다.
+ */
+class PdfExportServiceTest {
+
+    private static final String CONTENT_HASH = "exam-hash";
+
+    private final PdfGenerationService pdfGenerationService = mock(PdfGenerationService.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private final User alice = user(1L, "alice");
+    private final User bob = user(2L, "bob");
+
+    @TempDir
+    Path storageDir;
+
+    private PdfExportService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PdfExportProperties properties = new PdfExportProperties();
+        properties.setStorageDir(storageDir.toString());
+        PdfArtifactStore store = new PdfArtifactStore(properties);
+        store.init();
+
+        when(pdfGenerationService.contentHash(anyList(), anyString(), anyString())).thenReturn(CONTENT_HASH);
+        doAnswer(invocation -> {
+            write(invocation.getArgument(1), "%PDF-1.4");
+            return null;
+        }).when(pdfGenerationService).writePdf(any(), any(OutputStream.class), any());
+
+        service = new PdfExportService(pdfGenerationService, store, properties, executor, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void eachUserGetsTheirOwnJobOnTheSharedRender() {
+        PdfExportJob aliceJob = submit(alice);
+        PdfExportJob bobJob = submit(bob);
+
+        assertThat(bobJob.getJobId()).isNotEqualTo(aliceJob.getJobId());
+        assertThat(bobJob.getUserId()).isEqualTo(bob.getId());
+        assertThat(service.getJob(bobJob.getJobId(), bob)).isSameAs(bobJob);
+        assertThatThrownBy(() -> service.getJob(aliceJob.getJobId(), bob))
+                .isInstanceOf(PdfExportJobNotFoundException.class);
+
+        runQueuedRenders(1);
+
+        // 렌더링은 한 번이고 두 작업이 같은 파일로 완료됩니다
+        verify(pdfGenerationService, times(1)).renderExamDocument(anyList(), anyString(), anyString());
+        assertThat(aliceJob.getStatus()).isEqualTo(PdfExportJob.Status.COMPLETED);
+        assertThat(bobJob.getStatus()).isEqualTo(PdfExportJob.Status.COMPLETED);
+        assertThat(bobJob.getArtifact()).isEqualTo(aliceJob.getArtifact());
+        assertThat(service.getArtifact(bobJob.getJobId(), bob)).contains(aliceJob.getArtifact());
+    }
+
+    @Test
+    void sameUserResubmittingGetsTheRunningJob() {
+        PdfExportJob first = submit(alice);
+
+        assertThat(submit(alice)).isSameAs(first);
+        verify(pdfGenerationService, times(1)).renderExamDocument(anyList(), anyString(), anyString());
+    }
+
+    @Test
+    void finishedRenderIsServedFromTheStore() {
+        submit(alice);
+        runQueuedRenders(1);
+
+        PdfExportJob bobJob = submit(bob);
+
+        assertThat(bobJob.getStatus()).isEqualTo(PdfExportJob.Status.COMPLETED);
+        assertThat(bobJob.isCached()).isTrue();
+        verify(executor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void renderFailureFailsEveryAttachedJob() {
+        doThrow(new IllegalStateException("layout failed"))
+                .when(pdfGenerationService).writePdf(any(), any(OutputStream.class), any());
+        PdfExportJob aliceJob = submit(alice);
+        PdfExportJob bobJob = submit(bob);
+
+        runQueuedRenders(1);
+
+        assertThat(aliceJob.getStatus()).isEqualTo(PdfExportJob.Status.FAILED);
+        assertThat(bobJob.getStatus()).isEqualTo(PdfExportJob.Status.FAILED);
+        // 실패한 렌더링은 자리를 비우므로 다음 요청은 새로 렌더링합니다
+        assertThat(submit(alice).getJobId()).isNotEqualTo(aliceJob.getJobId());
+    }
+
+    private PdfExportJob submit(User user) {
+        return service.submit(List.of(1L, 2L), "중간고사", "모두 답하시오", user);
+    }
+
+    private void runQueuedRenders(int expected) {
+        ArgumentCaptor<Runnable> renders = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(expected)).execute(renders.capture());
+        renders.getAllValues().forEach(Runnable::run);
+    }
+
+    private static void write(OutputStream out, String content) {
+        try {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static User user(Long id, String name) {
+        User user = User.builder().clerkId("user_" + name).email(name + "@test.com").build();
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}
@@ -0,0 +1,70 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.reviewQuestion.domain.ReviewQuestion;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PdfGenerationServiceTest {
+
+    private final PdfGenerationService service = new PdfGenerationService(
+            mock(ReviewCardRepository.class), mock(SpringTemplateEngine.class), mock(PdfRenderEngine.class));
+
+    @Test
+    void reviewActivityDoesNotChangeTheHash() {
+        ReviewCard card = card(1L, "BFS 의 시간 복잡도는?");
+        String before = service.contentHash(List.of(card), "중간고사", "모두 답하시오");
+
+        card.incrementReviewCount();
+
+        assertThat(service.contentHash(List.of(card), "중간고사", "모두 답하시오")).isEqualTo(before);
+    }
+
+    @Test
+    void renderedContentChangesTheHash() {
+        ReviewCard card = card(1L, "BFS 의 시간 복잡도는?");
+        String before = service.contentHash(List.of(card), "중간고사", "모두 답하시오");
+
+        assertThat(service.contentHash(List.of(card), "기말고사", "모두 답하시오")).isNotEqualTo(before);
+        assertThat(service.contentHash(List.of(card), "중간고사", "하나만 답하시오")).isNotEqualTo(before);
+
+        card.getReviewQuestions().get(0).updateQuestionText("DFS 의 시간 복잡도는?");
+        assertThat(service.contentHash(List.of(card), "중간고사", "모두 답하시오")).isNotEqualTo(before);
+    }
+
+    @Test
+    void fieldBoundariesAreNotAmbiguous() {
+        // 제목 끝과 안내문 앞을 옮겨도 이어 붙인 문자열은 같지만 해시는 달라야 합니다
+        ReviewCard card = card(1L, "질문");
+
+        assertThat(service.contentHash(List.of(card), "ab", "c"))
+                .isNotEqualTo(service.contentHash(List.of(card), "a", "bc"));
+    }
+
+    @Test
+    void questionOrderChangesTheHash() {
+        ReviewCard first = card(1L, "첫 번째 질문");
+        ReviewCard second = card(2L, "두 번째 질문");
+
+        assertThat(service.contentHash(List.of(first, second), "시험", "안내"))
+                .isNotEqualTo(service.contentHash(List.of(second, first), "시험", "안내"));
+    }
+
+    private static ReviewCard card(Long id, String questionText) {
+        ReviewCard card = ReviewCard.builder()
+                .reviewCardId(id)
+                .title("card " + id)
+                .importance(1)
+                .reviewCycle(3)
+                .taskType("algorithm")
+                .build();
+        card.getReviewQuestions().add(ReviewQuestion.createQuestion(card, questionText));
+        return card;
+    }
+}
@@ -0,0 +1,60 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.PdfRenderProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.exception.PdfGenerationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfRenderEngineTest {
+
+    private final PdfRenderProperties properties = new PdfRenderProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PdfRenderEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // 폰트가 classpath 에 없어도 Latin 문자로 렌더링은 계속됩니다
+        properties.setFontResource("fonts/missing.ttf");
+        properties.setPoolSize(1);
+        engine = new PdfRenderEngine(properties, meterRegistry);
+        engine.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void rendersConsecutiveDocumentsIndependently() {
+        byte[] first = render("<p>first exam</p>");
+        byte[] second = render("<p>second exam with a much longer body</p><p>and another paragraph</p>");
+
+        assertThat(new String(first, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(new String(second, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    }
+
+    @Test
+    void failedRenderReleasesItsSlot() {
+        assertThatThrownBy(() -> engine.render(null, new ByteArrayOutputStream()))
+                .isInstanceOf(PdfGenerationException.class);
+
+        assertThat(render("<p>after failure</p>")).isNotEmpty();
+        assertThat(meterRegistry.get("pdf.render.in-use").gauge().value()).isZero();
+    }
+
+    private byte[] render(String body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.render(PdfGenerationService.toXhtmlDocument("<html><body>" + body + "</body></html>"), out);
+        return out.toByteArray();
+    }
+}
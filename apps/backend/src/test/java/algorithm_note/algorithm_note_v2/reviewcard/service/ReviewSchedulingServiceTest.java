@@ -0,0 +1,128 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ReviewSchedulingServiceTest {
+
+    private static final int REVIEW_CYCLE = 3;
+    private static final LocalDateTime SESSION_START = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private final ReviewSchedulingProperties properties = new ReviewSchedulingProperties();
+    private final ReviewSchedulingService sm2 = new ReviewSchedulingService(new Sm2ReviewSchedulingEngine(properties), properties);
+    private final ReviewSchedulingService fsrs = new ReviewSchedulingService(new FsrsReviewSchedulingEngine(properties), properties);
+
+    @Test
+    void answersWithinTheSessionWindowCountAsOneReview() {
+        ReviewSchedule first = sm2.next(null, true, SESSION_START, REVIEW_CYCLE);
+
+        assertThat(first.getLastReviewedAt()).isEqualTo(SESSION_START);
+        assertThat(first.getLastSuccess()).isTrue();
+        assertThat(sm2.next(first, true, SESSION_START.plusMinutes(5), REVIEW_CYCLE)).isNull();
+        assertThat(sm2.next(first, true, SESSION_START.plusHours(11).plusMinutes(59), REVIEW_CYCLE)).isNull();
+    }
+
+    @Test
+    void successAfterAFailureInTheSameSessionIsIgnored() {
+        ReviewSchedule failed = sm2.next(null, false, SESSION_START, REVIEW_CYCLE);
+
+        assertThat(sm2.next(failed, true, SESSION_START.plusMinutes(5), REVIEW_CYCLE)).isNull();
+        assertThat(sm2.next(failed, false, SESSION_START.plusMinutes(10), REVIEW_CYCLE)).isNull();
+    }
+
+    @Test
+    void failureAfterSuccessInTheSameSessionIsRecordedAsALapse() {
+        ReviewSchedule before = sm2.next(null, true, SESSION_START, REVIEW_CYCLE);
+        ReviewSchedule passed = sm2.next(before, true, SESSION_START.plusDays(3), REVIEW_CYCLE);
+
+        ReviewSchedule failed = sm2.next(passed, false, SESSION_START.plusDays(3).plusHours(1), REVIEW_CYCLE);
+
+        // SM-2 는 실패하면 이전 간격과 상관없이 1일부터 다시 시작하므로 세션 전 상태에서 실패한 것과 같습니다
+        ReviewSchedule failedFromBefore = new Sm2ReviewSchedulingEngine(properties).review(before, false, 3, REVIEW_CYCLE);
+        assertThat(failed.getIntervalDays()).isEqualTo(failedFromBefore.getIntervalDays()).isEqualTo(1);
+        assertThat(failed.getDifficulty()).isCloseTo(failedFromBefore.getDifficulty(), within(1e-9));
+        assertThat(failed.getRepetitions()).isZero();
+        // 세션 시작 시각은 그대로라 세션 창이 늘어나지 않습니다
+        assertThat(failed.getLastReviewedAt()).isEqualTo(SESSION_START.plusDays(3));
+        assertThat(failed.getLastSuccess()).isFalse();
+
+        // 같은 세션의 두 번째 실패는 다시 반영하지 않습니다
+        assertThat(sm2.next(failed, false, SESSION_START.plusDays(3).plusHours(2), REVIEW_CYCLE)).isNull();
+    }
+
+    @Test
+    void fsrsFailureAfterSuccessIsALapseFromThePreSessionState() {
+        ReviewSchedule first = fsrs.next(null, true, SESSION_START, REVIEW_CYCLE);
+        ReviewSchedule passed = fsrs.next(first, true, SESSION_START.plusDays(4), REVIEW_CYCLE);
+        assertThat(passed.getStability()).isCloseTo(14.8081, within(1e-4));
+
+        ReviewSchedule failed = fsrs.next(passed, false, SESSION_START.plusDays(4).plusMinutes(30), REVIEW_CYCLE);
+
+        // 성공 직후 상태(안정도 14.8)가 아니라 세션 전 상태에서 4일 만에 바로 실패한 것과 같습니다
+        ReviewSchedule failedOutright = fsrs.next(first, false, SESSION_START.plusDays(4), REVIEW_CYCLE);
+        ReviewSchedule failedFromFirst = new FsrsReviewSchedulingEngine(properties).review(first, false, 4, REVIEW_CYCLE);
+        assertThat(failed.getStability())
+                .isCloseTo(failedFromFirst.getStability(), within(1e-9))
+                .isCloseTo(failedOutright.getStability(), within(1e-9))
+                .isLessThan(2.0);
+        assertThat(failed.getDifficulty()).isCloseTo(failedOutright.getDifficulty(), within(1e-9));
+        assertThat(failed.getIntervalDays()).isEqualTo(failedOutright.getIntervalDays()).isEqualTo(1);
+        assertThat(failed.getRepetitions()).isZero();
+        assertThat(failed.getLastReviewedAt()).isEqualTo(SESSION_START.plusDays(4));
+        assertThat(failed.getLastSuccess()).isFalse();
+
+        // 같은 세션의 두 번째 실패는 다시 반영하지 않습니다
+        assertThat(fsrs.next(failed, false, SESSION_START.plusDays(4).plusHours(1), REVIEW_CYCLE)).isNull();
+    }
+
+    @Test
+    void answerAfterTheWindowStartsANewReviewWithTheElapsedDays() {
+        List<Double> elapsed = new ArrayList<>();
+        ReviewSchedulingService service = new ReviewSchedulingService((current, success, elapsedDays, initialIntervalDays) -> {
+            elapsed.add(elapsedDays);
+            return ReviewSchedule.builder().intervalDays(initialIntervalDays).build();
+        }, properties);
+
+        ReviewSchedule first = service.next(null, true, SESSION_START, REVIEW_CYCLE);
+        ReviewSchedule second = service.next(first, true, SESSION_START.plusHours(12), REVIEW_CYCLE);
+        service.next(second, false, SESSION_START.plusHours(48), REVIEW_CYCLE);
+
+        assertThat(elapsed).containsExactly(0.0, 0.5, 1.5);
+        assertThat(second.getLastReviewedAt()).isEqualTo(SESSION_START.plusHours(12));
+    }
+
+    @Test
+    void editingTheReviewCycleOverridesTheEngineInterval() {
+        ReviewCard card = ReviewCard.builder()
+                .title("card")
+                .importance(1)
+                .reviewCycle(REVIEW_CYCLE)
+                .taskType("algorithm")
+                .build();
+        sm2.recordAnswer(card, true, SESSION_START);
+        sm2.recordAnswer(card, true, SESSION_START.plusDays(3));
+        assertThat(card.scheduledIntervalDays()).isEqualTo(8);
+
+        card.updateStatus(false);
+        LocalDateTime completedAt = card.getNextReviewAt().minusDays(8);
+        card.updateCardInfo(null, null, null, 5, null);
+
+        // 사용자가 바꾼 주기가 이번 대기 간격이 되고, 엔진 상태(ease, 반복 횟수)는 그대로 둡니다
+        assertThat(card.scheduledIntervalDays()).isEqualTo(5);
+        assertThat(card.getNextReviewAt()).isEqualTo(completedAt.plusDays(5));
+        assertThat(card.getSchedule().getRepetitions()).isEqualTo(2);
+
+        // 같은 값으로 다시 저장해도 다음 복습 시각은 바뀌지 않습니다
+        card.updateCardInfo(null, null, null, 5, null);
+        assertThat(card.getNextReviewAt()).isEqualTo(completedAt.plusDays(5));
+    }
+}
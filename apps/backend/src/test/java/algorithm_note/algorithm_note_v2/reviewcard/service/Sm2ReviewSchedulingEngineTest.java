@@ -0,0 +1,73 @@
+package algorithm_note.algorithm_note_v2.reviewcard.service;
+
+import algorithm_note.algorithm_note_v2.global.config.ReviewSchedulingProperties;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewSchedule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class Sm2ReviewSchedulingEngineTest {
+
+    private static final int REVIEW_CYCLE = 3;
+
+    private final ReviewSchedulingProperties properties = new ReviewSchedulingProperties();
+    private final Sm2ReviewSchedulingEngine engine = new Sm2ReviewSchedulingEngine(properties);
+
+    @Test
+    void successesStartFromTheReviewCycleAndGrowByTheEaseFactor() {
+        ReviewSchedule first = engine.review(null, true, 0, REVIEW_CYCLE);
+        ReviewSchedule second = engine.review(first, true, 3, REVIEW_CYCLE);
+        ReviewSchedule third = engine.review(second, true, 8, REVIEW_CYCLE);
+
+        assertThat(first.getIntervalDays()).isEqualTo(REVIEW_CYCLE);
+        assertThat(first.getRepetitions()).isEqualTo(1);
+        // 3 * 2.5 = 7.5, 7.5 * 2.5 = 18.75
+        assertThat(second.getStability()).isCloseTo(7.5, within(1e-9));
+        assertThat(second.getIntervalDays()).isEqualTo(8);
+        assertThat(third.getStability()).isCloseTo(18.75, within(1e-9));
+        assertThat(third.getIntervalDays()).isEqualTo(19);
+        assertThat(third.getDifficulty()).isEqualTo(2.5);
+        assertThat(third.getRepetitions()).isEqualTo(3);
+    }
+
+    @Test
+    void lapseRestartsAtOneDayAndLowersTheEase() {
+        ReviewSchedule learned = engine.review(engine.review(null, true, 0, REVIEW_CYCLE), true, 3, REVIEW_CYCLE);
+
+        ReviewSchedule lapsed = engine.review(learned, false, 8, REVIEW_CYCLE);
+
+        assertThat(lapsed.getIntervalDays()).isEqualTo(1);
+        assertThat(lapsed.getRepetitions()).isZero();
+        assertThat(lapsed.getDifficulty()).isCloseTo(2.3, within(1e-9));
+
+        // 다시 성공하면 reviewCycle 부터 시작하고, 그 다음부터 낮아진 ease 로 늘어납니다
+        ReviewSchedule relearned = engine.review(lapsed, true, 1, REVIEW_CYCLE);
+        assertThat(relearned.getIntervalDays()).isEqualTo(REVIEW_CYCLE);
+        assertThat(engine.review(relearned, true, 3, REVIEW_CYCLE).getStability()).isCloseTo(3 * 2.3, within(1e-9));
+    }
+
+    @Test
+    void easeNeverDropsBelowTheFloor() {
+        ReviewSchedule schedule = null;
+        for (int i = 0; i < 7; i++) {
+            schedule = engine.review(schedule, false, 1, REVIEW_CYCLE);
+        }
+
+        assertThat(schedule.getDifficulty()).isEqualTo(1.3);
+        assertThat(schedule.getIntervalDays()).isEqualTo(1);
+    }
+
+    @Test
+    void intervalIsCappedAtTheMaximum() {
+        properties.setMaximumIntervalDays(10);
+
+        ReviewSchedule schedule = engine.review(null, true, 0, REVIEW_CYCLE);
+        for (int i = 0; i < 5; i++) {
+            schedule = engine.review(schedule, true, schedule.getIntervalDays(), REVIEW_CYCLE);
+        }
+
+        assertThat(schedule.getIntervalDays()).isEqualTo(10);
+        assertThat(schedule.getStability()).isEqualTo(10.0);
+    }
+}
@@ -0,0 +1,217 @@
+package algorithm_note.algorithm_note_v2.scheduler;
+
+import algorithm_note.algorithm_note_v2.category.domain.Category;
+import algorithm_note.algorithm_note_v2.category.repository.CategoryRepository;
+import algorithm_note.algorithm_note_v2.global.config.ReactivationProperties;
+import algorithm_note.algorithm_note_v2.global.service.RedisLeaseLock;
+import algorithm_note.algorithm_note_v2.reviewcard.domain.ReviewCard;
+import algorithm_note.algorithm_note_v2.reviewcard.repository.ReviewCardRepository;
+import algorithm_note.algorithm_note_v2.scheduler.service.ReactivationRunHistory;
+import algorithm_note.algorithm_note_v2.scheduler.service.ReactivationRunHistory.ReactivationRun;
+import algorithm_note.algorithm_note_v2.scheduler.service.ReviewCardReactivationService;
+import algorithm_note.algorithm_note_v2.support.EmbeddedRedis;
+import algorithm_note.algorithm_note_v2.user.domain.User;
+import algorithm_note.algorithm_note_v2.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 H2 DB 와 Redis 를 쓰는 스케줄러 두 개(노드 A, B)를 한 프로세스에서 같은 tick 에 실행해
+ * 리스를 잡은 한 노드만 재활성화를 수행하는지 확인합니다.
+ * 각 노드는 자기 스레드의 TransactionTemplate 으로 커밋하므로 테스트 트랜잭션은 사용하지 않습니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReviewCardReactivationSchedulerTest {
+
+    private static final int DUE_CARDS = 5;
+
+    private static EmbeddedRedis redis;
+
+    @Autowired
+    private ReviewCardRepository reviewCardRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ReactivationProperties properties = new ReactivationProperties();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        properties.setBatchSize(2);
+        properties.setLockTtlMillis(10_000);
+
+        User user = userRepository.save(User.builder().clerkId("user_scheduler").email("scheduler@test.com").build());
+        Category category = categoryRepository.save(Category.builder().user(user).name("그래프").color("#000000").build());
+        LocalDateTime due = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < DUE_CARDS; i++) {
+            reviewCardRepository.save(ReviewCard.builder()
+                    .user(user)
+                    .category(category)
+                    .title("card " + i)
+                    .importance(1)
+                    .reviewCycle(3)
+                    .taskType("algorithm")
+                    .isActive(false)
+                    .nextReviewAt(due)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewCardRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void onlyOneOfTwoSchedulersRunsPerTick() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        // 리스를 잡은 노드는 다른 노드가 같은 tick 을 끝낼 때까지 재활성화 안에서 기다립니다
+        ReviewCardReactivationService blocking = new ReviewCardReactivationService(
+                reviewCardRepository, properties, transactionManager, new SimpleMeterRegistry()) {
+            @Override
+            public int reactivateExpiredCards(BooleanSupplier continueRunning) {
+                runs.incrementAndGet();
+                entered.countDown();
+                await(release);
+                return super.reactivateExpiredCards(continueRunning);
+            }
+        };
+        ReviewCardReactivationScheduler nodeA = scheduler("node-a", blocking);
+        ReviewCardReactivationScheduler nodeB = scheduler("node-b", blocking);
+
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        CountDownLatch tick = new CountDownLatch(1);
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> { await(tick); nodeA.scheduleReactivation(); }, nodes);
+        CompletableFuture<Void> b = CompletableFuture.runAsync(() -> { await(tick); nodeB.scheduleReactivation(); }, nodes);
+        tick.countDown();
+
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        // 한 노드가 리스를 잡고 실행 중인 동안 다른 노드의 tick 은 건너뛰고 끝나야 합니다
+        CompletableFuture.anyOf(a, b).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        CompletableFuture.allOf(a, b).get(10, TimeUnit.SECONDS);
+        nodes.shutdown();
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(history()).extracting(ReactivationRun::result).containsExactly("completed");
+        assertThat(history().get(0).reactivatedCount()).isEqualTo(DUE_CARDS);
+        assertThat(countByActive(true)).isEqualTo(DUE_CARDS);
+        assertThat(redis.redisTemplate().hasKey("lock:scheduler:reactivation")).isFalse();
+    }
+
+    @Test
+    void stopsRemainingBatchesWhenTheLeaseIsLost() {
+        // 첫 배치가 끝난 뒤 리스가 만료되어 다른 노드가 가져간 상황
+        AtomicInteger checks = new AtomicInteger();
+        ReviewCardReactivationService losing = new ReviewCardReactivationService(
+                reviewCardRepository, properties, transactionManager, new SimpleMeterRegistry()) {
+            @Override
+            public int reactivateExpiredCards(BooleanSupplier continueRunning) {
+                return super.reactivateExpiredCards(() -> {
+                    if (checks.incrementAndGet() == 2) {
+                        redis.redisTemplate().opsForValue().set("lock:scheduler:reactivation", "node-b:other");
+                    }
+                    return continueRunning.getAsBoolean();
+                });
+            }
+        };
+
+        scheduler("node-a", losing).scheduleReactivation();
+
+        assertThat(history()).extracting(ReactivationRun::result).containsExactly("lease-lost");
+        assertThat(history().get(0).reactivatedCount()).isEqualTo(properties.getBatchSize());
+        assertThat(countByActive(false)).isEqualTo(DUE_CARDS - properties.getBatchSize());
+        // 잃은 리스를 닫아도 새 소유자의 락은 지우지 않습니다
+        assertThat(redis.redisTemplate().opsForValue().get("lock:scheduler:reactivation")).isEqualTo("node-b:other");
+    }
+
+    @Test
+    void nextTickRunsAfterTheHolderFinished() {
+        ReviewCardReactivationService service = new ReviewCardReactivationService(
+                reviewCardRepository, properties, transactionManager, new SimpleMeterRegistry());
+
+        scheduler("node-a", service).scheduleReactivation();
+        scheduler("node-b", service).scheduleReactivation();
+
+        assertThat(history()).extracting(ReactivationRun::nodeId).containsExactly("node-b", "node-a");
+        assertThat(history()).extracting(ReactivationRun::reactivatedCount).containsExactly(0, DUE_CARDS);
+    }
+
+    private ReviewCardReactivationScheduler scheduler(String nodeId, ReviewCardReactivationService service) {
+        return new ReviewCardReactivationScheduler(service,
+                new RedisLeaseLock(redis.redisTemplate()),
+                new ReactivationRunHistory(redis.redisTemplate(), properties, objectMapper),
+                properties,
+                new SimpleMeterRegistry(),
+                nodeId);
+    }
+
+    private long countByActive(boolean active) {
+        return reviewCardRepository.findAll().stream()
+                .filter(card -> card.getIsActive() == active)
+                .count();
+    }
+
+    private List<ReactivationRun> history() {
+        // 운영에서 이력을 보는 경로(actuator)로 읽습니다
+        return new ReactivationRunsEndpoint(new ReactivationRunHistory(redis.redisTemplate(), properties, objectMapper)).runs();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for latch");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package algorithm_note.algorithm_note_v2.support;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 테스트용 Redis. 빈 포트에 실제 redis-server 를 띄우므로 Lua 스크립트와 pub/sub 이 운영과 같이 동작합니다.
+ * 여러 노드를 흉내 낼 때는 노드마다 newListenerContainer() 로 구독 컨테이너를 따로 만듭니다.
+ */
+public final class EmbeddedRedis implements AutoCloseable {
+
+    private final RedisServer server;
+    private final LettuceConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    private EmbeddedRedis(int port) throws IOException {
+        this.server = new RedisServer(port);
+        this.server.start();
+
+        this.connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        this.connectionFactory.afterPropertiesSet();
+        this.connectionFactory.start();
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    public static EmbeddedRedis start() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return new EmbeddedRedis(socket.getLocalPort());
+        }
+    }
+
+    public RedisConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    public StringRedisTemplate redisTemplate() {
+        return redisTemplate;
+    }
+
+    /**
+     * 리스너를 추가한 뒤 startAndAwait 로 시작합니다.
+     */
+    public RedisMessageListenerContainer newListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        return container;
+    }
+
+    /**
+     * 컨테이너를 시작하고 channel 구독이 실제로 잡힐 때까지 기다립니다 (probe 메시지는 수신 측에서 무시됩니다).
+     */
+    public void startAndAwait(RedisMessageListenerContainer container, String channel) {
+        container.start();
+        await(() -> {
+            Long receivers = redisTemplate.convertAndSend(channel, "probe");
+            return receivers != null && receivers > 0;
+        }, Duration.ofSeconds(5));
+    }
+
+    public void flushAll() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    public static void await(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within " + timeout);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted while waiting", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+}